@@ -0,0 +1,90 @@
+package com.allitov.hotelapi.datasource;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of request handling on the platform thread pool of Tomcat's default size
+ * and on virtual threads. Every request holds a database connection for a short query and then waits
+ * for slower remote calls, like MongoDB or Kafka, without holding it. Connections are limited
+ * by {@link ConcurrencyLimitingDataSource} in both modes, so only the number of requests waiting for I/O differs.
+ * @author allitov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class VirtualThreadThroughputBenchmark {
+
+    private static final int REQUESTS = 2000;
+
+    private static final int PLATFORM_THREADS = 200;
+
+    private static final int MAX_CONCURRENT_CONNECTIONS = 50;
+
+    private static final long QUERY_MILLIS = 1;
+
+    private static final long REMOTE_CALL_MILLIS = 20;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    private ExecutorService executor;
+
+    private DataSource dataSource;
+
+    @Setup
+    public void setUp() {
+        executor = mode.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> null);
+        DataSource targetDataSource = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> connection);
+        dataSource = new ConcurrencyLimitingDataSource(
+                targetDataSource, MAX_CONCURRENT_CONNECTIONS, Duration.ofSeconds(30));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int handleRequests() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(executor.submit(this::handleRequest));
+        }
+        int handled = 0;
+        for (Future<Integer> response : responses) {
+            handled += response.get();
+        }
+
+        return handled;
+    }
+
+    private int handleRequest() throws SQLException, InterruptedException {
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(QUERY_MILLIS);
+        }
+        Thread.sleep(REMOTE_CALL_MILLIS);
+
+        return 1;
+    }
+}
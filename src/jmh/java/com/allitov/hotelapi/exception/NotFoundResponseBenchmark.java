@@ -0,0 +1,66 @@
+package com.allitov.hotelapi.exception;
+
+import com.allitov.hotelapi.web.dto.response.ErrorResponse;
+import com.allitov.hotelapi.web.dto.response.ErrorResponseBodies;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of a lookup of a nonexistent entity, from throwing the exception to writing the response body.
+ * The exception is thrown at the specified call depth, since stack trace capturing cost grows with the depth,
+ * and request handling threads usually run about a hundred frames deep.
+ * @author allitov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundResponseBenchmark {
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private int id;
+
+    @Benchmark
+    public byte[] stackTraceAndObjectMapper() throws JsonProcessingException {
+        try {
+            throwAtDepth(depth, () -> new EntityNotFoundException(
+                    MessageFormat.format(ExceptionMessage.HOTEL_BY_ID_NOT_FOUND, ++id)));
+            return null;
+        } catch (EntityNotFoundException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessAndPrecomputedBody() {
+        try {
+            throwAtDepth(depth, () -> new EntityByIdNotFoundException(ExceptionMessage.HOTEL_BY_ID_NOT_FOUND, ++id));
+            return null;
+        } catch (EntityNotFoundException e) {
+            return ErrorResponseBodies.of(e.getMessage());
+        }
+    }
+
+    private static void throwAtDepth(int depth, ExceptionFactory factory) {
+        if (depth == 0) {
+            throw factory.create();
+        }
+        throwAtDepth(depth - 1, factory);
+    }
+
+    private interface ExceptionFactory {
+
+        RuntimeException create();
+    }
+}
@@ -0,0 +1,88 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.BookingCreationMessage;
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.UserRegistrationMessage;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serialization and deserialization time of Kafka messages in the binary and in the JSON format.
+ * The size of a serialized message in each format is printed when the benchmark starts.
+ * @author allitov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaMessageCodecBenchmark {
+
+    private static final String TOPIC = "benchmark";
+
+    @Param({"BINARY", "JSON"})
+    private KafkaMessageFormat format;
+
+    @Param({"booking-creation", "user-registration"})
+    private String messageType;
+
+    private KafkaMessageSerializer serializer;
+
+    private KafkaMessageDeserializer deserializer;
+
+    private KafkaMessage message;
+
+    private RecordHeaders headers;
+
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        List<KafkaMessageCodec<?>> codecs = List.of(new UserRegistrationMessageCodec(),
+                new BookingCreationMessageCodec(), new UserChangeMessageCodec());
+        serializer = new KafkaMessageSerializer(new JsonSerializer<>(), codecs, format);
+        deserializer = new KafkaMessageDeserializer(new JsonDeserializer<>(), codecs);
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.allitov.hotelapi.message",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+
+        message = switch (messageType) {
+            case "booking-creation" -> BookingCreationMessage.builder()
+                    .userId(1234)
+                    .roomId(56)
+                    .from(LocalDate.of(2024, 5, 1))
+                    .to(LocalDate.of(2024, 5, 7))
+                    .build();
+            case "user-registration" -> UserRegistrationMessage.builder()
+                    .userId(1234)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown message type: " + messageType);
+        };
+        message.setEventId(UUID.randomUUID().toString());
+        message.setCreatedAt(Instant.now());
+
+        headers = new RecordHeaders();
+        serialized = serializer.serialize(TOPIC, headers, message);
+        System.out.printf("%n%s %s: %d bytes/event%n", format, messageType, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), message);
+    }
+
+    @Benchmark
+    public KafkaMessage deserialize() {
+        return deserializer.deserialize(TOPIC, headers, serialized);
+    }
+}
@@ -0,0 +1,183 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.*;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.*;
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the insert rate of 100k rooms saved in one transaction with and without JDBC batching.
+ * With SEQUENCE generation rooms get their IDs from the pooled room sequence, so a batched insert
+ * doesn't wait for a generated key of every row. With IDENTITY generation rooms are inserted through
+ * {@link IdentityRoom}, which reads the key generated by the database back after every insert,
+ * so Hibernate executes the inserts one by one whatever the batch size.
+ * The schema is created by the application changelog in a PostgreSQL container,
+ * so the benchmark requires Docker.
+ * @author allitov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RoomBulkInsertBenchmark {
+
+    private static final int ROOMS = 100_000;
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @Param({"SEQUENCE", "IDENTITY"})
+    private GenerationType idGeneration;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private PostgreSQLContainer<?> postgres;
+
+    private HikariDataSource dataSource;
+
+    private SessionFactory sessionFactory;
+
+    private Integer hotelId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"));
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", true);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:/db/changelog/db.changelog-master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(Hotel.class, Room.class, UnavailableDates.class, User.class, Booking.class,
+                        IdentityRoom.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        Hotel hotel = Hotel.builder()
+                .name("Hotel")
+                .description("Description")
+                .city("City")
+                .address("Address")
+                .distanceFromCenter(1F)
+                .rating(0F)
+                .numberOfRatings(0)
+                .ratingSum(0L)
+                .build();
+        sessionFactory.inTransaction(session -> session.persist(hotel));
+        hotelId = hotel.getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void deleteRooms() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("truncate room cascade");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROOMS)
+    public void insertRooms() {
+        sessionFactory.inTransaction(session -> {
+            Hotel hotel = session.getReference(Hotel.class, hotelId);
+            for (int i = 0; i < ROOMS; i++) {
+                String description = "Room " + i;
+                short number = (short) (i % Short.MAX_VALUE);
+                BigDecimal price = BigDecimal.valueOf(100 + i % 900);
+                short maxPeople = (short) (i % 4 + 1);
+                if (idGeneration == GenerationType.IDENTITY) {
+                    session.persist(new IdentityRoom(description, number, price, maxPeople, hotelId));
+                } else {
+                    session.persist(Room.builder()
+                            .description(description)
+                            .number(number)
+                            .price(price)
+                            .maxPeople(maxPeople)
+                            .hotel(hotel)
+                            .build());
+                }
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+        });
+    }
+
+    /**
+     * The room mapping that takes IDs generated by the database on insert, as rooms did before
+     * the pooled sequence.
+     */
+    @Entity(name = "IdentityRoom")
+    @Table(name = "room")
+    public static class IdentityRoom {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "id")
+        private Integer id;
+
+        @Column(name = "description")
+        private String description;
+
+        @Column(name = "number")
+        private Short number;
+
+        @Column(name = "price")
+        private BigDecimal price;
+
+        @Column(name = "max_people")
+        private Short maxPeople;
+
+        @Column(name = "hotel_id")
+        private Integer hotelId;
+
+        protected IdentityRoom() {
+        }
+
+        public IdentityRoom(String description, Short number, BigDecimal price, Short maxPeople, Integer hotelId) {
+            this.description = description;
+            this.number = number;
+            this.price = price;
+            this.maxPeople = maxPeople;
+            this.hotelId = hotelId;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.allitov.hotelapi.model.repository.specification;
+
+import com.allitov.hotelapi.model.entity.*;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.HotelFilter;
+import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures construction of criteria predicates from hotel and room filters with every criterion set.
+ * Criteria are built by a session factory bootstrapped without a database connection.
+ * @author allitov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    private HotelFilter hotelFilter;
+
+    private RoomFilter roomFilter;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(Hotel.class, Room.class, UnavailableDates.class, User.class, Booking.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        hotelFilter = HotelFilter.builder()
+                .id(List.of(1, 2, 3))
+                .name("Hotel")
+                .description("Description")
+                .city("City")
+                .address("Address")
+                .distanceFromCenter(1.5F)
+                .rating(4F)
+                .numberOfRatings(10)
+                .after(CursorUtils.encode(10))
+                .build();
+        roomFilter = RoomFilter.builder()
+                .id(List.of(1, 2, 3))
+                .description("Description")
+                .minPrice(BigDecimal.valueOf(1000))
+                .maxPrice(BigDecimal.valueOf(3000))
+                .maxPeople((short) 2)
+                .from(LocalDate.of(2024, 5, 1))
+                .to(LocalDate.of(2024, 5, 7))
+                .hotelId(1)
+                .after(CursorUtils.encode(10))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate hotelWithFilter() {
+        CriteriaQuery<Hotel> query = criteriaBuilder.createQuery(Hotel.class);
+        Root<Hotel> root = query.from(Hotel.class);
+
+        return HotelSpecification.withFilter(hotelFilter).toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public Predicate roomWithFilter() {
+        CriteriaQuery<Room> query = criteriaBuilder.createQuery(Room.class);
+        Root<Room> root = query.from(Room.class);
+
+        return RoomSpecification.withFilter(roomFilter).toPredicate(root, query, criteriaBuilder);
+    }
+}
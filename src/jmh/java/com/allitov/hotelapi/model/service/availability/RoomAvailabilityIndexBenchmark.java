@@ -0,0 +1,62 @@
+package com.allitov.hotelapi.model.service.availability;
+
+import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the availability check of a room booking, which rejects bookings overlapping unavailable dates,
+ * for rooms with different numbers of unavailable date intervals.
+ * @author allitov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomAvailabilityIndexBenchmark {
+
+    private static final Integer ROOM_ID = 1;
+
+    private static final LocalDate START_DATE = LocalDate.of(2124, 1, 1);
+
+    private static final int INTERVAL_DAYS = 3;
+
+    @Param({"10", "1000", "100000"})
+    private int intervals;
+
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Setup
+    public void setUp() {
+        List<UnavailableDates> unavailableDates = new ArrayList<>(intervals);
+        for (int i = 0; i < intervals; i++) {
+            LocalDate from = START_DATE.plusDays((long) i * (INTERVAL_DAYS + 1));
+            unavailableDates.add(UnavailableDates.builder()
+                    .from(from)
+                    .to(from.plusDays(INTERVAL_DAYS - 1))
+                    .build());
+        }
+        UnavailableDatesRepository repository = Mockito.mock(UnavailableDatesRepository.class);
+        Mockito.when(repository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(ROOM_ID), Mockito.any()))
+                .thenReturn(unavailableDates);
+
+        roomAvailabilityIndex = new RoomAvailabilityIndex(repository, 1);
+        roomAvailabilityIndex.isAvailable(ROOM_ID, START_DATE, START_DATE);
+    }
+
+    @Benchmark
+    public boolean isAvailable() {
+        LocalDate from = START_DATE.plusDays(ThreadLocalRandom.current().nextInt(intervals * (INTERVAL_DAYS + 1)));
+
+        return roomAvailabilityIndex.isAvailable(ROOM_ID, from, from);
+    }
+}
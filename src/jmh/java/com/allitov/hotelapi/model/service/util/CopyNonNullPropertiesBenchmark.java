@@ -0,0 +1,65 @@
+package com.allitov.hotelapi.model.service.util;
+
+import com.allitov.hotelapi.model.entity.Hotel;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares copying of nonnull properties with cached method handles to copying with reflection on every call,
+ * the way {@link ServiceUtils#copyNonNullProperties(Object, Object)} was implemented before.
+ * @author allitov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CopyNonNullPropertiesBenchmark {
+
+    private Hotel source;
+
+    private Hotel destination;
+
+    @Setup
+    public void setUp() {
+        source = Hotel.builder()
+                .name("New name")
+                .description("New description")
+                .distanceFromCenter(1.5F)
+                .build();
+        destination = Hotel.builder()
+                .id(1)
+                .name("Name")
+                .description("Description")
+                .city("City")
+                .address("Address")
+                .distanceFromCenter(3F)
+                .rating(4.5F)
+                .numberOfRatings(10)
+                .ratingSum(45L)
+                .build();
+    }
+
+    @Benchmark
+    public Hotel methodHandles() {
+        ServiceUtils.copyNonNullProperties(source, destination);
+
+        return destination;
+    }
+
+    @Benchmark
+    public Hotel reflection() throws IllegalAccessException {
+        for (Field field : source.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            Object value = field.get(source);
+            if (value != null) {
+                field.set(destination, value);
+            }
+        }
+
+        return destination;
+    }
+}
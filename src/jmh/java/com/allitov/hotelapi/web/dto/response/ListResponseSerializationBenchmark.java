@@ -0,0 +1,80 @@
+package com.allitov.hotelapi.web.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of list responses with an object mapper configured the way Spring Boot configures it.
+ * @author allitov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListResponseSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private HotelListResponse hotelListResponse;
+
+    private RoomListResponse roomListResponse;
+
+    private BookingListResponse bookingListResponse;
+
+    private UserListResponse userListResponse;
+
+    @Setup
+    public void setUp() {
+        List<HotelResponse> hotels = new ArrayList<>(size);
+        List<RoomResponse> rooms = new ArrayList<>(size);
+        List<BookingResponse> bookings = new ArrayList<>(size);
+        List<UserResponse> users = new ArrayList<>(size);
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        for (int i = 1; i <= size; i++) {
+            hotels.add(new HotelResponse(i, "Hotel " + i, "Description of hotel " + i, "City", "Street " + i,
+                    i % 100 / 10F, i % 50 / 10F, i % 1000));
+            rooms.add(new RoomResponse(i, i % 100, "Description of room " + i, (short) i, "2500.00", (short) 2));
+            bookings.add(new BookingResponse(i, i % 100, i % 1000, startDate.plusDays(i), startDate.plusDays(i + 3)));
+            users.add(new UserResponse(i, "user" + i, "user" + i + "@mail.com", "ROLE_USER"));
+        }
+        hotelListResponse = new HotelListResponse(hotels);
+        roomListResponse = new RoomListResponse(rooms);
+        bookingListResponse = new BookingListResponse(bookings);
+        userListResponse = new UserListResponse(users);
+    }
+
+    @Benchmark
+    public byte[] hotelListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(hotelListResponse);
+    }
+
+    @Benchmark
+    public byte[] roomListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roomListResponse);
+    }
+
+    @Benchmark
+    public byte[] bookingListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingListResponse);
+    }
+
+    @Benchmark
+    public byte[] userListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userListResponse);
+    }
+}
@@ -0,0 +1,52 @@
+package com.allitov.hotelapi.web.mapping;
+
+import com.allitov.hotelapi.model.entity.Hotel;
+import com.allitov.hotelapi.web.dto.response.HotelListWithCounterResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping of a list of hotel entities to the hotel list with counter response.
+ * @author allitov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotelMapperBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private final HotelMapper hotelMapper = new HotelMapperImpl();
+
+    private List<Hotel> hotels;
+
+    @Setup
+    public void setUp() {
+        hotels = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            hotels.add(Hotel.builder()
+                    .id(i)
+                    .name("Hotel " + i)
+                    .description("Description of hotel " + i)
+                    .city("City")
+                    .address("Street " + i)
+                    .distanceFromCenter(i % 100 / 10F)
+                    .rating(i % 50 / 10F)
+                    .numberOfRatings(i % 1000)
+                    .ratingSum((long) i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public HotelListWithCounterResponse entityListToListWithCounterResponse() {
+        return hotelMapper.entityListToListWithCounterResponse(hotels);
+    }
+}
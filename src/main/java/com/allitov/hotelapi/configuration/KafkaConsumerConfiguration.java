@@ -1,21 +1,45 @@
 package com.allitov.hotelapi.configuration;
 
 import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.codec.KafkaMessageCodec;
+import com.allitov.hotelapi.message.codec.KafkaMessageDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * The configuration class for Kafka consumers. Listeners receive records in batches of up to
+ * max-poll-records, and offsets of a batch are committed only after the listener has processed it.
+ * A batch that fails is retried with exponential backoff up to max-interval between attempts until
+ * it is processed, its offsets aren't committed in the meantime, so a batch is never skipped.
+ * The partitions of a failing batch are paused while it is retried.
+ * Messages are read both in the binary and in the JSON format, see {@link KafkaMessageDeserializer}.
+ * <p>
+ * Every listener runs the configured number of consumers, each polling its own partitions on its own thread,
+ * so listeners don't need locks to process records of the same key in order. Consumers beyond the number
+ * of partitions of the listened topics stay idle. In the virtual-thread mode consumers run on virtual threads,
+ * their number is still bounded by the concurrency.
+ * @author allitov
+ */
 @Configuration
 public class KafkaConsumerConfiguration {
 
@@ -25,31 +49,65 @@ public class KafkaConsumerConfiguration {
     @Value("${app.kafka.group-id.statistics}")
     private String groupId;
 
+    @Value("${app.kafka.consumer.max-poll-records}")
+    private int maxPollRecords;
+
+    @Value("${app.kafka.consumer.concurrency}")
+    private int concurrency;
+
+    @Value("${app.kafka.consumer.retry.initial-interval}")
+    private Duration retryInitialInterval;
+
+    @Value("${app.kafka.consumer.retry.max-interval}")
+    private Duration retryMaxInterval;
+
     @Bean
     public Map<String, Object> consumerConfigs() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configs.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        configs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         configs.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, KafkaMessageDeserializer.class);
         configs.put(JsonDeserializer.TRUSTED_PACKAGES, "com.allitov.hotelapi.message");
 
         return configs;
     }
 
     @Bean
-    public ConsumerFactory<String, KafkaMessage> consumerFactory(ObjectMapper objectMapper) {
-        return new DefaultKafkaConsumerFactory<>(
-                consumerConfigs(), new StringDeserializer(), new JsonDeserializer<>(objectMapper));
+    public ConsumerFactory<String, KafkaMessage> consumerFactory(ObjectMapper objectMapper,
+                                                                 List<KafkaMessageCodec<?>> codecs) {
+        return new DefaultKafkaConsumerFactory<>(consumerConfigs(), new StringDeserializer(),
+                new KafkaMessageDeserializer(new JsonDeserializer<>(objectMapper), codecs));
     }
 
     @Bean
     public KafkaListenerContainerFactory<?> listenerContainerFactory(
-            ConsumerFactory<String, KafkaMessage> consumerFactory) {
+            ConsumerFactory<String, KafkaMessage> consumerFactory, Environment environment) {
         ConcurrentKafkaListenerContainerFactory<String, KafkaMessage> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(errorHandler());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor listenerTaskExecutor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            listenerTaskExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerTaskExecutor);
+        }
 
         return factory;
     }
+
+    @Bean
+    public DefaultErrorHandler errorHandler() {
+        ExponentialBackOff backOff = new ExponentialBackOff(retryInitialInterval.toMillis(),
+                ExponentialBackOff.DEFAULT_MULTIPLIER);
+        backOff.setMaxInterval(retryMaxInterval.toMillis());
+        backOff.setMaxElapsedTime(Long.MAX_VALUE);
+
+        return new DefaultErrorHandler(backOff);
+    }
 }
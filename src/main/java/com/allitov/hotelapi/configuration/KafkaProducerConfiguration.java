@@ -1,7 +1,9 @@
 package com.allitov.hotelapi.configuration;
 
-import com.allitov.hotelapi.message.BookingCreationMessage;
-import com.allitov.hotelapi.message.UserRegistrationMessage;
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.codec.KafkaMessageCodec;
+import com.allitov.hotelapi.message.codec.KafkaMessageFormat;
+import com.allitov.hotelapi.message.codec.KafkaMessageSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -14,45 +16,50 @@ import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * The configuration class for Kafka producers. Messages are written in the configured format,
+ * see {@link KafkaMessageSerializer}.
+ * @author allitov
+ */
 @Configuration
 public class KafkaProducerConfiguration {
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.kafka.producer.linger-ms}")
+    private int lingerMs;
+
+    @Value("${app.kafka.producer.batch-size}")
+    private int batchSize;
+
+    @Value("${app.kafka.serialization.format}")
+    private KafkaMessageFormat format;
+
     @Bean
     public Map<String, Object> producerConfigs() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaMessageSerializer.class);
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
 
         return configs;
     }
 
     @Bean
-    public ProducerFactory<String, BookingCreationMessage> bookingCreationProducerFactory(ObjectMapper mapper) {
-        return new DefaultKafkaProducerFactory<>(
-                producerConfigs(), new StringSerializer(), new JsonSerializer<>(mapper));
-    }
-
-    @Bean
-    public ProducerFactory<String, UserRegistrationMessage> userRegistrationProducerFactory(ObjectMapper mapper) {
-        return new DefaultKafkaProducerFactory<>(
-                producerConfigs(), new StringSerializer(), new JsonSerializer<>(mapper));
-    }
-
-    @Bean
-    public KafkaTemplate<String, BookingCreationMessage> bookingCreationKafkaTemplate(
-            ProducerFactory<String, BookingCreationMessage> producerFactory) {
-        return new KafkaTemplate<>(producerFactory);
+    public ProducerFactory<String, KafkaMessage> producerFactory(ObjectMapper mapper,
+                                                                 List<KafkaMessageCodec<?>> codecs) {
+        return new DefaultKafkaProducerFactory<>(producerConfigs(), new StringSerializer(),
+                new KafkaMessageSerializer(new JsonSerializer<>(mapper), codecs, format));
     }
 
     @Bean
-    public KafkaTemplate<String, UserRegistrationMessage> userRegistrationKafkaTemplate(
-            ProducerFactory<String, UserRegistrationMessage> producerFactory) {
+    public KafkaTemplate<String, KafkaMessage> kafkaTemplate(ProducerFactory<String, KafkaMessage> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
 }
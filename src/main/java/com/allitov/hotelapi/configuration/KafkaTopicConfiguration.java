@@ -0,0 +1,58 @@
+package com.allitov.hotelapi.configuration;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * The configuration class for Kafka topics. Topics are created on startup if they don't exist,
+ * and partitions are added to existing topics that have fewer of them.
+ * <p>
+ * Messages are keyed by the ID of the entity they describe, so the partition count bounds the number
+ * of consumers of a group that can process a topic in parallel. Adding partitions to a topic changes
+ * the partitions of existing keys, so messages with the same key sent before and after the change
+ * may be consumed out of order.
+ * @author allitov
+ */
+@Configuration
+public class KafkaTopicConfiguration {
+
+    @Value("${app.kafka.topic.user-registration}")
+    private String userRegistrationTopicName;
+
+    @Value("${app.kafka.topic.booking-creation}")
+    private String bookingCreationTopicName;
+
+    @Value("${app.kafka.topic.user-change}")
+    private String userChangeTopicName;
+
+    @Value("${app.kafka.partitions}")
+    private int partitions;
+
+    @Value("${app.kafka.replication-factor}")
+    private short replicationFactor;
+
+    @Bean
+    public NewTopic userRegistrationTopic() {
+        return createTopic(userRegistrationTopicName);
+    }
+
+    @Bean
+    public NewTopic bookingCreationTopic() {
+        return createTopic(bookingCreationTopicName);
+    }
+
+    @Bean
+    public NewTopic userChangeTopic() {
+        return createTopic(userChangeTopicName);
+    }
+
+    private NewTopic createTopic(String name) {
+        return TopicBuilder.name(name)
+                .partitions(partitions)
+                .replicas(replicationFactor)
+                .build();
+    }
+}
@@ -21,6 +21,12 @@ import java.util.List;
         name = "Basic authorisation",
         scheme = "basic"
 )
+@SecurityScheme(
+        type = SecuritySchemeType.HTTP,
+        name = "Bearer token",
+        scheme = "bearer",
+        bearerFormat = "JWT"
+)
 public class OpenApiConfiguration {
 
     @Value("${server.port}")
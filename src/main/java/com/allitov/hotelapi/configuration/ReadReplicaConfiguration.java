@@ -0,0 +1,113 @@
+package com.allitov.hotelapi.configuration;
+
+import com.allitov.hotelapi.datasource.ConcurrencyLimitingDataSource;
+import com.allitov.hotelapi.datasource.ReadReplicaRoutingDataSource;
+import com.allitov.hotelapi.datasource.ReplicationLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The configuration class for reading from replicas, enabled by app.datasource.replicas.enabled.
+ * The primary pool and one pool per replica URL are configured by spring.datasource.hikari,
+ * read-only transactions go to replicas and everything else to the primary database,
+ * see {@link ReadReplicaRoutingDataSource}.
+ * <p>
+ * An authenticated user who has committed a write reads from the primary database for max-lag,
+ * so the user usually sees own changes, other requests read from replicas. This is best-effort,
+ * see {@link ReplicationLagGuard}: max-lag should be set well above the replication lag
+ * observed on the replicas.
+ * <p>
+ * In the virtual-thread mode every pool is limited to max-concurrent-connections open connections
+ * on its own, so waiting for the primary database doesn't hold up reads from replicas.
+ * @author allitov
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.username}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.max-lag}")
+    private Duration maxLag;
+
+    @Value("${app.datasource.replicas.max-tracked-writers}")
+    private long maxTrackedWriters;
+
+    @Value("${app.datasource.max-concurrent-connections}")
+    private int maxConcurrentConnections;
+
+    @Value("${app.datasource.acquire-timeout}")
+    private Duration acquireTimeout;
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(DataSourceProperties properties, Environment environment) {
+        DataSource primaryDataSource = createDataSource(properties, environment,
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword(), "primary");
+        List<DataSource> replicaDataSources = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicaDataSources.add(createDataSource(properties, environment,
+                    replicaUrls.get(i), replicaUsername, replicaPassword, "replica-" + i));
+        }
+
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSources,
+                new ReplicationLagGuard(maxLag, maxTrackedWriters, ReadReplicaConfiguration::currentUsername));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private DataSource createDataSource(DataSourceProperties properties, Environment environment,
+                                        String url, String username, String password, String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new ConcurrencyLimitingDataSource(dataSource, maxConcurrentConnections, acquireTimeout);
+        }
+
+        return dataSource;
+    }
+
+    private static Object currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return authentication.getName();
+    }
+}
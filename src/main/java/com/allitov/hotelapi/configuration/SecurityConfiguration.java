@@ -1,10 +1,17 @@
 package com.allitov.hotelapi.configuration;
 
 import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.security.TokenService;
+import com.allitov.hotelapi.security.UserDetailsImpl;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -15,10 +22,20 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
 /**
  * The configuration class for spring security.
  * @author allitov
@@ -27,6 +44,8 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 @EnableWebSecurity
 public class SecurityConfiguration {
 
+    private static final int MIN_TOKEN_SECRET_LENGTH = 32;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -41,17 +60,63 @@ public class SecurityConfiguration {
 
         AuthenticationManagerBuilder authenticationManagerBuilder =
                 httpSecurity.getSharedObject(AuthenticationManagerBuilder.class);
-        authenticationManagerBuilder.userDetailsService(userDetailsService);
         authenticationManagerBuilder.authenticationProvider(authenticationProvider);
 
         return authenticationManagerBuilder.build();
     }
 
     @Bean
+    public SecretKey tokenSecretKey(@Value("${app.security.token.secret}") String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_TOKEN_SECRET_LENGTH) {
+            throw new IllegalStateException("Token secret app.security.token.secret must be at least "
+                    + MIN_TOKEN_SECRET_LENGTH + " bytes (256 bits) long.");
+        }
+
+        return new SecretKeySpec(secretBytes, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSecretKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSecretKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSecretKey) {
+        return NimbusJwtDecoder.withSecretKey(tokenSecretKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+    }
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain tokenFilterChain(HttpSecurity httpSecurity,
+                                                AuthenticationManager authenticationManager,
+                                                AuthenticationEntryPoint authenticationEntryPoint,
+                                                AccessDeniedHandler accessDeniedHandler) throws Exception {
+        httpSecurity.securityMatcher("/api/v1/auth/**")
+                .authorizeHttpRequests(auth -> auth
+                        .anyRequest()
+                            .hasAnyAuthority(User.RoleType.USER.name(), User.RoleType.ADMIN.name()))
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(configurer -> configurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authenticationManager(authenticationManager)
+                .exceptionHandling(configurer -> configurer
+                        .authenticationEntryPoint(authenticationEntryPoint)
+                        .accessDeniedHandler(accessDeniedHandler));
+
+        return httpSecurity.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity,
                                            AuthenticationManager authenticationManager,
                                            AuthenticationEntryPoint authenticationEntryPoint,
-                                           AccessDeniedHandler accessDeniedHandler) throws Exception {
+                                           AccessDeniedHandler accessDeniedHandler,
+                                           JwtDecoder jwtDecoder,
+                                           TokenService tokenService) throws Exception {
         httpSecurity.authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**")
                             .permitAll()
@@ -71,6 +136,10 @@ public class SecurityConfiguration {
                             .hasAuthority(User.RoleType.ADMIN.name()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .httpBasic(Customizer.withDefaults())
+                .oauth2ResourceServer(configurer -> configurer
+                        .jwt(jwt -> jwt.authenticationManager(tokenAuthenticationManager(jwtDecoder, tokenService)))
+                        .authenticationEntryPoint(authenticationEntryPoint)
+                        .accessDeniedHandler(accessDeniedHandler))
                 .sessionManagement(configurer -> configurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationManager(authenticationManager)
                 .exceptionHandling(configurer -> configurer
@@ -79,4 +148,14 @@ public class SecurityConfiguration {
 
         return httpSecurity.build();
     }
+
+    private AuthenticationManager tokenAuthenticationManager(JwtDecoder jwtDecoder, TokenService tokenService) {
+        JwtAuthenticationProvider authenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
+        authenticationProvider.setJwtAuthenticationConverter(token -> {
+            UserDetailsImpl userDetails = tokenService.toUserDetails(token);
+            return new UsernamePasswordAuthenticationToken(userDetails, token, userDetails.getAuthorities());
+        });
+
+        return new ProviderManager(authenticationProvider);
+    }
 }
@@ -0,0 +1,50 @@
+package com.allitov.hotelapi.configuration;
+
+import com.allitov.hotelapi.datasource.ConcurrencyLimitingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * The configuration class for the virtual-thread execution mode, enabled by spring.threads.virtual.enabled.
+ * Spring Boot then runs Tomcat requests, async MVC and scheduled tasks on virtual threads,
+ * and {@link KafkaConsumerConfiguration} runs listener consumers on them.
+ * <p>
+ * Since the number of request threads is no longer bounded, the data source is limited
+ * to max-concurrent-connections open connections, see {@link ConcurrencyLimitingDataSource}.
+ * Lazy connection proxies and routing data sources aren't limited, since they open connections
+ * through the data sources behind them. The pools behind a routing data source are limited separately,
+ * see {@link ReadReplicaConfiguration}.
+ * @author allitov
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            @Value("${app.datasource.max-concurrent-connections}") int maxConcurrentConnections,
+            @Value("${app.datasource.acquire-timeout}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)
+                        && !(bean instanceof LazyConnectionDataSourceProxy)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrentConnections, acquireTimeout);
+                }
+
+                return bean;
+            }
+        };
+    }
+}
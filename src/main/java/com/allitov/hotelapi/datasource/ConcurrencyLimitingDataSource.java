@@ -0,0 +1,164 @@
+package com.allitov.hotelapi.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The data source that lets at most the configured number of connections be open at the same time.
+ * Threads beyond the limit wait for a permit in arrival order before reaching the target pool,
+ * so thousands of virtual threads park cheaply on the semaphore instead of contending inside the pool,
+ * and fail with {@link SQLTransientConnectionException} if no permit is released in time.
+ * A permit is released when the returned connection is closed. Closing the data source closes the target one.
+ * @author allitov
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource implements Closeable {
+
+    private final Semaphore permits;
+
+    private final Duration acquireTimeout;
+
+    /**
+     * Creates concurrency limiting data source.
+     * @param targetDataSource a data source to obtain connections from.
+     * @param maxConcurrentConnections the maximum number of connections open at the same time.
+     * @param acquireTimeout the maximum time to wait for a permit.
+     */
+    public ConcurrencyLimitingDataSource(DataSource targetDataSource, int maxConcurrentConnections,
+                                         Duration acquireTimeout) {
+        super(targetDataSource);
+        if (maxConcurrentConnections < 1) {
+            throw new IllegalArgumentException("Max concurrent connections must be positive");
+        }
+        this.permits = new Semaphore(maxConcurrentConnections, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return releasingPermitOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return releasingPermitOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the target data source if it can be closed.
+     * @throws IOException if the target data source fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Returns the number of connections that can be opened without waiting.
+     * @return the number of available permits.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Returns the estimated number of threads waiting for a connection.
+     * @return the number of waiting threads.
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Connection is not available, request timed out after " + acquireTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private Connection releasingPermitOnClose(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConcurrencyLimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new PermitReleasingHandler(connection));
+    }
+
+    private class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (closed.compareAndSet(false, true)) {
+                        try {
+                            target.close();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    if (closed.get()) {
+                        return true;
+                    }
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Concurrency limited connection [" + target + "]";
+                }
+                default -> {
+                }
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
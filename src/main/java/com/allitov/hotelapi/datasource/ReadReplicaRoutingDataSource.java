@@ -0,0 +1,125 @@
+package com.allitov.hotelapi.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The data source that routes connections of read-only transactions to replicas in turn
+ * and all other connections to the primary database. Reads of clients that have recently written
+ * stay on the primary database, see {@link ReplicationLagGuard}.
+ * <p>
+ * The route is chosen by the current transaction, so the data source must be wrapped
+ * into {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers obtain
+ * a connection before the transaction is marked as read-only, the proxy defers it until the first statement.
+ * <p>
+ * Reads whose results outlive the request, like cached ones, can be kept on the primary database
+ * with {@link #readFromPrimary(Supplier)}.
+ * @author allitov
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY_KEY = "primary";
+
+    private static final String REPLICA_KEY_PREFIX = "replica-";
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final List<String> replicaKeys = new ArrayList<>();
+
+    private final ReplicationLagGuard replicationLagGuard;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Creates read replica routing data source.
+     * @param primaryDataSource a data source of the primary database.
+     * @param replicaDataSources data sources of replicas, reads go to the primary database if empty.
+     * @param replicationLagGuard a guard that keeps recent writers on the primary database.
+     */
+    public ReadReplicaRoutingDataSource(DataSource primaryDataSource, List<DataSource> replicaDataSources,
+                                        ReplicationLagGuard replicationLagGuard) {
+        this.replicationLagGuard = replicationLagGuard;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY_KEY, primaryDataSource);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            String replicaKey = REPLICA_KEY_PREFIX + i;
+            targetDataSources.put(replicaKey, replicaDataSources.get(i));
+            replicaKeys.add(replicaKey);
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs the action with read-only transactions of the current thread routed to the primary database.
+     * Has no effect if reads aren't routed to replicas.
+     * @param action an action to run.
+     * @return the result of the action.
+     * @param <T> a type of the result.
+     */
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            } else {
+                PRIMARY_READS.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Closes the primary and replica data sources.
+     */
+    @Override
+    public void close() {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close data source", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY_KEY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                    @Override
+                    public void afterCommit() {
+                        replicationLagGuard.recordWrite();
+                    }
+                });
+            }
+
+            return PRIMARY_KEY;
+        }
+        if (replicaKeys.isEmpty() || PRIMARY_READS.get() != null || replicationLagGuard.isPrimaryRequired()) {
+            return PRIMARY_KEY;
+        }
+
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.allitov.hotelapi.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The guard that keeps clients on the primary database while their writes may not have reached replicas yet.
+ * A client is remembered for the maximum replication lag after its last committed write,
+ * so a read that follows the write, like a lookup of a created booking, usually sees it.
+ * <p>
+ * The guard is best-effort, not a read-your-writes guarantee. The maximum lag is a configured estimate
+ * and the actual replication lag isn't measured, so a replica that falls further behind serves stale reads.
+ * Writers are remembered by this instance only, so a read balanced to another instance isn't guarded.
+ * Clients are identified by the key resolver, reads and writes without a client key aren't guarded.
+ * @author allitov
+ */
+public class ReplicationLagGuard {
+
+    private final Cache<Object, Boolean> recentWriters;
+
+    private final Supplier<Object> clientKeyResolver;
+
+    /**
+     * Creates replication lag guard.
+     * @param maxLag the maximum time for a write to reach replicas.
+     * @param maximumSize the maximum number of remembered clients.
+     * @param clientKeyResolver a resolver of the current client key, returns null if there is no client.
+     */
+    public ReplicationLagGuard(Duration maxLag, long maximumSize, Supplier<Object> clientKeyResolver) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxLag)
+                .build();
+        this.clientKeyResolver = clientKeyResolver;
+    }
+
+    /**
+     * Remembers that the current client has just committed a write.
+     */
+    public void recordWrite() {
+        Object clientKey = clientKeyResolver.get();
+        if (clientKey != null) {
+            recentWriters.put(clientKey, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Returns whether the current client has committed a write within the maximum replication lag
+     * and must read from the primary database.
+     * @return true if reads of the current client must go to the primary database.
+     */
+    public boolean isPrimaryRequired() {
+        Object clientKey = clientKeyResolver.get();
+
+        return clientKey != null && recentWriters.getIfPresent(clientKey) != null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.allitov.hotelapi.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+import java.text.MessageFormat;
+
+/**
+ * Thrown to indicate that an entity with the requested ID doesn't exist.
+ * <p>
+ * Lookups of nonexistent IDs are an expected outcome of client requests, so the exception doesn't capture
+ * a stack trace, and its message is formatted only when it's requested for the first time.
+ * @author allitov
+ */
+public class EntityByIdNotFoundException extends EntityNotFoundException {
+
+    private final String messagePattern;
+
+    private final Object id;
+
+    private String message;
+
+    /**
+     * Creates the exception.
+     * @param messagePattern a {@link MessageFormat} pattern of the message with the ID as the only argument.
+     * @param id an ID of the entity that wasn't found.
+     */
+    public EntityByIdNotFoundException(String messagePattern, Object id) {
+        this.messagePattern = messagePattern;
+        this.id = id;
+    }
+
+    /**
+     * Returns the ID of the entity that wasn't found.
+     * @return the ID of the entity.
+     */
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = MessageFormat.format(messagePattern, id);
+        }
+
+        return message;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -35,6 +35,10 @@ public class ExceptionMessage {
 
     public final String HOTEL_ILLEGAL_RATING = "Rating must be in range of [1, 5].";
 
+    public final String HOTEL_EMPTY_BATCH = "Hotels must be specified.";
+
+    public final String HOTEL_INVALID_BATCH_SIZE = "Number of hotels must be <= {max}.";
+
     public final String ROOM_BY_ID_NOT_FOUND = "Room with id = ''{0,number,#}'' not found.";
 
     public final String ROOM_NULL_HOTEL_ID = "Hotel id must be specified.";
@@ -53,6 +57,10 @@ public class ExceptionMessage {
 
     public final String ROOM_INVALID_MAX_PEOPLE = "Maximum number of people must be greater than zero.";
 
+    public final String ROOM_EMPTY_BATCH = "Rooms must be specified.";
+
+    public final String ROOM_INVALID_BATCH_SIZE = "Number of rooms must be <= {max}.";
+
     public final String USER_DATA_ILLEGAL_ACCESS = "User with id = ''{0,number,#}'' cannot get or change data of user with id = ''{1,number,#}''";
 
     public final String USER_BY_USERNAME_NOT_FOUND = "User with username = ''{0}'' not found.";
@@ -77,6 +85,8 @@ public class ExceptionMessage {
 
     public final String BOOKING_UNAVAILABLE_DATES = "Dates from ''{0}'' to ''{1}'' are unavailable.";
 
+    public final String BOOKING_UNAVAILABLE_BATCH_DATES = "Dates of one or more bookings are unavailable.";
+
     public final String BOOKING_NULL_ROOM_ID = "Room id must be specified.";
 
     public final String BOOKING_NULL_USER_ID = "User id must be specified.";
@@ -85,9 +95,27 @@ public class ExceptionMessage {
 
     public final String BOOKING_NULL_TO_DATE = "'to' date must be specified.";
 
+    public final String BOOKING_EMPTY_BATCH = "Bookings must be specified.";
+
+    public final String BOOKING_INVALID_BATCH_SIZE = "Number of bookings must be <= {max}.";
+
+    public final String STATISTICS_NULL_FROM_DATE = "'from' date must be specified.";
+
+    public final String STATISTICS_NULL_TO_DATE = "'to' date must be specified.";
+
+    public final String STATISTICS_INVALID_DATE = "'from' date can't be after 'to' date.";
+
+    public final String STATISTICS_INVALID_PERIOD = "Period must be <= {0,number,#} days.";
+
+    public final String STATISTICS_EVENTS_CLAIMED = "Statistics events are being applied by another batch.";
+
     public final String FILTER_INVALID_PAGINATION = "Page number and page size both must be specified or not.";
 
     public final String FILTER_INVALID_PAGE_SIZE = "Page size must be > 0.";
 
     public final String FILTER_INVALID_PAGE_NUMBER = "Page number must be >= 0.";
+
+    public final String FILTER_INVALID_CURSOR_PAGINATION = "Cursor must be specified with page size and without page number.";
+
+    public final String FILTER_INVALID_CURSOR = "Cursor ''{0}'' is invalid.";
 }
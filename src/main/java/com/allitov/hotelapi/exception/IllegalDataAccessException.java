@@ -2,11 +2,12 @@ package com.allitov.hotelapi.exception;
 
 /**
  * Exception that can be thrown during illegal data access.
+ * The exception is an expected outcome of client requests, so it doesn't capture a stack trace.
  * @author allitov
  */
 public class IllegalDataAccessException extends RuntimeException {
 
     public IllegalDataAccessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
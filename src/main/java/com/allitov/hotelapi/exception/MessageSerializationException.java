@@ -0,0 +1,15 @@
+package com.allitov.hotelapi.exception;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Thrown to indicate that a message couldn't be converted to or from its stored representation.
+ * @author allitov
+ */
+@NoArgsConstructor
+public class MessageSerializationException extends RuntimeException {
+
+    public MessageSerializationException(String message) {
+        super(message);
+    }
+}
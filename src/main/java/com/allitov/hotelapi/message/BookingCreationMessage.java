@@ -17,6 +17,8 @@ public class BookingCreationMessage extends KafkaMessage {
 
     private Integer userId;
 
+    private Integer roomId;
+
     private LocalDate from;
 
     private LocalDate to;
@@ -1,10 +1,27 @@
 package com.allitov.hotelapi.message;
 
+import lombok.Getter;
+import lombok.Setter;
+
 import java.io.Serializable;
+import java.time.Instant;
 
 /**
  * Abstract message for Kafka.
  * @author allitov
  */
+@Getter
+@Setter
 public abstract class KafkaMessage implements Serializable {
+
+    /**
+     * The unique ID of the event described by the message. It's assigned once when the message is published
+     * and stays the same on every delivery of the message, so consumers can detect redeliveries.
+     */
+    private String eventId;
+
+    /**
+     * The time the event described by the message occurred at. It's set when the message is published.
+     */
+    private Instant createdAt;
 }
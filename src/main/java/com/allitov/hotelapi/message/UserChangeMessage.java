@@ -0,0 +1,17 @@
+package com.allitov.hotelapi.message;
+
+import lombok.*;
+
+/**
+ * Kafka message for user update and deletion events.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class UserChangeMessage extends KafkaMessage {
+
+    private Integer userId;
+}
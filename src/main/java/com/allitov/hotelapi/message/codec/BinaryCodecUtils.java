@@ -0,0 +1,179 @@
+package com.allitov.hotelapi.message.codec;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The utility class that provides methods to write and read values in the compact binary format.
+ * Numbers are written as variable-length zigzag integers, so small values take a single byte.
+ * Nullable values are prefixed with their presence.
+ * @author allitov
+ */
+@UtilityClass
+public class BinaryCodecUtils {
+
+    private final byte NULL_STRING = 0;
+
+    private final byte UUID_STRING = 1;
+
+    private final byte UTF_STRING = 2;
+
+    /**
+     * Writes the number as a variable-length zigzag integer.
+     * @param output an output to write to.
+     * @param value a number to write.
+     * @throws IOException if the output can't be written to.
+     */
+    public void writeVarLong(DataOutput output, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            output.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        output.writeByte((int) zigzag);
+    }
+
+    /**
+     * Reads a number written as a variable-length zigzag integer.
+     * @param input an input to read from.
+     * @return a read number.
+     * @throws IOException if the input can't be read from or the number is malformed.
+     */
+    public long readVarLong(DataInput input) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed variable-length integer.");
+    }
+
+    /**
+     * Writes the nullable integer.
+     * @param output an output to write to.
+     * @param value an integer to write.
+     * @throws IOException if the output can't be written to.
+     */
+    public void writeNullableInt(DataOutput output, Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(output, value);
+        }
+    }
+
+    /**
+     * Reads a nullable integer.
+     * @param input an input to read from.
+     * @return a read integer or null.
+     * @throws IOException if the input can't be read from.
+     */
+    public Integer readNullableInt(DataInput input) throws IOException {
+        return input.readBoolean() ? Math.toIntExact(readVarLong(input)) : null;
+    }
+
+    /**
+     * Writes the nullable date as a number of days since the epoch.
+     * @param output an output to write to.
+     * @param value a date to write.
+     * @throws IOException if the output can't be written to.
+     */
+    public void writeNullableDate(DataOutput output, LocalDate value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(output, value.toEpochDay());
+        }
+    }
+
+    /**
+     * Reads a nullable date.
+     * @param input an input to read from.
+     * @return a read date or null.
+     * @throws IOException if the input can't be read from.
+     */
+    public LocalDate readNullableDate(DataInput input) throws IOException {
+        return input.readBoolean() ? LocalDate.ofEpochDay(readVarLong(input)) : null;
+    }
+
+    /**
+     * Writes the nullable instant as seconds since the epoch and nanoseconds of the second.
+     * @param output an output to write to.
+     * @param value an instant to write.
+     * @throws IOException if the output can't be written to.
+     */
+    public void writeNullableInstant(DataOutput output, Instant value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(output, value.getEpochSecond());
+            writeVarLong(output, value.getNano());
+        }
+    }
+
+    /**
+     * Reads a nullable instant.
+     * @param input an input to read from.
+     * @return a read instant or null.
+     * @throws IOException if the input can't be read from.
+     */
+    public Instant readNullableInstant(DataInput input) throws IOException {
+        return input.readBoolean() ? Instant.ofEpochSecond(readVarLong(input), readVarLong(input)) : null;
+    }
+
+    /**
+     * Writes the nullable string. Strings in the canonical UUID form are written as 16 bytes.
+     * @param output an output to write to.
+     * @param value a string to write.
+     * @throws IOException if the output can't be written to.
+     */
+    public void writeNullableString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL_STRING);
+            return;
+        }
+        UUID uuid = parseUuid(value);
+        if (uuid != null) {
+            output.writeByte(UUID_STRING);
+            output.writeLong(uuid.getMostSignificantBits());
+            output.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            output.writeByte(UTF_STRING);
+            output.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a nullable string.
+     * @param input an input to read from.
+     * @return a read string or null.
+     * @throws IOException if the input can't be read from or the string is malformed.
+     */
+    public String readNullableString(DataInput input) throws IOException {
+        byte kind = input.readByte();
+        return switch (kind) {
+            case NULL_STRING -> null;
+            case UUID_STRING -> new UUID(input.readLong(), input.readLong()).toString();
+            case UTF_STRING -> input.readUTF();
+            default -> throw new IOException("Unknown string kind: " + kind);
+        };
+    }
+
+    private UUID parseUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.BookingCreationMessage;
+
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The binary codec of {@link BookingCreationMessage}. The room ID has been written since version 2,
+ * messages of version 1 are read without it.
+ * @author allitov
+ */
+@Component
+public class BookingCreationMessageCodec implements KafkaMessageCodec<BookingCreationMessage> {
+
+    @Override
+    public byte getTypeId() {
+        return 2;
+    }
+
+    @Override
+    public Class<BookingCreationMessage> getType() {
+        return BookingCreationMessage.class;
+    }
+
+    @Override
+    public void write(BookingCreationMessage message, DataOutput output) throws IOException {
+        BinaryCodecUtils.writeNullableInt(output, message.getUserId());
+        BinaryCodecUtils.writeNullableDate(output, message.getFrom());
+        BinaryCodecUtils.writeNullableDate(output, message.getTo());
+        BinaryCodecUtils.writeNullableInt(output, message.getRoomId());
+    }
+
+    @Override
+    public BookingCreationMessage read(DataInput input, byte version) throws IOException {
+        BookingCreationMessage message = new BookingCreationMessage();
+        message.setUserId(BinaryCodecUtils.readNullableInt(input));
+        message.setFrom(BinaryCodecUtils.readNullableDate(input));
+        message.setTo(BinaryCodecUtils.readNullableDate(input));
+        if (version >= 2) {
+            message.setRoomId(BinaryCodecUtils.readNullableInt(input));
+        }
+
+        return message;
+    }
+}
@@ -0,0 +1,46 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.KafkaMessage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes fields of a Kafka message type in the compact binary format of {@link KafkaMessageSerializer}.
+ * Fields of {@link KafkaMessage} itself are encoded by the serializer.
+ * @param <T> a type of the messages.
+ * @author allitov
+ */
+public interface KafkaMessageCodec<T extends KafkaMessage> {
+
+    /**
+     * Returns the ID written to the message header to identify the message type.
+     * IDs must be unique and must never be reused for another type.
+     * @return the message type ID.
+     */
+    byte getTypeId();
+
+    /**
+     * Returns the message type.
+     * @return the message type.
+     */
+    Class<T> getType();
+
+    /**
+     * Writes fields of the message type to the output.
+     * @param message a message to write.
+     * @param output an output to write to.
+     * @throws IOException if the output can't be written to.
+     */
+    void write(T message, DataOutput output) throws IOException;
+
+    /**
+     * Creates a message and reads fields of the message type from the input.
+     * @param input an input to read from.
+     * @param version a version of the format the message was written in.
+     * @return a read message.
+     * @throws IOException if the input can't be read from.
+     */
+    T read(DataInput input, byte version) throws IOException;
+}
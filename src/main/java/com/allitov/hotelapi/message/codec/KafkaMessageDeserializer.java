@@ -0,0 +1,88 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.KafkaMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The deserializer of Kafka messages written by {@link KafkaMessageSerializer}.
+ * Messages starting with the magic byte are read in the binary format, other messages are read
+ * by the JSON deserializer, so messages written before the binary format was enabled can still be read.
+ * @author allitov
+ */
+public class KafkaMessageDeserializer implements Deserializer<KafkaMessage> {
+
+    private final Deserializer<KafkaMessage> jsonDeserializer;
+
+    private final Map<Byte, KafkaMessageCodec<?>> codecsByTypeId = new HashMap<>();
+
+    /**
+     * Creates Kafka message deserializer.
+     * @param jsonDeserializer a deserializer to read messages in JSON.
+     * @param codecs codecs of message types that can be read in the binary format.
+     */
+    public KafkaMessageDeserializer(Deserializer<KafkaMessage> jsonDeserializer, List<KafkaMessageCodec<?>> codecs) {
+        this.jsonDeserializer = jsonDeserializer;
+        for (KafkaMessageCodec<?> codec : codecs) {
+            if (codecsByTypeId.put(codec.getTypeId(), codec) != null) {
+                throw new IllegalArgumentException("Duplicate message type ID: " + codec.getTypeId());
+            }
+        }
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public KafkaMessage deserialize(String topic, byte[] data) {
+        return isBinary(data) ? read(data) : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public KafkaMessage deserialize(String topic, Headers headers, byte[] data) {
+        return isBinary(data) ? read(data) : jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == KafkaMessageSerializer.MAGIC;
+    }
+
+    private KafkaMessage read(byte[] data) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+            byte version = input.readByte();
+            if (version < 1 || version > KafkaMessageSerializer.VERSION) {
+                throw new SerializationException("Unsupported message format version: " + version);
+            }
+            byte typeId = input.readByte();
+            KafkaMessageCodec<?> codec = codecsByTypeId.get(typeId);
+            if (codec == null) {
+                throw new SerializationException("Unknown message type ID: " + typeId);
+            }
+            String eventId = BinaryCodecUtils.readNullableString(input);
+            Instant createdAt = BinaryCodecUtils.readNullableInstant(input);
+            KafkaMessage message = codec.read(input, version);
+            message.setEventId(eventId);
+            message.setCreatedAt(createdAt);
+
+            return message;
+        } catch (IOException | ArithmeticException e) {
+            throw new SerializationException("Can't deserialize binary message", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.allitov.hotelapi.message.codec;
+
+/**
+ * Formats Kafka messages are written in.
+ * @author allitov
+ */
+public enum KafkaMessageFormat {
+
+    /**
+     * The JSON format with the message type in record headers.
+     */
+    JSON,
+
+    /**
+     * The compact versioned binary format of {@link KafkaMessageSerializer}.
+     * Messages without a binary codec are written in JSON.
+     */
+    BINARY
+}
@@ -0,0 +1,97 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.KafkaMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The serializer of Kafka messages. In the binary format a message is written as the magic byte,
+ * the format version byte, the message type ID, the event ID, the creation time and fields of the message type.
+ * Messages without a binary codec, and all messages in the JSON format, are written by the JSON serializer.
+ * @author allitov
+ */
+public class KafkaMessageSerializer implements Serializer<KafkaMessage> {
+
+    /**
+     * The first byte of messages in the binary format. JSON messages never start with it.
+     */
+    public static final byte MAGIC = 0;
+
+    /**
+     * The current version of the binary format.
+     */
+    public static final byte VERSION = 2;
+
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    private final Serializer<KafkaMessage> jsonSerializer;
+
+    private final Map<Class<?>, KafkaMessageCodec<?>> codecsByType = new HashMap<>();
+
+    /**
+     * Creates Kafka message serializer.
+     * @param jsonSerializer a serializer to write messages in JSON.
+     * @param codecs codecs of message types that can be written in the binary format.
+     * @param format a format to write messages in.
+     */
+    public KafkaMessageSerializer(Serializer<KafkaMessage> jsonSerializer,
+                                  List<KafkaMessageCodec<?>> codecs, KafkaMessageFormat format) {
+        this.jsonSerializer = jsonSerializer;
+        if (format == KafkaMessageFormat.BINARY) {
+            codecs.forEach(codec -> codecsByType.put(codec.getType(), codec));
+        }
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, KafkaMessage data) {
+        KafkaMessageCodec<KafkaMessage> codec = getCodec(data);
+
+        return codec == null ? jsonSerializer.serialize(topic, data) : write(codec, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, KafkaMessage data) {
+        KafkaMessageCodec<KafkaMessage> codec = getCodec(data);
+
+        return codec == null ? jsonSerializer.serialize(topic, headers, data) : write(codec, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaMessageCodec<KafkaMessage> getCodec(KafkaMessage data) {
+        return data == null ? null : (KafkaMessageCodec<KafkaMessage>) codecsByType.get(data.getClass());
+    }
+
+    private byte[] write(KafkaMessageCodec<KafkaMessage> codec, KafkaMessage data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(MAGIC);
+            output.writeByte(VERSION);
+            output.writeByte(codec.getTypeId());
+            BinaryCodecUtils.writeNullableString(output, data.getEventId());
+            BinaryCodecUtils.writeNullableInstant(output, data.getCreatedAt());
+            codec.write(data, output);
+        } catch (IOException e) {
+            throw new SerializationException("Can't serialize " + data.getClass().getSimpleName(), e);
+        }
+
+        return bytes.toByteArray();
+    }
+}
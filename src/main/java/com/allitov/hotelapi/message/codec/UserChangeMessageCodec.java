@@ -0,0 +1,40 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.UserChangeMessage;
+
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The binary codec of {@link UserChangeMessage}.
+ * @author allitov
+ */
+@Component
+public class UserChangeMessageCodec implements KafkaMessageCodec<UserChangeMessage> {
+
+    @Override
+    public byte getTypeId() {
+        return 3;
+    }
+
+    @Override
+    public Class<UserChangeMessage> getType() {
+        return UserChangeMessage.class;
+    }
+
+    @Override
+    public void write(UserChangeMessage message, DataOutput output) throws IOException {
+        BinaryCodecUtils.writeNullableInt(output, message.getUserId());
+    }
+
+    @Override
+    public UserChangeMessage read(DataInput input, byte version) throws IOException {
+        UserChangeMessage message = new UserChangeMessage();
+        message.setUserId(BinaryCodecUtils.readNullableInt(input));
+
+        return message;
+    }
+}
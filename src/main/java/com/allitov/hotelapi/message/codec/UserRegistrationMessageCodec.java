@@ -0,0 +1,40 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.UserRegistrationMessage;
+
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The binary codec of {@link UserRegistrationMessage}.
+ * @author allitov
+ */
+@Component
+public class UserRegistrationMessageCodec implements KafkaMessageCodec<UserRegistrationMessage> {
+
+    @Override
+    public byte getTypeId() {
+        return 1;
+    }
+
+    @Override
+    public Class<UserRegistrationMessage> getType() {
+        return UserRegistrationMessage.class;
+    }
+
+    @Override
+    public void write(UserRegistrationMessage message, DataOutput output) throws IOException {
+        BinaryCodecUtils.writeNullableInt(output, message.getUserId());
+    }
+
+    @Override
+    public UserRegistrationMessage read(DataInput input, byte version) throws IOException {
+        UserRegistrationMessage message = new UserRegistrationMessage();
+        message.setUserId(BinaryCodecUtils.readNullableInt(input));
+
+        return message;
+    }
+}
@@ -0,0 +1,38 @@
+package com.allitov.hotelapi.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * The class that represents an entity of statistics aggregated by day.
+ * Days are UTC dates the events occurred on.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "dailyStatistics")
+public class DailyStatistics {
+
+    @Id
+    private LocalDate date;
+
+    @Builder.Default
+    private Long bookings = 0L;
+
+    @Builder.Default
+    private Long nightsBooked = 0L;
+
+    @Builder.Default
+    private Long distinctUsers = 0L;
+
+    @Builder.Default
+    private Long registrations = 0L;
+}
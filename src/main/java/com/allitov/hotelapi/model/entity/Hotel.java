@@ -18,7 +18,8 @@ import lombok.experimental.FieldNameConstants;
 public class Hotel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotel_id_seq")
+    @SequenceGenerator(name = "hotel_id_seq", sequenceName = "hotel_id_seq", allocationSize = 50)
     @Column(name = "id")
     @EqualsAndHashCode.Exclude
     private Integer id;
@@ -40,11 +41,15 @@ public class Hotel {
     @EqualsAndHashCode.Exclude
     private Float distanceFromCenter;
 
-    @Column(name = "rating")
+    @Column(name = "rating", updatable = false)
     @EqualsAndHashCode.Exclude
     private Float rating;
 
-    @Column(name = "number_of_ratings")
+    @Column(name = "number_of_ratings", updatable = false)
     @EqualsAndHashCode.Exclude
     private Integer numberOfRatings;
+
+    @Column(name = "rating_sum", updatable = false)
+    @EqualsAndHashCode.Exclude
+    private Long ratingSum;
 }
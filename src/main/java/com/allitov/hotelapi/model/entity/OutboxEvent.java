@@ -0,0 +1,46 @@
+package com.allitov.hotelapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * The class that represents an entity of a Kafka message waiting to be sent.
+ * A message claimed by a relay is being sent until the claim expires.
+ * Messages are relayed in the order of IDs, so IDs are generated by the database on insert
+ * rather than preallocated in blocks by each instance.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    @EqualsAndHashCode.Exclude
+    private Long id;
+
+    @Column(name = "topic")
+    private String topic;
+
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "message_type")
+    private String messageType;
+
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+}
@@ -21,7 +21,8 @@ import java.util.List;
 public class Room {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_id_seq")
+    @SequenceGenerator(name = "room_id_seq", sequenceName = "room_id_seq", allocationSize = 50)
     @Column(name = "id")
     @EqualsAndHashCode.Exclude
     private Integer id;
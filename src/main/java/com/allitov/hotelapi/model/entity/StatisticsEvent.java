@@ -0,0 +1,39 @@
+package com.allitov.hotelapi.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The class that represents an entity of a statistics event received from Kafka.
+ * An event is pending until the daily statistics are incremented by it. A batch claims pending events
+ * before applying them, the claim ID identifies the batch and the claim time lets the claim of a batch
+ * that has failed expire. Events are kept longer than Kafka keeps messages, so a replayed event
+ * is always recognized.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "statisticsEvents")
+public class StatisticsEvent {
+
+    @Id
+    private String id;
+
+    private Boolean applied;
+
+    private String claimId;
+
+    private Instant claimedAt;
+
+    @Indexed(expireAfter = "14d")
+    private Instant receivedAt;
+}
@@ -20,7 +20,8 @@ import java.time.LocalDate;
 public class UnavailableDates {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unavailable_dates_id_seq")
+    @SequenceGenerator(name = "unavailable_dates_id_seq", sequenceName = "unavailable_dates_id_seq", allocationSize = 50)
     @Column(name = "id")
     @EqualsAndHashCode.Exclude
     private Integer id;
@@ -0,0 +1,21 @@
+package com.allitov.hotelapi.model.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * The application event published after dates of a room have been booked and committed.
+ * @author allitov
+ */
+@Value
+public class RoomBookedEvent {
+
+    Integer roomId;
+
+    Integer hotelId;
+
+    LocalDate from;
+
+    LocalDate to;
+}
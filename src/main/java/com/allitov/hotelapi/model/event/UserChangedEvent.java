@@ -0,0 +1,13 @@
+package com.allitov.hotelapi.model.event;
+
+import lombok.Value;
+
+/**
+ * The application event published when a user has been updated or deleted.
+ * @author allitov
+ */
+@Value
+public class UserChangedEvent {
+
+    Integer userId;
+}
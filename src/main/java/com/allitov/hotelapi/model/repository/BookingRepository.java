@@ -2,10 +2,11 @@ package com.allitov.hotelapi.model.repository;
 
 import com.allitov.hotelapi.model.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 /**
  * Provides methods for working with a booking entity table in a database.
  * @author allitov
  */
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, JpaSpecificationExecutor<Booking> {
 }
@@ -0,0 +1,30 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Provides methods for incrementally updating daily statistics in a database in bulk.
+ * @author allitov
+ */
+public interface DailyStatisticsBulkRepository {
+
+    /**
+     * Adds the counters of the specified daily statistics to the persisted ones in a single unordered bulk write.
+     * Statistics of days that haven't been persisted yet are created.
+     * @param increments daily statistics with counters to add.
+     */
+    void incrementAll(Collection<DailyStatistics> increments);
+
+    /**
+     * Records that the users have booked on the specified days in a single unordered bulk write.
+     * A user is recorded with the ID of the event that has recorded the user first on the day,
+     * so recording the same event again counts the user as new again.
+     * @param eventIdsByUserIdByDate IDs of the booking events by the users who have booked, by the day.
+     * @return the number of users recorded for the first time by the specified events, by the day.
+     */
+    Map<LocalDate, Long> addBookingUsers(Map<LocalDate, Map<Integer, String>> eventIdsByUserIdByDate);
+}
@@ -0,0 +1,87 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+import com.mongodb.bulk.BulkWriteUpsert;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * The {@link DailyStatisticsBulkRepository} implementation based on Mongo bulk upserts.
+ * Users that have booked on a day are recorded in the separate collection, one document per user and day,
+ * so the number of distinct users is updated with an increment as well. A user document keeps the ID
+ * of the event that has recorded it, so an event that is applied again counts its users again,
+ * like its other counters.
+ * @author allitov
+ */
+@RequiredArgsConstructor
+public class DailyStatisticsBulkRepositoryImpl implements DailyStatisticsBulkRepository {
+
+    private static final String BOOKING_USERS_COLLECTION = "dailyBookingUsers";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementAll(Collection<DailyStatistics> increments) {
+        BulkOperations bulkOperations =
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyStatistics.class);
+        for (DailyStatistics increment : increments) {
+            bulkOperations.upsert(
+                    Query.query(Criteria.where("date").is(increment.getDate())),
+                    new Update()
+                            .inc("bookings", increment.getBookings())
+                            .inc("nightsBooked", increment.getNightsBooked())
+                            .inc("distinctUsers", increment.getDistinctUsers())
+                            .inc("registrations", increment.getRegistrations()));
+        }
+        bulkOperations.execute();
+    }
+
+    @Override
+    public Map<LocalDate, Long> addBookingUsers(Map<LocalDate, Map<Integer, String>> eventIdsByUserIdByDate) {
+        BulkOperations bulkOperations =
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BOOKING_USERS_COLLECTION);
+        List<String> ids = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
+        Set<String> eventIds = new HashSet<>();
+        eventIdsByUserIdByDate.forEach((date, eventIdsByUserId) -> eventIdsByUserId.forEach((userId, eventId) -> {
+            String id = date + ":" + userId;
+            bulkOperations.upsert(
+                    Query.query(Criteria.where("_id").is(id)),
+                    new Update()
+                            .setOnInsert("date", date)
+                            .setOnInsert("userId", userId)
+                            .setOnInsert("eventId", eventId));
+            ids.add(id);
+            dates.add(date);
+            eventIds.add(eventId);
+        }));
+
+        Map<LocalDate, Long> newUsersByDate = new HashMap<>();
+        Map<String, LocalDate> matchedDatesById = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            matchedDatesById.put(ids.get(i), dates.get(i));
+        }
+        for (BulkWriteUpsert upsert : bulkOperations.execute().getUpserts()) {
+            newUsersByDate.merge(dates.get(upsert.getIndex()), 1L, Long::sum);
+            matchedDatesById.remove(ids.get(upsert.getIndex()));
+        }
+        if (!matchedDatesById.isEmpty()) {
+            Query recordedByEvents = Query.query(Criteria.where("_id").in(matchedDatesById.keySet())
+                    .and("eventId").in(eventIds));
+            recordedByEvents.fields().include("_id");
+            for (Document document : mongoTemplate.find(recordedByEvents, Document.class, BOOKING_USERS_COLLECTION)) {
+                newUsersByDate.merge(matchedDatesById.get(document.getString("_id")), 1L, Long::sum);
+            }
+        }
+
+        return newUsersByDate;
+    }
+}
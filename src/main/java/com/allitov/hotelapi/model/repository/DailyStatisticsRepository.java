@@ -0,0 +1,25 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Provides methods for working with a daily statistics entity in a database.
+ * @author allitov
+ */
+public interface DailyStatisticsRepository
+        extends MongoRepository<DailyStatistics, LocalDate>, DailyStatisticsBulkRepository {
+
+    /**
+     * Returns daily statistics of days in the specified period sorted by day.
+     * @param from the first day of the period.
+     * @param to the last day of the period.
+     * @return a list of daily statistics found by period.
+     */
+    @Query(value = "{ '_id': { $gte: ?0, $lte: ?1 } }", sort = "{ '_id': 1 }")
+    List<DailyStatistics> findAllByPeriod(LocalDate from, LocalDate to);
+}
@@ -3,10 +3,50 @@ package com.allitov.hotelapi.model.repository;
 import com.allitov.hotelapi.model.entity.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * Provides methods for working with a hotel entity table in a database.
  * @author allitov
  */
 public interface HotelRepository extends JpaRepository<Hotel, Integer>, JpaSpecificationExecutor<Hotel> {
+
+    /**
+     * Adds the mark to the rating of the hotel with a single atomic update.
+     * The rating is recalculated from the sum of marks and the number of ratings in the same statement,
+     * so concurrent marks never overwrite each other.
+     * @param id an ID of the hotel to rate.
+     * @param mark a mark to add.
+     * @return the number of updated hotels, 0 if the hotel with the specified ID doesn't exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE hotel SET " +
+            "rating_sum = rating_sum + :mark, " +
+            "number_of_ratings = number_of_ratings + 1, " +
+            "rating = ROUND(CAST(rating_sum + :mark AS NUMERIC) / (number_of_ratings + 1), 1) " +
+            "WHERE id = :id", nativeQuery = true)
+    int addMarkById(@Param("id") Integer id, @Param("mark") int mark);
+
+    /**
+     * Returns IDs of hotels that match the full-text query, found with the GIN index of the search vector.
+     * Hotels are ranked by the weights of the fields the query was found in, hotels that also match
+     * the whole-word query rank higher, hotels with equal rank are sorted by ID.
+     * @param query a full-text query every hotel must match.
+     * @param wholeWordQuery a full-text query of whole words that raises the rank.
+     * @param limit a maximum number of IDs to return.
+     * @return a list of ranked hotel IDs.
+     */
+    @Query(value = "SELECT id FROM hotel " +
+            "WHERE search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('simple', :query)) " +
+            "+ ts_rank(search_vector, to_tsquery('simple', :wholeWordQuery)) DESC, id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Integer> findIdsByText(@Param("query") String query, @Param("wholeWordQuery") String wholeWordQuery,
+                                @Param("limit") int limit);
 }
@@ -0,0 +1,63 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Provides methods for working with an outbox event entity table in a database.
+ * @author allitov
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Tries to take the relay lock until the end of the current transaction.
+     * The lock is a PostgreSQL advisory lock, so relays of all instances claim events one at a time.
+     * @return true if the lock has been taken.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('outbox_event_relay'))", nativeQuery = true)
+    boolean tryLockRelay();
+
+    /**
+     * Returns whether any outbox event is claimed by a relay and its claim hasn't expired yet.
+     * @return true if there are claimed outbox events.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM outbox_event WHERE claimed_until > now())", nativeQuery = true)
+    boolean existsClaimed();
+
+    /**
+     * Returns the oldest outbox events.
+     * @param limit a maximum number of events to return.
+     * @return a list of outbox events sorted by ID.
+     */
+    @Query(value = "SELECT * FROM outbox_event ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findOldest(@Param("limit") int limit);
+
+    /**
+     * Claims the outbox events with the specified IDs for the specified number of seconds.
+     * @param ids IDs of the events to claim.
+     * @param leaseSeconds a number of seconds the claim lasts.
+     * @return the number of claimed events.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE outbox_event SET claimed_until = now() + make_interval(secs => :leaseSeconds) " +
+            "WHERE id IN (:ids)", nativeQuery = true)
+    int claimAllById(@Param("ids") Collection<Long> ids, @Param("leaseSeconds") double leaseSeconds);
+
+    /**
+     * Releases the claim of the outbox events with the specified IDs, so they can be claimed again.
+     * @param ids IDs of the events to release.
+     * @return the number of released events.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE outbox_event SET claimed_until = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int releaseAllById(@Param("ids") Collection<Long> ids);
+}
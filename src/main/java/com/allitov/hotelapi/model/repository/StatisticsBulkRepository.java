@@ -0,0 +1,21 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.BookingStatistics;
+
+import java.util.List;
+
+/**
+ * Provides methods for writing booking statistics to a database in bulk.
+ * @author allitov
+ */
+public interface StatisticsBulkRepository {
+
+    /**
+     * Inserts booking statistics in a single unordered bulk write.
+     * A failed document doesn't prevent the rest of the documents from being inserted.
+     * Documents with IDs that already exist are skipped, so inserting the same statistics again is a no-op.
+     * @param statistics booking statistics to insert.
+     * @return the number of inserted documents.
+     */
+    int insertUnordered(List<BookingStatistics> statistics);
+}
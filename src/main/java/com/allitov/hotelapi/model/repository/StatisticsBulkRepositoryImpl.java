@@ -0,0 +1,36 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.BookingStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+/**
+ * The {@link StatisticsBulkRepository} implementation based on Mongo bulk operations.
+ * @author allitov
+ */
+@RequiredArgsConstructor
+public class StatisticsBulkRepositoryImpl implements StatisticsBulkRepository {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public int insertUnordered(List<BookingStatistics> statistics) {
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingStatistics.class)
+                    .insert(statistics)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_ERROR_CODE)) {
+                return e.getResult().getInsertedCount();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.allitov.hotelapi.model.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Provides methods for tracking statistics events in a database in bulk.
+ * @author allitov
+ */
+public interface StatisticsEventBulkRepository {
+
+    /**
+     * Records the events as pending in a single unordered bulk upsert. Events that have already been recorded
+     * are left as they are.
+     * @param eventIds IDs of the events to record.
+     */
+    void insertPending(Collection<String> eventIds);
+
+    /**
+     * Claims the pending events for applying. An event is claimed by a conditional update if it is pending
+     * and isn't claimed or its claim has expired, so an event is claimed by one batch at a time,
+     * even by concurrent or redelivered batches. A claim expires after the lease unless it is released
+     * or the events are marked as applied.
+     * @param eventIds IDs of the events to claim.
+     * @param claimId an ID of the claim.
+     * @param lease a time after which the claim expires.
+     * @return IDs of the events claimed by this call.
+     */
+    List<String> claimPending(Collection<String> eventIds, String claimId, Duration lease);
+
+    /**
+     * Marks the events of the claim as applied.
+     * @param claimId an ID of the claim.
+     */
+    void markApplied(String claimId);
+
+    /**
+     * Releases the claim, so its events can be claimed again at once.
+     * @param claimId an ID of the claim.
+     */
+    void releaseClaim(String claimId);
+}
@@ -0,0 +1,77 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.StatisticsEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@link StatisticsEventBulkRepository} implementation based on Mongo bulk upserts.
+ * @author allitov
+ */
+@RequiredArgsConstructor
+public class StatisticsEventBulkRepositoryImpl implements StatisticsEventBulkRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void insertPending(Collection<String> eventIds) {
+        Instant now = Instant.now();
+        BulkOperations bulkOperations =
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatisticsEvent.class);
+        for (String eventId : eventIds) {
+            bulkOperations.upsert(
+                    Query.query(Criteria.where("id").is(eventId)),
+                    new Update()
+                            .setOnInsert("applied", false)
+                            .setOnInsert("receivedAt", now));
+        }
+        bulkOperations.execute();
+    }
+
+    @Override
+    public List<String> claimPending(Collection<String> eventIds, String claimId, Duration lease) {
+        Instant now = Instant.now();
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("id").in(eventIds).and("applied").is(false).orOperator(
+                        Criteria.where("claimedAt").is(null),
+                        Criteria.where("claimedAt").lt(now.minus(lease)))),
+                new Update()
+                        .set("claimId", claimId)
+                        .set("claimedAt", now),
+                StatisticsEvent.class);
+
+        return mongoTemplate.find(
+                        Query.query(Criteria.where("id").in(eventIds).and("claimId").is(claimId)),
+                        StatisticsEvent.class)
+                .stream()
+                .map(StatisticsEvent::getId)
+                .toList();
+    }
+
+    @Override
+    public void markApplied(String claimId) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("claimId").is(claimId)),
+                new Update().set("applied", true),
+                StatisticsEvent.class);
+    }
+
+    @Override
+    public void releaseClaim(String claimId) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("claimId").is(claimId).and("applied").is(false)),
+                new Update()
+                        .unset("claimId")
+                        .unset("claimedAt"),
+                StatisticsEvent.class);
+    }
+}
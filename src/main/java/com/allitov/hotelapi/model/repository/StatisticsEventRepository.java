@@ -0,0 +1,21 @@
+package com.allitov.hotelapi.model.repository;
+
+import com.allitov.hotelapi.model.entity.StatisticsEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+
+/**
+ * Provides methods for working with a statistics event entity in a database.
+ * @author allitov
+ */
+public interface StatisticsEventRepository
+        extends MongoRepository<StatisticsEvent, String>, StatisticsEventBulkRepository {
+
+    /**
+     * Checks if any of the events with the specified IDs hasn't been applied yet.
+     * @param eventIds IDs of the events to check.
+     * @return <i>true</i> if any of the events is pending, <i>false</i> otherwise.
+     */
+    boolean existsByIdInAndAppliedFalse(Collection<String> eventIds);
+}
@@ -1,11 +1,23 @@
 package com.allitov.hotelapi.model.repository;
 
 import com.allitov.hotelapi.model.entity.BookingStatistics;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.stream.Stream;
+
 /**
  * Provides methods for working with a booking statistics entity in a database.
  * @author allitov
  */
-public interface StatisticsRepository extends MongoRepository<BookingStatistics, String> {
+public interface StatisticsRepository
+        extends MongoRepository<BookingStatistics, String>, StatisticsBulkRepository {
+
+    /**
+     * Returns a stream of all booking statistics backed by a database cursor.
+     * Documents are fetched in batches as the stream is consumed, so the stream must be closed after use.
+     * @return a stream of all booking statistics.
+     */
+    @Meta(cursorBatchSize = 1000)
+    Stream<BookingStatistics> streamAllBy();
 }
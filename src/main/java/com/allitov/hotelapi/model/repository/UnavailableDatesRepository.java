@@ -3,9 +3,37 @@ package com.allitov.hotelapi.model.repository;
 import com.allitov.hotelapi.model.entity.UnavailableDates;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Provides methods for working with an unavailable dates entity table in a database.
  * @author allitov
  */
 public interface UnavailableDatesRepository extends JpaRepository<UnavailableDates, Integer> {
+
+    /**
+     * Returns a list of unavailable dates of the room with the specified ID that end on or after
+     * the specified date, sorted by the first day.
+     * @param roomId an ID of the room by which to find unavailable dates.
+     * @param date a date by which to find unavailable dates.
+     * @return a list of unavailable dates of the room that end on or after the date.
+     */
+    List<UnavailableDates> findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Integer roomId, LocalDate date);
+
+    /**
+     * Checks if the room with the specified ID has unavailable dates that overlap the specified period.
+     * @param roomId an ID of the room to check.
+     * @param to the last day of the period, inclusive.
+     * @param from the first day of the period, inclusive.
+     * @return <i>true</i> if any unavailable dates of the room overlap the period, <i>false</i> otherwise.
+     */
+    boolean existsByRoomIdAndFromLessThanEqualAndToGreaterThanEqual(Integer roomId, LocalDate to, LocalDate from);
+
+    /**
+     * Returns a list of unavailable dates that end on or after the specified date.
+     * @param date a date by which to find unavailable dates.
+     * @return a list of unavailable dates that end on or after the date.
+     */
+    List<UnavailableDates> findAllByToGreaterThanEqual(LocalDate date);
 }
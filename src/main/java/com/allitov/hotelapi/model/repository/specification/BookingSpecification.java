@@ -0,0 +1,35 @@
+package com.allitov.hotelapi.model.repository.specification;
+
+import com.allitov.hotelapi.model.entity.Booking;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.BookingFilter;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The specification class for the booking repository.
+ * @author allitov
+ */
+@UtilityClass
+public class BookingSpecification {
+
+    /**
+     * Returns specification for filtering booking entities.
+     * @param filter a filter by which the specification is built.
+     * @return a specification for filtering booking entities.
+     */
+    public Specification<Booking> withFilter(BookingFilter filter) {
+        return Specification
+                .where(byIdAfter(CursorUtils.decode(filter.getAfter())));
+    }
+
+    private Specification<Booking> byIdAfter(Integer id) {
+        return (root, query, builder) -> {
+            if (id == null) {
+                return null;
+            }
+
+            return builder.greaterThan(root.get(Booking.Fields.id), id);
+        };
+    }
+}
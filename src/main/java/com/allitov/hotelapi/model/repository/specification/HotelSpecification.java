@@ -1,6 +1,7 @@
 package com.allitov.hotelapi.model.repository.specification;
 
 import com.allitov.hotelapi.model.entity.Hotel;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
 import com.allitov.hotelapi.web.dto.filter.HotelFilter;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.jpa.domain.Specification;
@@ -20,6 +21,23 @@ public class HotelSpecification {
      * @return a specification for filtering hotel entities.
      */
     public Specification<Hotel> withFilter(HotelFilter filter) {
+        return withoutCursor(filter)
+                .and(byIdAfter(CursorUtils.decode(filter.getAfter())));
+    }
+
+    /**
+     * Returns specification for filtering hotel entities among the hotels matched by the text search.
+     * The cursor isn't applied, since matched hotels are ordered by rank instead of ID.
+     * @param filter a filter by which the specification is built.
+     * @param matchedIds IDs of hotels matched by the text search.
+     * @return a specification for filtering hotel entities.
+     */
+    public Specification<Hotel> withFilter(HotelFilter filter, Collection<Integer> matchedIds) {
+        return withoutCursor(filter)
+                .and(byIdsIn(matchedIds));
+    }
+
+    private Specification<Hotel> withoutCursor(HotelFilter filter) {
         return Specification
                 .where(byIdsIn(filter.getId()))
                 .and(byName(filter.getName()))
@@ -31,6 +49,16 @@ public class HotelSpecification {
                 .and(byNumberOfRatings(filter.getNumberOfRatings()));
     }
 
+    private Specification<Hotel> byIdAfter(Integer id) {
+        return (root, query, builder) -> {
+            if (id == null) {
+                return null;
+            }
+
+            return builder.greaterThan(root.get(Hotel.Fields.id), id);
+        };
+    }
+
     private Specification<Hotel> byIdsIn(Collection<Integer> ids) {
         return (root, query, builder) -> {
             if (ids == null) {
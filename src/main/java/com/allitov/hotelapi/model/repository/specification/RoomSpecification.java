@@ -2,9 +2,10 @@ package com.allitov.hotelapi.model.repository.specification;
 
 import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.entity.Room;
-import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
 import com.allitov.hotelapi.web.dto.filter.RoomFilter;
 import lombok.experimental.UtilityClass;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
@@ -19,20 +20,50 @@ import java.util.Collection;
 public class RoomSpecification {
 
     /**
-     * Returns specification for filtering room entities.
+     * Returns specification for filtering room entities. Rooms booked on the filter dates are excluded
+     * by the overlap of their unavailable periods, see {@link UnavailableDatesFunctionContributor}.
      * @param filter a filter by which the specification is built.
      * @return a specification for filtering room entities.
      */
     public Specification<Room> withFilter(RoomFilter filter) {
+        return withoutDates(filter)
+                .and(byDate(filter.getFrom(), filter.getTo()));
+    }
+
+    /**
+     * Returns specification for filtering room entities with already known IDs of rooms
+     * that are booked on the filter dates. Such rooms are excluded by ID instead of
+     * searching the unavailable dates. Every ID is a bind parameter of the NOT IN list,
+     * so only short lists should be passed, longer ones are better searched by dates.
+     * @param filter a filter by which the specification is built.
+     * @param bookedRoomIds IDs of rooms booked on the filter dates.
+     * @return a specification for filtering room entities.
+     */
+    public Specification<Room> withFilter(RoomFilter filter, Collection<Integer> bookedRoomIds) {
+        return withoutDates(filter)
+                .and(byIdsNotIn(bookedRoomIds));
+    }
+
+    private Specification<Room> withoutDates(RoomFilter filter) {
         return Specification
-                .where(byIdsIn(filter.getId()))
+                .where(byIdAfter(CursorUtils.decode(filter.getAfter())))
+                .and(byIdsIn(filter.getId()))
                 .and(byDescription(filter.getDescription()))
                 .and(byPrice(filter.getMinPrice(), filter.getMaxPrice()))
                 .and(byMaxPeople(filter.getMaxPeople()))
-                .and(byDate(filter.getFrom(), filter.getTo()))
                 .and(byHotelId(filter.getHotelId()));
     }
 
+    private Specification<Room> byIdAfter(Integer id) {
+        return (root, query, builder) -> {
+            if (id == null) {
+                return null;
+            }
+
+            return builder.greaterThan(root.get(Room.Fields.id), id);
+        };
+    }
+
     private Specification<Room> byIdsIn(Collection<Integer> ids) {
         return (root, query, builder) -> {
             if (ids == null) {
@@ -43,6 +74,16 @@ public class RoomSpecification {
         };
     }
 
+    private Specification<Room> byIdsNotIn(Collection<Integer> ids) {
+        return (root, query, builder) -> {
+            if (ids == null || ids.isEmpty()) {
+                return null;
+            }
+
+            return builder.not(root.get(Room.Fields.id).in(ids));
+        };
+    }
+
     private Specification<Room> byDescription(String description) {
         return (root, query, builder) -> {
             if (description == null) {
@@ -85,17 +126,10 @@ public class RoomSpecification {
                 return null;
             }
 
-            var start = builder.lessThanOrEqualTo(
-                    root.get(Room.Fields.unavailableDates).get(UnavailableDates.Fields.from), to);
-            var end = builder.greaterThanOrEqualTo(
-                    root.get(Room.Fields.unavailableDates).get(UnavailableDates.Fields.to), from);
-            var overlaps = builder.and(start, end);
-
-            var subquery = query.subquery(Integer.class);
-            var join = subquery.from(UnavailableDates.class).join(UnavailableDates.Fields.room);
-            subquery.select(join.get(Room.Fields.id)).where(overlaps).distinct(true);
+            HibernateCriteriaBuilder hibernateBuilder = (HibernateCriteriaBuilder) builder;
 
-            return builder.not(root.get(Room.Fields.id).in(subquery.getSelection()));
+            return builder.isFalse(builder.function(UnavailableDatesFunctionContributor.ROOM_UNAVAILABLE_BETWEEN,
+                    Boolean.class, root.get(Room.Fields.id), hibernateBuilder.value(from), hibernateBuilder.value(to)));
         };
     }
 
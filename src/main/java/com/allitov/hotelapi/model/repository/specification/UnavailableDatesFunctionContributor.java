@@ -0,0 +1,30 @@
+package com.allitov.hotelapi.model.repository.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * The contributor of the query functions that search unavailable dates by their period column.
+ * The generated period column isn't mapped, so such searches are rendered as SQL fragments
+ * that use the GiST indexes of the column.
+ * @author allitov
+ */
+public class UnavailableDatesFunctionContributor implements FunctionContributor {
+
+    /**
+     * The name of the function that checks if the room with the ID of the first argument is unavailable
+     * on any day from the second argument to the third argument, both inclusive.
+     */
+    public static final String ROOM_UNAVAILABLE_BETWEEN = "room_unavailable_between";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                ROOM_UNAVAILABLE_BETWEEN,
+                "exists(select 1 from unavailable_dates ud where ud.room_id = ?1 "
+                        + "and ud.period && daterange(?2, ?3, '[]'))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -30,4 +30,12 @@ public interface BookingService {
      * @return a created booking entity.
      */
     Booking create(Booking booking);
+
+    /**
+     * Creates bookings from the specified list of booking data and returns them.
+     * Either all bookings are created or none of them.
+     * @param bookings a list of booking data to save.
+     * @return a list of created booking entities.
+     */
+    List<Booking> createAll(List<Booking> bookings);
 }
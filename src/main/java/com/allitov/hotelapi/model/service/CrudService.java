@@ -1,5 +1,6 @@
 package com.allitov.hotelapi.model.service;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,14 @@ public interface CrudService<T, ID> {
      */
     T findById(ID id);
 
+    /**
+     * Returns a list of entities found by IDs.
+     * @param ids IDs by which to find the entities.
+     * @return a list of entities found by IDs.
+     * @throws jakarta.persistence.EntityNotFoundException if any of the entities with the specified IDs was not found.
+     */
+    List<T> findAllById(Collection<ID> ids);
+
     /**
      * Creates an entity from the specified object and returns it.
      * @param object an entity to save.
@@ -18,6 +18,14 @@ public interface HotelService extends CrudService<Hotel, Integer> {
      */
     List<Hotel> filterBy(HotelFilter filter);
 
+    /**
+     * Creates hotels from the specified list of hotel data and returns them.
+     * Either all hotels are created or none of them.
+     * @param hotels a list of hotel data to save.
+     * @return a list of created hotel entities.
+     */
+    List<Hotel> createAll(List<Hotel> hotels);
+
     /**
      * Updates rating of the specified hotel entity.
      * @param id an id by which to find the hotel entity.
@@ -17,4 +17,12 @@ public interface RoomService extends CrudService<Room, Integer> {
      * @return a list of found room entities.
      */
     List<Room> filterBy(RoomFilter filter);
+
+    /**
+     * Creates rooms from the specified list of room data and returns them.
+     * Either all rooms are created or none of them.
+     * @param rooms a list of room data to save.
+     * @return a list of created room entities.
+     */
+    List<Room> createAll(List<Room> rooms);
 }
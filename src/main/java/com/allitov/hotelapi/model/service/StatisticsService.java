@@ -1,5 +1,12 @@
 package com.allitov.hotelapi.model.service;
 
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Provides methods to manipulate with the application statistics.
  * @param <T> a type to represent a statistics data.
@@ -8,14 +15,24 @@ package com.allitov.hotelapi.model.service;
 public interface StatisticsService<T> {
 
     /**
-     * Persists statistics.
+     * Persists a batch of statistics.
      * @param data a data to persist.
      */
-    void addData(T data);
+    void addAllData(List<T> data);
+
+    /**
+     * Writes all persisted statistics as a file to the output stream.
+     * The output stream is flushed but not closed.
+     * @param outputStream an output stream to write the file to.
+     * @throws IOException if the file can't be written to the output stream.
+     */
+    void writeData(OutputStream outputStream) throws IOException;
 
     /**
-     * Returns all persisted statistics as a file.
-     * @return a file with persisted data.
+     * Returns statistics of every day in the specified period.
+     * @param from the first day of the period.
+     * @param to the last day of the period.
+     * @return a list of statistics of every day in the period sorted by day.
      */
-    byte[] getData();
+    List<DailyStatistics> getDailyStatistics(LocalDate from, LocalDate to);
 }
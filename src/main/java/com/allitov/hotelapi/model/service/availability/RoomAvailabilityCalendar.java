@@ -0,0 +1,165 @@
+package com.allitov.hotelapi.model.service.availability;
+
+import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.event.RoomBookedEvent;
+import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The in-memory calendar of booked rooms. Keeps a bitmap of booked room IDs for every day
+ * from today to the end of the horizon, so rooms booked on any day of a period are found
+ * by OR-ing the bitmaps of the period days instead of scanning all unavailable dates.
+ * The calendar is rebuilt from the database periodically and kept up to date with {@link RoomBookedEvent}.
+ * <p>
+ * The calendar is kept in memory of every instance, and events are published only on the instance
+ * that has booked the room. Rooms booked on other instances therefore appear at the next rebuild,
+ * and until then a search on this instance may list them. Booking such a room is still rejected
+ * by the database, which excludes overlapping unavailable dates.
+ * @author allitov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityCalendar {
+
+    private final UnavailableDatesRepository unavailableDatesRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${app.availability.calendar.horizon-days}")
+    private int horizonDays;
+
+    private long firstDay;
+
+    private BitSet[] bookedRoomsByDay;
+
+    private List<RoomBookedEvent> eventsDuringRebuild;
+
+    /**
+     * Returns IDs of rooms that are booked on any day of the specified period.
+     * @param from the first day of the period, inclusive.
+     * @param to the last day of the period, inclusive.
+     * @return an optional of booked room IDs or an empty optional if the calendar isn't loaded yet
+     * or the period is out of the calendar horizon.
+     */
+    public Optional<BitSet> findBookedRoomIds(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            if (bookedRoomsByDay == null) {
+                return Optional.empty();
+            }
+            long first = from.toEpochDay() - firstDay;
+            long last = to.toEpochDay() - firstDay;
+            if (first < 0 || last >= bookedRoomsByDay.length || first > last) {
+                return Optional.empty();
+            }
+
+            BitSet bookedRoomIds = new BitSet();
+            for (int day = (int) first; day <= last; day++) {
+                if (bookedRoomsByDay[day] != null) {
+                    bookedRoomIds.or(bookedRoomsByDay[day]);
+                }
+            }
+
+            return Optional.of(bookedRoomIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the booked room on every day of the booked period.
+     * Runs before other listeners, so caches invalidated by the event aren't refilled from the stale calendar.
+     * @param event an event with the booked room and period.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRoomBooked(RoomBookedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (eventsDuringRebuild != null) {
+                eventsDuringRebuild.add(event);
+            }
+            if (bookedRoomsByDay != null) {
+                mark(bookedRoomsByDay, firstDay, event.getRoomId(), event.getFrom(), event.getTo());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads the calendar from the database starting from today.
+     */
+    @Scheduled(fixedDelayString = "${app.availability.calendar.refresh-interval}")
+    public void rebuild() {
+        rebuild(LocalDate.now());
+    }
+
+    void rebuild(LocalDate today) {
+        lock.writeLock().lock();
+        try {
+            eventsDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long newFirstDay = today.toEpochDay();
+        BitSet[] newBookedRoomsByDay = new BitSet[horizonDays];
+        try {
+            for (UnavailableDates dates : unavailableDatesRepository.findAllByToGreaterThanEqual(today)) {
+                mark(newBookedRoomsByDay, newFirstDay, dates.getRoom().getId(), dates.getFrom(), dates.getTo());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild room availability calendar: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                eventsDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (RoomBookedEvent event : eventsDuringRebuild) {
+                mark(newBookedRoomsByDay, newFirstDay, event.getRoomId(), event.getFrom(), event.getTo());
+            }
+            firstDay = newFirstDay;
+            bookedRoomsByDay = newBookedRoomsByDay;
+            eventsDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void mark(BitSet[] days, long firstDay, Integer roomId, LocalDate from, LocalDate to) {
+        long first = Math.max(from.toEpochDay() - firstDay, 0);
+        long last = Math.min(to.toEpochDay() - firstDay, days.length - 1);
+        if (first > last) {
+            return;
+        }
+        for (int day = (int) first; day <= last; day++) {
+            if (days[day] == null) {
+                days[day] = new BitSet();
+            }
+            days[day].set(roomId);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.allitov.hotelapi.model.service.availability;
+
+import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The in-memory index of room unavailable dates. Keeps the unavailable dates of recently checked rooms
+ * as sorted arrays of epoch days, so that the overlap check takes O(log n) time.
+ * The number of indexed rooms is bounded, the least recently used rooms are evicted first.
+ * Only dates that end on or after the day of loading are indexed, periods that start before it
+ * are checked in the database.
+ * Dates of a room are loaded from the database on the first access and must be kept up to date
+ * with {@link #add(Integer, LocalDate, LocalDate)}. Dates are loaded outside of cache locks, so checks
+ * and additions of the same room must be serialized by the caller, as the booking service does with room locks.
+ * @author allitov
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private final UnavailableDatesRepository unavailableDatesRepository;
+
+    private final Cache<Integer, DateIntervals> intervalsByRoomId;
+
+    /**
+     * Creates room availability index.
+     * @param unavailableDatesRepository the repository to load unavailable dates from.
+     * @param maximumSize the maximum number of indexed rooms.
+     */
+    public RoomAvailabilityIndex(UnavailableDatesRepository unavailableDatesRepository,
+                                 @Value("${app.availability.index.maximum-size}") long maximumSize) {
+        this.unavailableDatesRepository = unavailableDatesRepository;
+        this.intervalsByRoomId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Checks if the room with the specified ID is available for the whole specified period.
+     * @param roomId an ID of the room to check.
+     * @param from the first day of the period, inclusive.
+     * @param to the last day of the period, inclusive.
+     * @return <i>true</i> if the period doesn't overlap any unavailable dates of the room, <i>false</i> otherwise.
+     */
+    public boolean isAvailable(Integer roomId, LocalDate from, LocalDate to) {
+        DateIntervals intervals = intervalsByRoomId.getIfPresent(roomId);
+        if (intervals == null) {
+            DateIntervals loadedIntervals = load(roomId);
+            intervals = intervalsByRoomId.asMap().putIfAbsent(roomId, loadedIntervals);
+            if (intervals == null) {
+                intervals = loadedIntervals;
+            }
+        }
+        if (from.toEpochDay() < intervals.since) {
+            return !unavailableDatesRepository.existsByRoomIdAndFromLessThanEqualAndToGreaterThanEqual(
+                    roomId, to, from);
+        }
+
+        return !intervals.overlaps(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Adds unavailable dates to the room with the specified ID.
+     * Does nothing if dates of the room haven't been loaded yet, since they will be loaded on the first access.
+     * @param roomId an ID of the room to add unavailable dates to.
+     * @param from the first unavailable day, inclusive.
+     * @param to the last unavailable day, inclusive.
+     */
+    public void add(Integer roomId, LocalDate from, LocalDate to) {
+        intervalsByRoomId.asMap().computeIfPresent(roomId,
+                (id, intervals) -> intervals.with(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    /**
+     * Removes dates of the room with the specified ID from the index.
+     * @param roomId an ID of the room to remove.
+     */
+    public void evict(Integer roomId) {
+        intervalsByRoomId.invalidate(roomId);
+    }
+
+    private DateIntervals load(Integer roomId) {
+        LocalDate today = LocalDate.now();
+        List<UnavailableDates> unavailableDates =
+                unavailableDatesRepository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(roomId, today);
+
+        int size = unavailableDates.size();
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = unavailableDates.get(i).getFrom().toEpochDay();
+            ends[i] = unavailableDates.get(i).getTo().toEpochDay();
+        }
+
+        return new DateIntervals(today.toEpochDay(), starts, ends);
+    }
+
+    /**
+     * The immutable set of date intervals sorted by start day, that contains every interval
+     * ending on or after the since day.
+     * Keeps the running maximum of end days, so that overlapping intervals are handled too.
+     */
+    private static final class DateIntervals {
+
+        private final long since;
+
+        private final long[] starts;
+
+        private final long[] ends;
+
+        private final long[] maxEnds;
+
+        private DateIntervals(long since, long[] starts, long[] ends) {
+            this.since = since;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            for (int i = 0; i < ends.length; i++) {
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+        }
+
+        private boolean overlaps(long from, long to) {
+            int last = lastStartNotAfter(to);
+
+            return last >= 0 && maxEnds[last] >= from;
+        }
+
+        private DateIntervals with(long from, long to) {
+            int position = lastStartNotAfter(from) + 1;
+
+            long[] newStarts = new long[starts.length + 1];
+            long[] newEnds = new long[ends.length + 1];
+            System.arraycopy(starts, 0, newStarts, 0, position);
+            System.arraycopy(ends, 0, newEnds, 0, position);
+            newStarts[position] = from;
+            newEnds[position] = to;
+            System.arraycopy(starts, position, newStarts, position + 1, starts.length - position);
+            System.arraycopy(ends, position, newEnds, position + 1, ends.length - position);
+
+            return new DateIntervals(since, newStarts, newEnds);
+        }
+
+        private int lastStartNotAfter(long day) {
+            int index = Arrays.binarySearch(starts, day);
+            if (index < 0) {
+                return -index - 2;
+            }
+            while (index + 1 < starts.length && starts[index + 1] == day) {
+                index++;
+            }
+
+            return index;
+        }
+    }
+}
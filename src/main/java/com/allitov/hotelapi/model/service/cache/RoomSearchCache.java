@@ -0,0 +1,132 @@
+package com.allitov.hotelapi.model.service.cache;
+
+import com.allitov.hotelapi.datasource.ReadReplicaRoutingDataSource;
+import com.allitov.hotelapi.model.entity.Room;
+import com.allitov.hotelapi.model.event.RoomBookedEvent;
+import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The bounded cache of room search results keyed by the normalized filter.
+ * Entries are evicted by size and age, and invalidated as soon as a room of the hotel they may contain
+ * is booked on the filter dates, created, updated or deleted.
+ * @author allitov
+ */
+@Component
+public class RoomSearchCache {
+
+    private final Cache<Key, List<Room>> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates room search cache.
+     * @param maximumSize the maximum number of cached filters.
+     * @param expireAfterWrite the time after which a cached result expires.
+     */
+    public RoomSearchCache(@Value("${app.room-search.cache.maximum-size}") long maximumSize,
+                           @Value("${app.room-search.cache.expire-after-write}") Duration expireAfterWrite) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Returns cached rooms that match the filter or loads and caches them.
+     * Rooms loaded while any entry was invalidated aren't kept, since they may already be stale.
+     * Rooms are loaded from the primary database, since a replica that hasn't received a change yet
+     * would return rooms that stay cached after the invalidation.
+     * @param filter a filter to search for rooms.
+     * @param loader a loader to search for rooms if they aren't cached.
+     * @return an unmodifiable list of found rooms.
+     */
+    public List<Room> get(RoomFilter filter, Supplier<List<Room>> loader) {
+        Key key = Key.of(filter);
+        List<Room> rooms = cache.getIfPresent(key);
+        if (rooms != null) {
+            return rooms;
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+        rooms = List.copyOf(ReadReplicaRoutingDataSource.readFromPrimary(loader));
+        cache.put(key, rooms);
+        if (invalidations.get() != invalidationsBeforeLoad) {
+            cache.invalidate(key);
+        }
+
+        return rooms;
+    }
+
+    /**
+     * Invalidates results of searches by dates overlapping the booked dates
+     * that may contain rooms of the booked room hotel.
+     * @param event an event with the booked room and period.
+     */
+    @EventListener
+    public void onRoomBooked(RoomBookedEvent event) {
+        invalidateIf(key -> key.mayContainHotel(event.getHotelId())
+                && key.overlaps(event.getFrom(), event.getTo()));
+    }
+
+    /**
+     * Invalidates results of searches that may contain rooms of the specified hotel.
+     * @param hotelId an ID of the hotel whose rooms have been changed.
+     */
+    public void invalidateHotel(Integer hotelId) {
+        invalidateIf(key -> key.mayContainHotel(hotelId));
+    }
+
+    /**
+     * Invalidates all cached results.
+     */
+    public void invalidateAll() {
+        invalidateIf(key -> true);
+    }
+
+    private void invalidateIf(Predicate<Key> predicate) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    private record Key(List<Integer> id, String description, BigDecimal minPrice, BigDecimal maxPrice,
+                       Short maxPeople, LocalDate from, LocalDate to, Integer hotelId,
+                       Integer pageSize, Integer pageNumber, String after) {
+
+        static Key of(RoomFilter filter) {
+            return new Key(
+                    filter.getId() == null ? null : filter.getId().stream().distinct().sorted().toList(),
+                    filter.getDescription(),
+                    filter.getMinPrice() == null ? null : filter.getMinPrice().stripTrailingZeros(),
+                    filter.getMaxPrice() == null ? null : filter.getMaxPrice().stripTrailingZeros(),
+                    filter.getMaxPeople(),
+                    filter.getFrom(),
+                    filter.getTo(),
+                    filter.getHotelId(),
+                    filter.getPageSize(),
+                    filter.getPageNumber(),
+                    filter.getAfter());
+        }
+
+        boolean mayContainHotel(Integer otherHotelId) {
+            return hotelId == null || Objects.equals(hotelId, otherHotelId);
+        }
+
+        boolean overlaps(LocalDate otherFrom, LocalDate otherTo) {
+            return from != null && to != null && !from.isAfter(otherTo) && !to.isBefore(otherFrom);
+        }
+    }
+}
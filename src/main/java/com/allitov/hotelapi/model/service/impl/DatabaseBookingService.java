@@ -3,22 +3,38 @@ package com.allitov.hotelapi.model.service.impl;
 import com.allitov.hotelapi.exception.ExceptionMessage;
 import com.allitov.hotelapi.message.BookingCreationMessage;
 import com.allitov.hotelapi.model.entity.Booking;
+import com.allitov.hotelapi.model.entity.Room;
 import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.model.event.RoomBookedEvent;
 import com.allitov.hotelapi.model.repository.BookingRepository;
 import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
+import com.allitov.hotelapi.model.repository.specification.BookingSpecification;
 import com.allitov.hotelapi.model.service.BookingService;
 import com.allitov.hotelapi.model.service.RoomService;
 import com.allitov.hotelapi.model.service.UserService;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityIndex;
+import com.allitov.hotelapi.model.service.outbox.OutboxPublisher;
+import com.allitov.hotelapi.model.service.util.StripedLock;
 import com.allitov.hotelapi.web.dto.filter.BookingFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.time.DateTimeException;
-import java.util.List;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The {@link BookingService} implementation to work with a booking entity in a database.
@@ -28,6 +44,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DatabaseBookingService implements BookingService {
 
+    private static final int ROOM_LOCK_STRIPES = 1024;
+
+    private static final Sort SORT_BY_ID = Sort.by(Booking.Fields.id);
+
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
     private final BookingRepository bookingRepository;
 
     private final RoomService roomService;
@@ -36,7 +58,15 @@ public class DatabaseBookingService implements BookingService {
 
     private final UnavailableDatesRepository unavailableDatesRepository;
 
-    private final KafkaTemplate<String, BookingCreationMessage> kafkaTemplate;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private final OutboxPublisher outboxPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final StripedLock roomLocks = new StripedLock(ROOM_LOCK_STRIPES);
 
     @Value("${app.kafka.topic.booking-creation}")
     private String topicName;
@@ -46,28 +76,41 @@ public class DatabaseBookingService implements BookingService {
      * @return a list of found bookings.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Booking> findAll() {
         return bookingRepository.findAll();
     }
 
     /**
      * Returns a list of bookings that match the filtering parameters.
+     * Paginated bookings are sorted by ID. If the filter contains a cursor, the page starts right after
+     * the booking the cursor points to, so the page is found by the index without skipping previous rows.
      * @param filter a filter to search for booking entities.
      * @return a list of found booking entities.
+     * @throws IllegalArgumentException if the cursor is malformed.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Booking> filterBy(BookingFilter filter) {
+        if (filter.getAfter() != null) {
+            return bookingRepository.findBy(BookingSpecification.withFilter(filter),
+                    query -> query.sortBy(SORT_BY_ID).limit(filter.getPageSize()).all());
+        }
         if (filter.getPageSize() == null || filter.getPageNumber() == null) {
             return findAll();
         }
 
         return bookingRepository.findAll(
-                PageRequest.of(filter.getPageNumber(), filter.getPageSize()))
+                BookingSpecification.withFilter(filter),
+                PageRequest.of(filter.getPageNumber(), filter.getPageSize(), SORT_BY_ID))
                 .getContent();
     }
 
     /**
      * Creates a booking from the specified booking data and returns it.
+     * Bookings of the same room are created one at a time, bookings of different rooms are created in parallel.
+     * Dates are checked against the in-memory index first, the database rejects overlapping dates
+     * that the index hasn't seen yet, e.g. booked by another instance.
      * @param booking a booking data to save.
      * @return a created booking entity.
      * @throws DateTimeException if <em>from</em> date is after <em>to</em> date.
@@ -80,22 +123,160 @@ public class DatabaseBookingService implements BookingService {
         }
         booking.setRoom(roomService.findById(booking.getRoom().getId()));
         booking.setUser(userService.findById(booking.getUser().getId()));
-        if (areDatesUnavailable(booking)) {
-            throw new DateTimeException(MessageFormat.format(
-                    ExceptionMessage.BOOKING_UNAVAILABLE_DATES,
-                    booking.getFrom(), booking.getTo()));
+
+        return saveIfDatesAvailable(booking);
+    }
+
+    /**
+     * Creates bookings from the specified list of booking data and returns them.
+     * Rooms and users are loaded with one query each, dates are checked against each other
+     * and against the unavailable dates, then all bookings are saved in one transaction.
+     * Either all bookings are created or none of them.
+     * @param bookings a list of booking data to save.
+     * @return a list of created booking entities.
+     * @throws DateTimeException if <em>from</em> date is after <em>to</em> date
+     * or dates of any booking are unavailable.
+     * @throws jakarta.persistence.EntityNotFoundException if any room or user with the specified id doesn't exist.
+     */
+    @Override
+    public List<Booking> createAll(List<Booking> bookings) {
+        if (bookings.stream().anyMatch(this::areDatesInvalid)) {
+            throw new DateTimeException(ExceptionMessage.BOOKING_INVALID_DATE);
+        }
+        Map<Integer, Room> rooms = roomService.findAllById(collectIds(bookings, booking -> booking.getRoom().getId()))
+                .stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<Integer, User> users = userService.findAllById(collectIds(bookings, booking -> booking.getUser().getId()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        bookings.forEach(booking -> {
+            booking.setRoom(rooms.get(booking.getRoom().getId()));
+            booking.setUser(users.get(booking.getUser().getId()));
+        });
+        checkBatchForOverlaps(bookings);
+
+        return saveAllIfDatesAvailable(bookings, rooms.keySet());
+    }
+
+    private Booking saveIfDatesAvailable(Booking booking) {
+        Lock roomLock = roomLocks.get(booking.getRoom().getId());
+        roomLock.lock();
+        try {
+            if (areDatesUnavailable(booking)) {
+                throw new DateTimeException(MessageFormat.format(
+                        ExceptionMessage.BOOKING_UNAVAILABLE_DATES,
+                        booking.getFrom(), booking.getTo()));
+            }
+            Booking createdBooking;
+            try {
+                createdBooking = transactionTemplate.execute(status -> {
+                    unavailableDatesRepository.save(createUnavailableDatesFromBooking(booking));
+                    BookingCreationMessage message = createMessageFromBooking(booking);
+                    outboxPublisher.publish(topicName, message.getRoomId(), message);
+                    return bookingRepository.save(booking);
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (!isDatesOverlap(e)) {
+                    throw e;
+                }
+                roomAvailabilityIndex.evict(booking.getRoom().getId());
+                throw new DateTimeException(MessageFormat.format(
+                        ExceptionMessage.BOOKING_UNAVAILABLE_DATES,
+                        booking.getFrom(), booking.getTo()));
+            }
+            roomAvailabilityIndex.add(booking.getRoom().getId(), booking.getFrom(), booking.getTo());
+            eventPublisher.publishEvent(createEventFromBooking(booking));
+
+            return createdBooking;
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    private List<Booking> saveAllIfDatesAvailable(List<Booking> bookings, Set<Integer> roomIds) {
+        List<Lock> acquiredLocks = new ArrayList<>();
+        try {
+            for (Lock roomLock : roomLocks.getAll(roomIds)) {
+                roomLock.lock();
+                acquiredLocks.add(roomLock);
+            }
+            for (Booking booking : bookings) {
+                if (areDatesUnavailable(booking)) {
+                    throw new DateTimeException(MessageFormat.format(
+                            ExceptionMessage.BOOKING_UNAVAILABLE_DATES,
+                            booking.getFrom(), booking.getTo()));
+                }
+            }
+            List<Booking> createdBookings;
+            try {
+                createdBookings = transactionTemplate.execute(status -> {
+                    unavailableDatesRepository.saveAll(
+                            bookings.stream().map(this::createUnavailableDatesFromBooking).toList());
+                    outboxPublisher.publishAll(topicName,
+                            bookings.stream().map(this::createMessageFromBooking).toList(),
+                            BookingCreationMessage::getRoomId);
+                    return bookingRepository.saveAll(bookings);
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (!isDatesOverlap(e)) {
+                    throw e;
+                }
+                roomIds.forEach(roomAvailabilityIndex::evict);
+                throw new DateTimeException(ExceptionMessage.BOOKING_UNAVAILABLE_BATCH_DATES);
+            }
+            bookings.forEach(booking -> {
+                roomAvailabilityIndex.add(booking.getRoom().getId(), booking.getFrom(), booking.getTo());
+                eventPublisher.publishEvent(createEventFromBooking(booking));
+            });
+
+            return createdBookings;
+        } finally {
+            for (int i = acquiredLocks.size() - 1; i >= 0; i--) {
+                acquiredLocks.get(i).unlock();
+            }
         }
-        unavailableDatesRepository.save(createUnavailableDatesFromBooking(booking));
-        Booking createdBooking = bookingRepository.save(booking);
+    }
+
+    private void checkBatchForOverlaps(List<Booking> bookings) {
+        Map<Integer, List<Booking>> bookingsByRoomId = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getRoom().getId()));
+        for (List<Booking> roomBookings : bookingsByRoomId.values()) {
+            List<Booking> sortedBookings = roomBookings.stream()
+                    .sorted(Comparator.comparing(Booking::getFrom))
+                    .toList();
+            LocalDate maxTo = LocalDate.MIN;
+            for (Booking booking : sortedBookings) {
+                if (!booking.getFrom().isAfter(maxTo)) {
+                    throw new DateTimeException(MessageFormat.format(
+                            ExceptionMessage.BOOKING_UNAVAILABLE_DATES,
+                            booking.getFrom(), booking.getTo()));
+                }
+                if (booking.getTo().isAfter(maxTo)) {
+                    maxTo = booking.getTo();
+                }
+            }
+        }
+    }
 
-        BookingCreationMessage message = BookingCreationMessage.builder()
+    private Set<Integer> collectIds(List<Booking> bookings, Function<Booking, Integer> idExtractor) {
+        return bookings.stream().map(idExtractor).collect(Collectors.toSet());
+    }
+
+    private BookingCreationMessage createMessageFromBooking(Booking booking) {
+        return BookingCreationMessage.builder()
                 .userId(booking.getUser().getId())
+                .roomId(booking.getRoom().getId())
                 .from(booking.getFrom())
                 .to(booking.getTo())
                 .build();
-        kafkaTemplate.send(topicName, message);
+    }
 
-        return createdBooking;
+    private RoomBookedEvent createEventFromBooking(Booking booking) {
+        return new RoomBookedEvent(
+                booking.getRoom().getId(),
+                booking.getRoom().getHotel().getId(),
+                booking.getFrom(),
+                booking.getTo());
     }
 
     private boolean areDatesInvalid(Booking booking) {
@@ -103,9 +284,13 @@ public class DatabaseBookingService implements BookingService {
     }
 
     private boolean areDatesUnavailable(Booking booking) {
-        for (UnavailableDates unavailableDates : booking.getRoom().getUnavailableDates()) {
-            if (!(booking.getFrom().isAfter(unavailableDates.getTo()) ||
-                    booking.getTo().isBefore(unavailableDates.getFrom()))) {
+        return !roomAvailabilityIndex.isAvailable(booking.getRoom().getId(), booking.getFrom(), booking.getTo());
+    }
+
+    private boolean isDatesOverlap(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
                 return true;
             }
         }
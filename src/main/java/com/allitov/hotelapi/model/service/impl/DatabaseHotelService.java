@@ -1,19 +1,26 @@
 package com.allitov.hotelapi.model.service.impl;
 
+import com.allitov.hotelapi.exception.EntityByIdNotFoundException;
 import com.allitov.hotelapi.exception.ExceptionMessage;
 import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.repository.HotelRepository;
 import com.allitov.hotelapi.model.repository.specification.HotelSpecification;
 import com.allitov.hotelapi.model.service.HotelService;
+import com.allitov.hotelapi.model.service.cache.RoomSearchCache;
+import com.allitov.hotelapi.model.service.search.HotelSearchIndex;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
 import com.allitov.hotelapi.model.service.util.ServiceUtils;
 import com.allitov.hotelapi.web.dto.filter.HotelFilter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.text.MessageFormat;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The {@link HotelService} implementation to work with a hotel entity in database.
@@ -23,31 +30,51 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DatabaseHotelService implements HotelService {
 
+    private static final Sort SORT_BY_ID = Sort.by(Hotel.Fields.id);
+
     private final HotelRepository hotelRepository;
 
+    private final HotelSearchIndex hotelSearchIndex;
+
+    private final RoomSearchCache roomSearchCache;
+
     /**
      * Returns a list of found hotels.
      * @return a list of found hotels.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Hotel> findAll() {
         return hotelRepository.findAll();
     }
 
     /**
      * Returns a list of hotels that match the filtering parameters.
+     * Paginated hotels are sorted by ID. If the filter contains a cursor, the page starts right after
+     * the hotel the cursor points to, so the page is found by the index without skipping previous rows.
+     * If the filter contains a text query, hotels are searched by the text in the full-text index
+     * and sorted by rank instead of ID. Every repository call runs in its own read-only transaction,
+     * so a search doesn't hold a database connection between the calls.
      * @param filter a filter to search for hotel entities.
      * @return a list of found hotel entities.
+     * @throws IllegalArgumentException if the cursor is malformed.
      */
     @Override
     public List<Hotel> filterBy(HotelFilter filter) {
+        if (filter.getQ() != null) {
+            return searchByText(filter);
+        }
+        if (filter.getAfter() != null) {
+            return hotelRepository.findBy(HotelSpecification.withFilter(filter),
+                    query -> query.sortBy(SORT_BY_ID).limit(filter.getPageSize()).all());
+        }
         if (filter.getPageSize() == null || filter.getPageNumber() == null) {
             return hotelRepository.findAll(HotelSpecification.withFilter(filter));
         }
 
         return hotelRepository.findAll(
                 HotelSpecification.withFilter(filter),
-                PageRequest.of(filter.getPageNumber(), filter.getPageSize()))
+                PageRequest.of(filter.getPageNumber(), filter.getPageSize(), SORT_BY_ID))
                 .getContent();
     }
 
@@ -58,13 +85,32 @@ public class DatabaseHotelService implements HotelService {
      * @throws jakarta.persistence.EntityNotFoundException if the hotel entity with the specified ID was not found.
      */
     @Override
+    @Transactional(readOnly = true)
     public Hotel findById(Integer id) {
         return hotelRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException(
-                        MessageFormat.format(ExceptionMessage.HOTEL_BY_ID_NOT_FOUND, id))
+                () -> new EntityByIdNotFoundException(ExceptionMessage.HOTEL_BY_ID_NOT_FOUND, id)
         );
     }
 
+    /**
+     * Returns a list of hotels found by IDs.
+     * @param ids IDs by which to find the hotels.
+     * @return a list of hotels found by IDs.
+     * @throws EntityNotFoundException if any of the hotels with the specified IDs was not found.
+     */
+    @Override
+    public List<Hotel> findAllById(Collection<Integer> ids) {
+        List<Hotel> foundHotels = hotelRepository.findAllById(ids);
+        Set<Integer> missingIds = new HashSet<>(ids);
+        foundHotels.forEach(hotel -> missingIds.remove(hotel.getId()));
+        if (!missingIds.isEmpty()) {
+            throw new EntityByIdNotFoundException(
+                    ExceptionMessage.HOTEL_BY_ID_NOT_FOUND, missingIds.iterator().next());
+        }
+
+        return foundHotels;
+    }
+
     /**
      * Creates a hotel entity from the specified hotel data and returns it.
      * @param hotel a hotel data to save.
@@ -74,10 +120,29 @@ public class DatabaseHotelService implements HotelService {
     public Hotel create(Hotel hotel) {
         hotel.setRating(0F);
         hotel.setNumberOfRatings(0);
+        hotel.setRatingSum(0L);
 
         return hotelRepository.save(hotel);
     }
 
+    /**
+     * Creates hotels from the specified list of hotel data and returns them.
+     * All hotels are saved in one transaction, their inserts are sent to the database in JDBC batches.
+     * Either all hotels are created or none of them.
+     * @param hotels a list of hotel data to save.
+     * @return a list of created hotel entities.
+     */
+    @Override
+    public List<Hotel> createAll(List<Hotel> hotels) {
+        hotels.forEach(hotel -> {
+            hotel.setRating(0F);
+            hotel.setNumberOfRatings(0);
+            hotel.setRatingSum(0L);
+        });
+
+        return hotelRepository.saveAll(hotels);
+    }
+
     /**
      * Updates a hotel entity found by the specified ID and returns it.
      * @param id an ID by which to update the hotel entity.
@@ -95,42 +160,81 @@ public class DatabaseHotelService implements HotelService {
     }
 
     /**
-     * Deletes a hotel entity by the specified ID.
+     * Deletes a hotel entity by the specified ID. Rooms of the hotel are deleted with it,
+     * so cached room searches that may contain them are invalidated.
      * @param id an ID by which to delete the hotel entity.
      */
     @Override
     public void deleteById(Integer id) {
         hotelRepository.deleteById(id);
+        roomSearchCache.invalidateHotel(id);
     }
 
     /**
-     * Updates rating of the specified hotel entity.
+     * Adds a new mark to the rating of the specified hotel entity.
+     * The mark is added to the sum of marks in the database atomically, so concurrent marks don't contend
+     * on reading the hotel and don't overwrite each other.
      * @param id an id by which to find the hotel entity.
      * @param newMark a new mark to be added.
      * @return an updated hotel entity.
+     * @throws IllegalArgumentException if the mark is not in range of [1, 5].
+     * @throws EntityNotFoundException if the hotel entity with the specified ID was not found.
      */
     @Override
     public Hotel updateRatingById(Integer id, Integer newMark) {
         if (newMark < 1 || newMark > 5) {
             throw new IllegalArgumentException(ExceptionMessage.HOTEL_ILLEGAL_RATING);
         }
+        if (hotelRepository.addMarkById(id, newMark) == 0) {
+            throw new EntityByIdNotFoundException(ExceptionMessage.HOTEL_BY_ID_NOT_FOUND, id);
+        }
 
-        Hotel foundHotel = findById(id);
-        foundHotel.setRating(calculateRating(foundHotel, newMark));
-        foundHotel.setNumberOfRatings(foundHotel.getNumberOfRatings() + 1);
+        return findById(id);
+    }
 
-        return hotelRepository.save(foundHotel);
+    private List<Hotel> searchByText(HotelFilter filter) {
+        List<Integer> rankedIds = hotelSearchIndex.search(filter.getQ());
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Hotel> hotelsById = hotelRepository.findAll(HotelSpecification.withFilter(filter, rankedIds))
+                .stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+        List<Hotel> rankedHotels = rankedIds.stream()
+                .map(hotelsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (filter.getAfter() != null) {
+            int lastIndex = indexOf(rankedHotels, CursorUtils.decode(filter.getAfter()));
+            if (lastIndex < 0) {
+                return List.of();
+            }
+
+            return page(rankedHotels, lastIndex + 1, filter.getPageSize());
+        }
+        if (filter.getPageSize() == null || filter.getPageNumber() == null) {
+            return rankedHotels;
+        }
+
+        return page(rankedHotels, (long) filter.getPageNumber() * filter.getPageSize(), filter.getPageSize());
     }
 
-    private float calculateRating(Hotel hotel, int newMark) {
-        float rating = hotel.getRating();
-        int numberOfRatings = hotel.getNumberOfRatings();
-        float totalRating = rating * numberOfRatings;
-        totalRating = totalRating - rating + newMark;
-        rating = totalRating / numberOfRatings;
+    private int indexOf(List<Hotel> hotels, Integer id) {
+        for (int i = 0; i < hotels.size(); i++) {
+            if (hotels.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
 
-        int scale = 10;
+        return -1;
+    }
+
+    private List<Hotel> page(List<Hotel> hotels, long fromIndex, int pageSize) {
+        if (fromIndex >= hotels.size()) {
+            return List.of();
+        }
 
-        return (float) Math.round(rating * scale) / scale;
+        return hotels.subList((int) fromIndex, (int) Math.min(fromIndex + pageSize, hotels.size()));
     }
 }
@@ -1,20 +1,36 @@
 package com.allitov.hotelapi.model.service.impl;
 
+import com.allitov.hotelapi.exception.EntityByIdNotFoundException;
 import com.allitov.hotelapi.exception.ExceptionMessage;
+import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.entity.Room;
 import com.allitov.hotelapi.model.repository.RoomRepository;
 import com.allitov.hotelapi.model.repository.specification.RoomSpecification;
 import com.allitov.hotelapi.model.service.HotelService;
 import com.allitov.hotelapi.model.service.RoomService;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityCalendar;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityIndex;
+import com.allitov.hotelapi.model.service.cache.RoomSearchCache;
 import com.allitov.hotelapi.model.service.util.ServiceUtils;
 import com.allitov.hotelapi.web.dto.filter.RoomFilter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.text.MessageFormat;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The {@link RoomService} implementation to work with a room entity in database.
@@ -24,34 +40,49 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DatabaseRoomService implements RoomService {
 
+    private static final Sort SORT_BY_ID = Sort.by(Room.Fields.id);
+
     private final RoomRepository roomRepository;
 
     private final HotelService hotelService;
 
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private final RoomAvailabilityCalendar roomAvailabilityCalendar;
+
+    private final RoomSearchCache roomSearchCache;
+
+    @Value("${app.availability.calendar.max-excluded-rooms}")
+    private int maxExcludedRooms;
+
     /**
      * Returns a list of found rooms.
      * @return a list of found rooms.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Room> findAll() {
         return roomRepository.findAll();
     }
 
     /**
      * Returns a list of rooms that match the filtering parameters.
+     * Paginated rooms are sorted by ID. If the filter contains a cursor, the page starts right after
+     * the room the cursor points to, so the page is found by the index without skipping previous rows.
+     * Up to max-excluded-rooms rooms booked on the filter dates are taken from the availability calendar
+     * and excluded by ID. Otherwise, or if the calendar can't answer, the same query excludes rooms
+     * whose unavailable periods overlap the filter dates.
+     * The calendar may miss rooms booked on other instances since its last rebuild,
+     * see {@link RoomAvailabilityCalendar}.
+     * Found rooms are cached until they expire or the rooms they may contain change.
+     * A cached search doesn't open a transaction, so it doesn't take a database connection.
      * @param filter a filter to search for room entities.
      * @return a list of found room entities.
+     * @throws IllegalArgumentException if the cursor is malformed.
      */
     @Override
     public List<Room> filterBy(RoomFilter filter) {
-        if (filter.getPageSize() == null || filter.getPageNumber() == null) {
-            return roomRepository.findAll(RoomSpecification.withFilter(filter));
-        }
-
-        return roomRepository.findAll(
-                RoomSpecification.withFilter(filter),
-                PageRequest.of(filter.getPageNumber(), filter.getPageSize()))
-                .getContent();
+        return roomSearchCache.get(filter, () -> search(filter));
     }
 
     /**
@@ -61,13 +92,32 @@ public class DatabaseRoomService implements RoomService {
      * @throws EntityNotFoundException if the room with the specified ID was not found.
      */
     @Override
+    @Transactional(readOnly = true)
     public Room findById(Integer id) {
         return roomRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException(
-                        MessageFormat.format(ExceptionMessage.ROOM_BY_ID_NOT_FOUND, id))
+                () -> new EntityByIdNotFoundException(ExceptionMessage.ROOM_BY_ID_NOT_FOUND, id)
         );
     }
 
+    /**
+     * Returns a list of rooms found by IDs.
+     * @param ids IDs by which to find the rooms.
+     * @return a list of rooms found by IDs.
+     * @throws EntityNotFoundException if any of the rooms with the specified IDs was not found.
+     */
+    @Override
+    public List<Room> findAllById(Collection<Integer> ids) {
+        List<Room> foundRooms = roomRepository.findAllById(ids);
+        Set<Integer> missingIds = new HashSet<>(ids);
+        foundRooms.forEach(room -> missingIds.remove(room.getId()));
+        if (!missingIds.isEmpty()) {
+            throw new EntityByIdNotFoundException(
+                    ExceptionMessage.ROOM_BY_ID_NOT_FOUND, missingIds.iterator().next());
+        }
+
+        return foundRooms;
+    }
+
     /**
      * Creates a room from the specified room and returns it.
      * @param room a room data to save.
@@ -76,8 +126,32 @@ public class DatabaseRoomService implements RoomService {
     @Override
     public Room create(Room room) {
         room.setHotel(hotelService.findById(room.getHotel().getId()));
+        Room createdRoom = roomRepository.save(room);
+        roomSearchCache.invalidateHotel(createdRoom.getHotel().getId());
+
+        return createdRoom;
+    }
 
-        return roomRepository.save(room);
+    /**
+     * Creates rooms from the specified list of room data and returns them.
+     * Hotels are loaded with one query, then all rooms are saved in one transaction
+     * and their inserts are sent to the database in JDBC batches.
+     * Either all rooms are created or none of them.
+     * @param rooms a list of room data to save.
+     * @return a list of created rooms.
+     * @throws EntityNotFoundException if any hotel with the specified id doesn't exist.
+     */
+    @Override
+    public List<Room> createAll(List<Room> rooms) {
+        Map<Integer, Hotel> hotels = hotelService.findAllById(
+                rooms.stream().map(room -> room.getHotel().getId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+        rooms.forEach(room -> room.setHotel(hotels.get(room.getHotel().getId())));
+        List<Room> createdRooms = roomRepository.saveAll(rooms);
+        hotels.keySet().forEach(roomSearchCache::invalidateHotel);
+
+        return createdRooms;
     }
 
     /**
@@ -90,11 +164,16 @@ public class DatabaseRoomService implements RoomService {
     @Override
     public Room updateById(Integer id, Room room) {
         Room foundRoom = findById(id);
+        Integer previousHotelId = foundRoom.getHotel().getId();
         room.setHotel(hotelService.findById(room.getHotel().getId()));
 
         ServiceUtils.copyNonNullProperties(room, foundRoom);
 
-        return roomRepository.save(foundRoom);
+        Room updatedRoom = roomRepository.save(foundRoom);
+        roomSearchCache.invalidateHotel(previousHotelId);
+        roomSearchCache.invalidateHotel(updatedRoom.getHotel().getId());
+
+        return updatedRoom;
     }
 
     /**
@@ -104,5 +183,36 @@ public class DatabaseRoomService implements RoomService {
     @Override
     public void deleteById(Integer id) {
         roomRepository.deleteById(id);
+        roomAvailabilityIndex.evict(id);
+        roomSearchCache.invalidateAll();
+    }
+
+    private List<Room> search(RoomFilter filter) {
+        Specification<Room> specification = createSpecification(filter);
+        if (filter.getAfter() != null) {
+            return roomRepository.findBy(specification,
+                    query -> query.sortBy(SORT_BY_ID).limit(filter.getPageSize()).all());
+        }
+        if (filter.getPageSize() == null || filter.getPageNumber() == null) {
+            return roomRepository.findAll(specification);
+        }
+
+        return roomRepository.findAll(
+                specification,
+                PageRequest.of(filter.getPageNumber(), filter.getPageSize(), SORT_BY_ID))
+                .getContent();
+    }
+
+    private Specification<Room> createSpecification(RoomFilter filter) {
+        if (filter.getFrom() == null || filter.getTo() == null) {
+            return RoomSpecification.withFilter(filter);
+        }
+
+        Optional<BitSet> calendarRoomIds = roomAvailabilityCalendar.findBookedRoomIds(filter.getFrom(), filter.getTo());
+        if (calendarRoomIds.isPresent() && calendarRoomIds.get().cardinality() <= maxExcludedRooms) {
+            return RoomSpecification.withFilter(filter, calendarRoomIds.get().stream().boxed().toList());
+        }
+
+        return RoomSpecification.withFilter(filter);
     }
 }
@@ -1,8 +1,13 @@
 package com.allitov.hotelapi.model.service.impl;
 
+import com.allitov.hotelapi.exception.ExceptionMessage;
 import com.allitov.hotelapi.message.BookingCreationMessage;
 import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.UserRegistrationMessage;
 import com.allitov.hotelapi.model.entity.BookingStatistics;
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+import com.allitov.hotelapi.model.repository.DailyStatisticsRepository;
+import com.allitov.hotelapi.model.repository.StatisticsEventRepository;
 import com.allitov.hotelapi.model.repository.StatisticsRepository;
 import com.allitov.hotelapi.model.service.StatisticsService;
 import com.opencsv.CSVWriter;
@@ -10,14 +15,27 @@ import com.opencsv.bean.StatefulBeanToCsv;
 import com.opencsv.bean.StatefulBeanToCsvBuilder;
 import com.opencsv.exceptions.CsvDataTypeMismatchException;
 import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * The {@link StatisticsService} implementation to work with statistics in a database and Kafka.
@@ -28,10 +46,50 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DatabaseStatisticsService implements StatisticsService<KafkaMessage> {
 
+    private static final String BATCH_TIMER = "statistics.ingestion.batch";
+
+    private static final String BATCH_SIZE_SUMMARY = "statistics.ingestion.batch.size";
+
+    private static final String RECORDS_COUNTER = "statistics.ingestion.records";
+
+    private static final String DUPLICATES_COUNTER = "statistics.ingestion.duplicates";
+
     private final StatisticsRepository statisticsRepository;
 
+    private final DailyStatisticsRepository dailyStatisticsRepository;
+
+    private final StatisticsEventRepository statisticsEventRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.statistics.daily.max-period-days}")
+    private int maxPeriodDays;
+
+    @Value("${app.statistics.claim-lease}")
+    private Duration claimLease;
+
     /**
-     * Persists statistics.
+     * Persists a batch of statistics polled from Kafka. Booking events are inserted in a single unordered
+     * bulk insert, and daily statistics of the event days are incremented in a single unordered bulk upsert.
+     * Offsets of the batch are committed after this method returns, so a batch that fails to be persisted
+     * is retried until it is persisted, see {@link com.allitov.hotelapi.configuration.KafkaConsumerConfiguration}.
+     * <p>
+     * Redelivered events are skipped by their event IDs. Booking statistics are inserted with event IDs
+     * as document IDs, so they are inserted once. Pending events are claimed by a conditional update
+     * before they are applied, and only the claimed events update the users who have booked
+     * and increment daily statistics, so concurrent or redelivered batches don't apply an event twice.
+     * Events are marked as applied only after daily statistics have been incremented. A batch that fails
+     * before that releases its claim, and the claim of a batch that can't release it expires after
+     * the claim lease, so the events are applied again when the batch is retried. If some events
+     * of the batch are claimed by another batch that is still applying them, the batch fails
+     * to be retried later, so its offsets aren't committed before every event has been applied.
+     * <p>
+     * Mongo doesn't update several documents atomically without a transaction, so an event is applied
+     * at least once: a batch that fails after incrementing daily statistics, or outlives the claim lease,
+     * may count its events twice, but an event is never lost.
+     * <p>
+     * Batches of different partitions are persisted concurrently. Daily statistics are changed
+     * only by atomic increments, so batches don't need to be synchronized.
      * @param data a data to persist.
      */
     @KafkaListener(
@@ -40,45 +98,210 @@ public class DatabaseStatisticsService implements StatisticsService<KafkaMessage
             containerFactory = "listenerContainerFactory"
     )
     @Override
-    public void addData(@Payload KafkaMessage data) {
-        log.info("Event: {}", data);
-        if (data instanceof BookingCreationMessage d) {
-            saveBookingStatistics(d);
+    public void addAllData(@Payload List<KafkaMessage> data) {
+        log.debug("Received {} events", data.size());
+        Map<String, KafkaMessage> messagesByEventId = new LinkedHashMap<>();
+        for (KafkaMessage message : data) {
+            messagesByEventId.putIfAbsent(getEventId(message), message);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<BookingStatistics> bookingStatistics = new ArrayList<>();
+        messagesByEventId.forEach((eventId, message) -> {
+            if (message instanceof BookingCreationMessage bookingMessage) {
+                bookingStatistics.add(createBookingStatistics(eventId, bookingMessage));
+            }
+        });
+        int insertedCount = bookingStatistics.isEmpty() ? 0 : statisticsRepository.insertUnordered(bookingStatistics);
+
+        statisticsEventRepository.insertPending(messagesByEventId.keySet());
+        String claimId = UUID.randomUUID().toString();
+        List<String> claimedEventIds =
+                statisticsEventRepository.claimPending(messagesByEventId.keySet(), claimId, claimLease);
+        if (!claimedEventIds.isEmpty()) {
+            applyClaimedEvents(claimId, claimedEventIds, messagesByEventId);
+        }
+        if (claimedEventIds.size() < messagesByEventId.size()
+                && statisticsEventRepository.existsByIdInAndAppliedFalse(messagesByEventId.keySet())) {
+            throw new IllegalStateException(ExceptionMessage.STATISTICS_EVENTS_CLAIMED);
+        }
+
+        long elapsedNanos = sample.stop(meterRegistry.timer(BATCH_TIMER));
+        meterRegistry.summary(BATCH_SIZE_SUMMARY).record(data.size());
+        meterRegistry.counter(RECORDS_COUNTER).increment(insertedCount);
+        meterRegistry.counter(DUPLICATES_COUNTER).increment(data.size() - claimedEventIds.size());
+        log.debug("Inserted {} booking statistics and applied {} of {} events in {} ms",
+                insertedCount, claimedEventIds.size(), data.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    /**
+     * Returns statistics of every day in the specified period, read from the daily statistics
+     * maintained on ingestion. Days without events have zero statistics.
+     * @param from the first day of the period.
+     * @param to the last day of the period.
+     * @return a list of statistics of every day in the period sorted by day.
+     * @throws DateTimeException if the period is invalid or longer than the maximum period.
+     */
+    @Override
+    public List<DailyStatistics> getDailyStatistics(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new DateTimeException(ExceptionMessage.STATISTICS_INVALID_DATE);
         }
+        if (ChronoUnit.DAYS.between(from, to) >= maxPeriodDays) {
+            throw new DateTimeException(MessageFormat.format(ExceptionMessage.STATISTICS_INVALID_PERIOD, maxPeriodDays));
+        }
+
+        Iterator<DailyStatistics> persistedStatistics = dailyStatisticsRepository.findAllByPeriod(from, to).iterator();
+        DailyStatistics nextPersisted = persistedStatistics.hasNext() ? persistedStatistics.next() : null;
+        List<DailyStatistics> dailyStatistics = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (nextPersisted != null && nextPersisted.getDate().equals(date)) {
+                dailyStatistics.add(nextPersisted);
+                nextPersisted = persistedStatistics.hasNext() ? persistedStatistics.next() : null;
+            } else {
+                dailyStatistics.add(createDailyStatistics(date));
+            }
+        }
+
+        return dailyStatistics;
     }
 
     /**
-     * Returns all persisted statistics as a byte array.
-     * @return a byte array with persisted data.
+     * Writes all persisted statistics as CSV to the output stream.
+     * Statistics are read from a database cursor and written row by row,
+     * so memory use doesn't depend on the number of statistics.
+     * @param outputStream an output stream to write CSV to.
+     * @throws IOException if CSV can't be written to the output stream.
      */
     @Override
-    public byte[] getData() {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try (Writer writer = new BufferedWriter(new OutputStreamWriter(result))) {
-            StatefulBeanToCsv<BookingStatistics> csv = new StatefulBeanToCsvBuilder<BookingStatistics>(writer)
-                    .withQuotechar('\'')
-                    .withSeparator(CSVWriter.DEFAULT_SEPARATOR)
-                    .build();
-            csv.write(statisticsRepository.findAll());
-        } catch (IOException | CsvRequiredFieldEmptyException | CsvDataTypeMismatchException e) {
+    public void writeData(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CSVWriter csvWriter = new CSVWriter(writer, CSVWriter.DEFAULT_SEPARATOR, '\'',
+                CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
+        StatefulBeanToCsv<BookingStatistics> csv = new StatefulBeanToCsvBuilder<BookingStatistics>(csvWriter)
+                .build();
+        try (Stream<BookingStatistics> statistics = statisticsRepository.streamAllBy()) {
+            Iterator<BookingStatistics> iterator = statistics.iterator();
+            while (iterator.hasNext()) {
+                csv.write(iterator.next());
+                if (csvWriter.getException() != null) {
+                    throw csvWriter.getException();
+                }
+            }
+        } catch (CsvRequiredFieldEmptyException | CsvDataTypeMismatchException e) {
             throw new RuntimeException(e);
         }
+        csvWriter.flush();
+    }
 
-        return result.toByteArray();
+    /**
+     * Increments daily statistics by the claimed events and marks them as applied.
+     * The claim is released if the events can't be applied.
+     * @param claimId an ID of the claim.
+     * @param claimedEventIds IDs of the claimed events.
+     * @param messagesByEventId Kafka messages of the batch by the event ID.
+     */
+    private void applyClaimedEvents(String claimId, List<String> claimedEventIds,
+                                    Map<String, KafkaMessage> messagesByEventId) {
+        Map<String, KafkaMessage> claimedMessagesByEventId = new LinkedHashMap<>();
+        for (String eventId : claimedEventIds) {
+            claimedMessagesByEventId.put(eventId, messagesByEventId.get(eventId));
+        }
+        try {
+            incrementDailyStatistics(claimedMessagesByEventId);
+            statisticsEventRepository.markApplied(claimId);
+        } catch (RuntimeException e) {
+            try {
+                statisticsEventRepository.releaseClaim(claimId);
+            } catch (RuntimeException releaseException) {
+                e.addSuppressed(releaseException);
+            }
+            throw e;
+        }
     }
 
     /**
-     * Saves booking statistics data.
+     * Increments daily statistics of the event days by the claimed events. The users who have booked
+     * are recorded first, so the number of distinct users is incremented together with the other counters.
+     * @param messagesByEventId Kafka messages of the claimed events to increment daily statistics by,
+     *                          by the event ID.
+     */
+    private void incrementDailyStatistics(Map<String, KafkaMessage> messagesByEventId) {
+        Map<LocalDate, DailyStatistics> increments = new HashMap<>();
+        Map<LocalDate, Map<Integer, String>> bookingEventIdsByUserIdByDate = new HashMap<>();
+        for (Map.Entry<String, KafkaMessage> entry : messagesByEventId.entrySet()) {
+            KafkaMessage message = entry.getValue();
+            LocalDate date = getDate(message);
+            if (message instanceof BookingCreationMessage bookingMessage) {
+                DailyStatistics increment = increments.computeIfAbsent(date, this::createDailyStatistics);
+                increment.setBookings(increment.getBookings() + 1);
+                increment.setNightsBooked(increment.getNightsBooked()
+                        + ChronoUnit.DAYS.between(bookingMessage.getFrom(), bookingMessage.getTo()));
+                bookingEventIdsByUserIdByDate.computeIfAbsent(date, key -> new HashMap<>())
+                        .putIfAbsent(bookingMessage.getUserId(), entry.getKey());
+            } else if (message instanceof UserRegistrationMessage) {
+                DailyStatistics increment = increments.computeIfAbsent(date, this::createDailyStatistics);
+                increment.setRegistrations(increment.getRegistrations() + 1);
+            }
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        if (!bookingEventIdsByUserIdByDate.isEmpty()) {
+            dailyStatisticsRepository.addBookingUsers(bookingEventIdsByUserIdByDate).forEach((date, newUsers) -> {
+                DailyStatistics increment = increments.get(date);
+                increment.setDistinctUsers(increment.getDistinctUsers() + newUsers);
+            });
+        }
+        dailyStatisticsRepository.incrementAll(increments.values());
+    }
+
+    /**
+     * Creates booking statistics from the message with the event ID as the ID.
+     * @param eventId an ID of the message event.
      * @param message a Kafka message to create booking statistics entity from.
+     * @return booking statistics entity.
      */
-    private void saveBookingStatistics(BookingCreationMessage message) {
-        BookingStatistics bookingStatistics = BookingStatistics.builder()
-                .id(UUID.randomUUID().toString())
+    private BookingStatistics createBookingStatistics(String eventId, BookingCreationMessage message) {
+        return BookingStatistics.builder()
+                .id(eventId)
                 .userId(message.getUserId())
                 .from(message.getFrom())
                 .to(message.getTo())
                 .build();
+    }
+
+    /**
+     * Creates daily statistics of the specified day with zero counters.
+     * @param date a day to create statistics of.
+     * @return daily statistics entity.
+     */
+    private DailyStatistics createDailyStatistics(LocalDate date) {
+        return DailyStatistics.builder()
+                .date(date)
+                .build();
+    }
+
+    /**
+     * Returns the ID of the message event. Messages published before event IDs were introduced
+     * can't be recognized when redelivered, so they get a random ID.
+     * @param message a Kafka message to get the event ID of.
+     * @return the ID of the message event.
+     */
+    private String getEventId(KafkaMessage message) {
+        return message.getEventId() == null ? UUID.randomUUID().toString() : message.getEventId();
+    }
+
+    /**
+     * Returns the UTC date the message event occurred on. Messages published before
+     * the creation time was introduced are dated by the current date.
+     * @param message a Kafka message to get the date of.
+     * @return the date the message event occurred on.
+     */
+    private LocalDate getDate(KafkaMessage message) {
+        Instant createdAt = message.getCreatedAt() == null ? Instant.now() : message.getCreatedAt();
 
-        statisticsRepository.save(bookingStatistics);
+        return LocalDate.ofInstant(createdAt, ZoneOffset.UTC);
     }
 }
@@ -1,22 +1,30 @@
 package com.allitov.hotelapi.model.service.impl;
 
+import com.allitov.hotelapi.exception.EntityByIdNotFoundException;
 import com.allitov.hotelapi.exception.ExceptionMessage;
+import com.allitov.hotelapi.message.UserChangeMessage;
 import com.allitov.hotelapi.message.UserRegistrationMessage;
 import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.model.event.UserChangedEvent;
 import com.allitov.hotelapi.model.repository.UserRepository;
 import com.allitov.hotelapi.model.service.UserService;
+import com.allitov.hotelapi.model.service.outbox.OutboxPublisher;
 import com.allitov.hotelapi.model.service.util.ServiceUtils;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -26,11 +34,19 @@ public class DatabaseUserService implements UserService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final KafkaTemplate<String, UserRegistrationMessage> kafkaTemplate;
+    private final OutboxPublisher outboxPublisher;
+
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.kafka.topic.user-registration}")
     private String topicName;
 
+    @Value("${app.kafka.topic.user-change}")
+    private String userChangeTopicName;
+
+    @Value("${app.security.user-cache.distributed-invalidation}")
+    private boolean distributedInvalidation;
+
     /**
      * Returns a user entity found by the specified username.
      * @param username a username by which to find the user entity.
@@ -50,6 +66,7 @@ public class DatabaseUserService implements UserService {
      * @return a list of found users.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
@@ -61,13 +78,32 @@ public class DatabaseUserService implements UserService {
      * @throws EntityNotFoundException if the user with the specified ID was not found.
      */
     @Override
+    @Transactional(readOnly = true)
     public User findById(Integer id) {
         return userRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException(
-                        MessageFormat.format(ExceptionMessage.USER_BY_ID_NOT_FOUND, id))
+                () -> new EntityByIdNotFoundException(ExceptionMessage.USER_BY_ID_NOT_FOUND, id)
         );
     }
 
+    /**
+     * Returns a list of users found by IDs.
+     * @param ids IDs by which to find the users.
+     * @return a list of users found by IDs.
+     * @throws EntityNotFoundException if any of the users with the specified IDs was not found.
+     */
+    @Override
+    public List<User> findAllById(Collection<Integer> ids) {
+        List<User> foundUsers = userRepository.findAllById(ids);
+        Set<Integer> missingIds = new HashSet<>(ids);
+        foundUsers.forEach(user -> missingIds.remove(user.getId()));
+        if (!missingIds.isEmpty()) {
+            throw new EntityByIdNotFoundException(
+                    ExceptionMessage.USER_BY_ID_NOT_FOUND, missingIds.iterator().next());
+        }
+
+        return foundUsers;
+    }
+
     /**
      * Creates a user from the specified user and returns it.
      * @param user a user to save.
@@ -75,6 +111,7 @@ public class DatabaseUserService implements UserService {
      * @throws EntityExistsException if the user with specified username and email already exists.
      */
     @Override
+    @Transactional
     public User create(User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
             throw new EntityExistsException(MessageFormat.format(
@@ -85,7 +122,7 @@ public class DatabaseUserService implements UserService {
 
         UserRegistrationMessage message = new UserRegistrationMessage();
         message.setUserId(createdUser.getId());
-        kafkaTemplate.send(topicName, message);
+        outboxPublisher.publish(topicName, createdUser.getId(), message);
 
         return createdUser;
     }
@@ -99,6 +136,7 @@ public class DatabaseUserService implements UserService {
      * @throws EntityExistsException if the user with the specified username already exists.
      */
     @Override
+    @Transactional
     public User updateById(Integer id, User user) {
         User foundUser = findById(id);
         if (userRepository.existsByUsername(user.getUsername())) {
@@ -106,8 +144,10 @@ public class DatabaseUserService implements UserService {
                     MessageFormat.format(ExceptionMessage.USER_ALREADY_EXISTS, user.getUsername()));
         }
         ServiceUtils.copyNonNullProperties(user, foundUser);
+        User updatedUser = userRepository.save(foundUser);
+        publishUserChange(id);
 
-        return userRepository.save(foundUser);
+        return updatedUser;
     }
 
     /**
@@ -115,7 +155,22 @@ public class DatabaseUserService implements UserService {
      * @param id an ID by which to delete the user.
      */
     @Override
+    @Transactional
     public void deleteById(Integer id) {
         userRepository.deleteById(id);
+        publishUserChange(id);
+    }
+
+    /**
+     * Notifies cached user details holders of this and, if enabled, other nodes that the user has been changed.
+     * @param id an ID of the changed user.
+     */
+    private void publishUserChange(Integer id) {
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        if (distributedInvalidation) {
+            UserChangeMessage message = new UserChangeMessage();
+            message.setUserId(id);
+            outboxPublisher.publish(userChangeTopicName, id, message);
+        }
     }
 }
@@ -0,0 +1,87 @@
+package com.allitov.hotelapi.model.service.outbox;
+
+import com.allitov.hotelapi.exception.MessageSerializationException;
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.model.entity.OutboxEvent;
+import com.allitov.hotelapi.model.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Stores Kafka messages in the outbox table. Messages are stored in the caller's transaction,
+ * so a message is sent by {@link OutboxRelay} only if the data it describes is committed.
+ * Messages are sent with the keys they're published with, so messages with the same key
+ * are sent to the same partition and consumed in the order they were published.
+ * @author allitov
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores the message to be sent to the specified topic with the specified key. A random event ID
+     * and the current time are assigned to the message if they're not set yet.
+     * @param topic a topic to send the message to.
+     * @param key a key to send the message with, e.g. an ID of the entity the message describes.
+     * @param message a message to send.
+     * @throws MessageSerializationException if the message can't be serialized.
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no active transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String topic, Object key, KafkaMessage message) {
+        outboxEventRepository.save(createOutboxEvent(topic, key, message));
+    }
+
+    /**
+     * Stores the messages to be sent to the specified topic with the keys extracted from them.
+     * A random event ID and the current time are assigned to every message if they're not set yet.
+     * @param topic a topic to send the messages to.
+     * @param messages messages to send.
+     * @param keyExtractor a function that returns a key to send a message with.
+     * @param <T> a type of the messages.
+     * @throws MessageSerializationException if any of the messages can't be serialized.
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no active transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T extends KafkaMessage> void publishAll(String topic, List<T> messages,
+                                                    Function<? super T, ?> keyExtractor) {
+        outboxEventRepository.saveAll(messages.stream()
+                .map(message -> createOutboxEvent(topic, keyExtractor.apply(message), message))
+                .toList());
+    }
+
+    private OutboxEvent createOutboxEvent(String topic, Object key, KafkaMessage message) {
+        Instant now = Instant.now();
+        if (message.getEventId() == null) {
+            message.setEventId(UUID.randomUUID().toString());
+        }
+        if (message.getCreatedAt() == null) {
+            message.setCreatedAt(now);
+        }
+        try {
+            return OutboxEvent.builder()
+                    .topic(topic)
+                    .messageKey(Objects.toString(key, null))
+                    .messageType(message.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(message))
+                    .createdAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new MessageSerializationException(e.getMessage());
+        }
+    }
+}
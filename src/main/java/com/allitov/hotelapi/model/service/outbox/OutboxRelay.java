@@ -0,0 +1,152 @@
+package com.allitov.hotelapi.model.service.outbox;
+
+import com.allitov.hotelapi.exception.MessageSerializationException;
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.model.entity.OutboxEvent;
+import com.allitov.hotelapi.model.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends messages stored by {@link OutboxPublisher} to Kafka.
+ * Messages are taken from the outbox table in batches, sent all at once and removed after
+ * Kafka has acknowledged all of them. If sending fails, the batch stays in the table and is sent again later,
+ * so messages are delivered at least once. Messages that can't be read are logged and dropped.
+ * <p>
+ * A batch is claimed in a short transaction and sent after the transaction is committed, so waiting for Kafka
+ * doesn't hold a database connection or row locks. Relays of all instances claim under the same advisory lock
+ * and only while no other batch is claimed, so one batch is sent at a time and messages with the same key
+ * are sent in the order they were stored. A batch that has failed, including a send that has failed
+ * at once or an interrupted relay, is released at once. A batch that has timed out may still be sent
+ * by the producer, so it stays claimed until the claim lease expires.
+ * The lease must exceed the producer delivery timeout.
+ * @author allitov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final KafkaTemplate<String, KafkaMessage> kafkaTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.outbox.relay.batch-size}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.send-timeout}")
+    private Duration sendTimeout;
+
+    @Value("${app.outbox.relay.claim-lease}")
+    private Duration claimLease;
+
+    /**
+     * Sends stored messages until the outbox table is drained.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.fixed-delay}")
+    public void relay() {
+        try {
+            int relayedEvents;
+            do {
+                relayedEvents = relayBatch();
+            } while (relayedEvents == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, events will be sent again: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sendAll(events);
+        } catch (TimeoutException e) {
+            throw new KafkaException("Timed out sending outbox events", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw releaseAll(events, new KafkaException("Interrupted while sending outbox events", e));
+        } catch (ExecutionException e) {
+            throw releaseAll(events, new KafkaException("Failed to send outbox events", e));
+        } catch (RuntimeException e) {
+            throw releaseAll(events, e);
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        log.debug("Relayed {} outbox events", events.size());
+
+        return events.size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        if (!outboxEventRepository.tryLockRelay() || outboxEventRepository.existsClaimed()) {
+            return List.of();
+        }
+        List<OutboxEvent> events = outboxEventRepository.findOldest(batchSize);
+        if (!events.isEmpty()) {
+            outboxEventRepository.claimAllById(ids(events), claimLease.toMillis() / 1000.0);
+        }
+
+        return events;
+    }
+
+    private KafkaMessage readMessage(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(),
+                    Class.forName(event.getMessageType()).asSubclass(KafkaMessage.class));
+        } catch (JsonProcessingException | ClassNotFoundException | ClassCastException e) {
+            throw new MessageSerializationException(e.getMessage());
+        }
+    }
+
+    private void sendAll(List<OutboxEvent> events)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                futures.add(kafkaTemplate.send(event.getTopic(), event.getMessageKey(), readMessage(event)));
+            } catch (MessageSerializationException e) {
+                log.error("Dropping unreadable outbox event with id = '{}': {}", event.getId(), e.getMessage());
+            }
+        }
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private RuntimeException releaseAll(List<OutboxEvent> events, RuntimeException cause) {
+        try {
+            outboxEventRepository.releaseAllById(ids(events));
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+
+        return cause;
+    }
+
+    private List<Long> ids(List<OutboxEvent> events) {
+        return events.stream()
+                .map(OutboxEvent::getId)
+                .toList();
+    }
+}
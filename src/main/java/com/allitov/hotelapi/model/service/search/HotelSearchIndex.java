@@ -0,0 +1,63 @@
+package com.allitov.hotelapi.model.service.search;
+
+import com.allitov.hotelapi.model.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The full-text search of hotel names, descriptions, cities and addresses.
+ * Hotels are searched in the GIN index of the search vector generated by the database from these fields,
+ * so the index is always up to date and shared by all instances.
+ * A query is split into lower-cased tokens of letters and digits, which can't contain full-text operators.
+ * @author allitov
+ */
+@Component
+@RequiredArgsConstructor
+public class HotelSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final HotelRepository hotelRepository;
+
+    @Value("${app.hotel-search.max-results}")
+    private int maxResults;
+
+    /**
+     * Returns IDs of hotels that contain every token of the query, as a whole word or as a word prefix.
+     * Hotels are ranked by the weights of the fields the tokens were found in, name weighs the most,
+     * then city and address, then description. Whole words weigh more than prefixes,
+     * hotels with equal rank are sorted by ID.
+     * @param query a text to search for.
+     * @return a list of at most max-results ranked hotel IDs.
+     */
+    public List<Integer> search(String query) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        return hotelRepository.findIdsByText(
+                tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & ")),
+                String.join(" | ", tokens),
+                maxResults);
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+}
@@ -0,0 +1,52 @@
+package com.allitov.hotelapi.model.service.util;
+
+import com.allitov.hotelapi.exception.ExceptionMessage;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+
+/**
+ * The utility class that converts the position of the last returned entity to an opaque page cursor and back.
+ * Filtered entities are sorted by ID, so the ID is both the sort key and the tiebreaker.
+ * @author allitov
+ */
+@UtilityClass
+public class CursorUtils {
+
+    private final String ID_PREFIX = "id:";
+
+    /**
+     * Returns a cursor that points right after the entity with the specified ID.
+     * @param id an ID of the last returned entity.
+     * @return an opaque cursor.
+     */
+    public String encode(Integer id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((ID_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns an ID of the last returned entity stored in the specified cursor.
+     * @param cursor a cursor to decode, may be null.
+     * @return an ID stored in the cursor or null if the cursor is null.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public Integer decode(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(ID_PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+
+            return Integer.valueOf(value.substring(ID_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(MessageFormat.format(ExceptionMessage.FILTER_INVALID_CURSOR, cursor));
+        }
+    }
+}
@@ -5,7 +5,13 @@ import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The utility class that provides different helper methods for services.
@@ -15,30 +21,73 @@ import java.lang.reflect.Field;
 @UtilityClass
 public class ServiceUtils {
 
+    private final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final ClassValue<NonNullPropertiesCopier> NON_NULL_PROPERTIES_COPIERS = new ClassValue<>() {
+        @Override
+        protected NonNullPropertiesCopier computeValue(Class<?> type) {
+            return createNonNullPropertiesCopier(type);
+        }
+    };
+
     /**
      * Copies nonnull properties from the source object to the destination object.
-     * @param source the object to copy properties to.
-     * @param destination the object to copy properties from.
+     * Properties are the instance fields declared by the source class. Method handles to access the fields
+     * are created on the first copy from an object of the class and reused afterwards.
+     * @param source the object to copy properties from.
+     * @param destination the object to copy properties to.
      * @throws NullPointerException if the source or the destination is null.
-     * @throws CopyPropertiesException if the source or the destination {@link Field} object
-     * is enforcing Java language access control and the underlying field is inaccessible.
+     * @throws IllegalArgumentException if the destination isn't an instance of the source class.
+     * @throws CopyPropertiesException if any of the source class fields is inaccessible.
      */
     public void copyNonNullProperties(@NonNull Object source, @NonNull Object destination) {
         Class<?> sourceClass = source.getClass();
-        Field[] fields = sourceClass.getDeclaredFields();
+        if (!sourceClass.isInstance(destination)) {
+            throw new IllegalArgumentException("Can't copy properties of " + sourceClass.getName()
+                    + " to " + destination.getClass().getName());
+        }
 
-        try {
-            for (Field field : fields) {
-                field.setAccessible(true);
-                Object value = field.get(source);
+        NON_NULL_PROPERTIES_COPIERS.get(sourceClass).copy(source, destination);
+    }
 
-                if (value != null) {
-                    field.set(destination, value);
+    private NonNullPropertiesCopier createNonNullPropertiesCopier(Class<?> type) {
+        List<MethodHandle> getters = new ArrayList<>();
+        List<MethodHandle> setters = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
                 }
+                field.setAccessible(true);
+                getters.add(lookup.unreflectGetter(field).asType(GETTER_TYPE));
+                setters.add(lookup.unreflectSetter(field).asType(SETTER_TYPE));
             }
         } catch (IllegalAccessException e) {
             log.warn("Exception was thrown during copyNonNullProperties() method: {}", e.getMessage());
             throw new CopyPropertiesException(e.getMessage());
         }
+
+        return new NonNullPropertiesCopier(getters.toArray(MethodHandle[]::new), setters.toArray(MethodHandle[]::new));
+    }
+
+    private record NonNullPropertiesCopier(MethodHandle[] getters, MethodHandle[] setters) {
+
+        void copy(Object source, Object destination) {
+            try {
+                for (int i = 0; i < getters.length; i++) {
+                    Object value = (Object) getters[i].invokeExact(source);
+                    if (value != null) {
+                        setters[i].invokeExact(destination, value);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new CopyPropertiesException(e.getMessage());
+            }
+        }
     }
 }
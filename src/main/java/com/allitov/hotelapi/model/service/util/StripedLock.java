@@ -0,0 +1,76 @@
+package com.allitov.hotelapi.model.service.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The fixed set of locks, each of them guards all keys that hash to it.
+ * Operations on keys that map to different stripes don't block each other.
+ * @author allitov
+ */
+public class StripedLock {
+
+    private final Lock[] locks;
+
+    /**
+     * Creates striped lock with at least the specified number of stripes.
+     * The number of stripes is rounded up to the nearest power of two.
+     * @param stripes a minimal number of stripes.
+     * @throws IllegalArgumentException if the number of stripes is not positive.
+     */
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes must be > 0.");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+
+        locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Returns a lock that guards the specified key.
+     * @param key a key to get a lock for.
+     * @return a lock that guards the key.
+     */
+    public Lock get(Object key) {
+        return locks[indexOf(key)];
+    }
+
+    /**
+     * Returns distinct locks that guard the specified keys.
+     * Locks are always returned in the same order, so acquiring them one by one doesn't lead to a deadlock.
+     * @param keys keys to get locks for.
+     * @return a list of distinct locks that guard the keys.
+     */
+    public List<Lock> getAll(Collection<?> keys) {
+        return keys.stream()
+                .mapToInt(this::indexOf)
+                .distinct()
+                .sorted()
+                .mapToObj(index -> locks[index])
+                .toList();
+    }
+
+    /**
+     * Returns the number of stripes.
+     * @return the number of stripes.
+     */
+    public int size() {
+        return locks.length;
+    }
+
+    private int indexOf(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+
+        return hash & (locks.length - 1);
+    }
+}
@@ -1,28 +1,25 @@
 package com.allitov.hotelapi.security;
 
 import com.allitov.hotelapi.exception.ExceptionMessage;
-import com.allitov.hotelapi.web.dto.response.ErrorResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.allitov.hotelapi.web.dto.response.ErrorResponseBodies;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.io.OutputStream;
 
 /**
  * Implementation of AuthenticationEntryPoint.
+ * The response body is computed once, since the response is the same for every request.
  * @author allitov
  */
 @Component
-@RequiredArgsConstructor
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper;
+    private static final byte[] RESPONSE_BODY = ErrorResponseBodies.of(ExceptionMessage.AUTHENTICATION_FAILURE);
 
     @Override
     public void commence(HttpServletRequest request,
@@ -30,9 +27,8 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
                          AuthenticationException authException) throws IOException {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        ErrorResponse responseBody = new ErrorResponse(ExceptionMessage.AUTHENTICATION_FAILURE);
-        OutputStream responseStream = response.getOutputStream();
-        objectMapper.writeValue(responseStream, responseBody);
-        responseStream.flush();
+        response.setContentLength(RESPONSE_BODY.length);
+        response.getOutputStream().write(RESPONSE_BODY);
+        response.getOutputStream().flush();
     }
 }
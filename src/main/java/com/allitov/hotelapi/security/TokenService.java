@@ -0,0 +1,69 @@
+package com.allitov.hotelapi.security;
+
+import com.allitov.hotelapi.model.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Issues signed short-lived access tokens for authenticated users and restores users from them.
+ * A token carries the user ID, username and role, so requests with a token are authenticated
+ * by checking its HMAC signature without a password check or a database query.
+ * @author allitov
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenService {
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String ROLE_CLAIM = "role";
+
+    private final JwtEncoder jwtEncoder;
+
+    @Value("${app.security.token.issuer}")
+    private String issuer;
+
+    @Value("${app.security.token.time-to-live}")
+    private Duration timeToLive;
+
+    /**
+     * Returns a new access token for the specified user.
+     * @param userDetails an authenticated user to issue the token for.
+     * @return a signed access token.
+     */
+    public Jwt issue(UserDetailsImpl userDetails) {
+        User user = userDetails.getUser();
+        Instant issuedAt = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(user.getUsername())
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(timeToLive))
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .build();
+
+        return jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims));
+    }
+
+    /**
+     * Returns user details restored from the claims of the specified verified token.
+     * @param jwt a verified access token.
+     * @return user details with the user ID, username and role stored in the token.
+     */
+    public UserDetailsImpl toUserDetails(Jwt jwt) {
+        User user = User.builder()
+                .id(jwt.<Number>getClaim(USER_ID_CLAIM).intValue())
+                .username(jwt.getSubject())
+                .role(User.RoleType.valueOf(jwt.getClaimAsString(ROLE_CLAIM)))
+                .build();
+
+        return new UserDetailsImpl(user);
+    }
+}
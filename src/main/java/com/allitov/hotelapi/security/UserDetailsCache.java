@@ -0,0 +1,119 @@
+package com.allitov.hotelapi.security;
+
+import com.allitov.hotelapi.message.UserChangeMessage;
+import com.allitov.hotelapi.model.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The bounded cache of user details keyed by username.
+ * Entries are evicted by size and age, and invalidated as soon as the user is updated or deleted
+ * on this node or, if distributed invalidation is enabled, on any other node.
+ * @author allitov
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserDetailsImpl> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates user details cache.
+     * @param maximumSize the maximum number of cached users.
+     * @param expireAfterWrite the time after which cached user details expire.
+     */
+    public UserDetailsCache(@Value("${app.security.user-cache.maximum-size}") long maximumSize,
+                            @Value("${app.security.user-cache.expire-after-write}") Duration expireAfterWrite) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Returns cached details of the user with the specified username or loads and caches them.
+     * Details loaded while any user was invalidated aren't kept, since they may already be stale.
+     * @param username a username of the user.
+     * @param loader a loader to find the user details if they aren't cached.
+     * @return user details found by username.
+     */
+    public UserDetailsImpl get(String username, Supplier<UserDetailsImpl> loader) {
+        UserDetailsImpl userDetails = cache.getIfPresent(username);
+        if (userDetails != null) {
+            return userDetails;
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+        userDetails = loader.get();
+        cache.put(username, userDetails);
+        if (invalidations.get() != invalidationsBeforeLoad) {
+            cache.invalidate(username);
+        }
+
+        return userDetails;
+    }
+
+    /**
+     * Invalidates details of the user changed on this node once the change is committed.
+     * @param event an event with the changed user ID.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidateUser(event.getUserId());
+    }
+
+    /**
+     * Invalidates details of the users changed on any node. Every node consumes the topic
+     * with its own consumer group, so every node receives every message. The group is named
+     * after the instance ID, so a restarted node reuses its group instead of leaving a new one
+     * on the broker on every start, and a new node starts from the latest messages.
+     * If neither the instance ID nor the host name is set, the group is named after a random UUID
+     * generated on start, so nodes never share a group and miss each other's invalidations.
+     * @param messages messages with the changed user IDs.
+     */
+    @KafkaListener(
+            topics = "${app.kafka.topic.user-change}",
+            groupId = "${app.kafka.group-id.user-cache}",
+            containerFactory = "listenerContainerFactory",
+            autoStartup = "${app.security.user-cache.distributed-invalidation}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onUserChangeMessages(@Payload List<UserChangeMessage> messages) {
+        for (UserChangeMessage message : messages) {
+            log.debug("Invalidating cached user with id = '{}'", message.getUserId());
+            invalidateUser(message.getUserId());
+        }
+    }
+
+    /**
+     * Invalidates details of the user with the specified ID.
+     * @param userId an ID of the changed user.
+     */
+    public void invalidateUser(Integer userId) {
+        invalidations.incrementAndGet();
+        cache.asMap().values().removeIf(
+                userDetails -> Objects.equals(userDetails.getUser().getId(), userId));
+    }
+
+    /**
+     * Invalidates all cached user details.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
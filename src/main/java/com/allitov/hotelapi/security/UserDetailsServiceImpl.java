@@ -9,6 +9,8 @@ import org.springframework.stereotype.Service;
 
 /**
  * Implementation of UserDetailsService.
+ * Users are looked up in {@link UserDetailsCache} first, so authentication doesn't hit the database
+ * for recently authenticated users.
  * @author allitov
  */
 @Service
@@ -17,8 +19,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserService userService;
 
+    private final UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return new UserDetailsImpl(userService.findByUsername(username));
+        return userDetailsCache.get(username, () -> new UserDetailsImpl(userService.findByUsername(username)));
     }
 }
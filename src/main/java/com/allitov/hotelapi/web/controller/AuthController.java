@@ -0,0 +1,80 @@
+package com.allitov.hotelapi.web.controller;
+
+import com.allitov.hotelapi.security.TokenService;
+import com.allitov.hotelapi.security.UserDetailsImpl;
+import com.allitov.hotelapi.web.dto.response.ErrorResponse;
+import com.allitov.hotelapi.web.dto.response.TokenResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * The controller class for authentication.
+ * @author allitov
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication controller", description = "Authentication controller API version 1.0")
+public class AuthController {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final TokenService tokenService;
+
+    @Operation(
+            summary = "Issue access token",
+            description = "Issue a short-lived access token for the user authenticated with username and password. " +
+                    "The token is passed in the 'Authorization: Bearer' header instead of username and password " +
+                    "to any endpoint until it expires. Requires any of the authorities: ['ADMIN', 'USER'].",
+            security = @SecurityRequirement(name = "Basic authorisation")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and access token if everything completed successfully.",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = TokenResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized.",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        log.info("Issue token request for user with username = '{}'", userDetails.getUsername());
+        Jwt token = tokenService.issue(userDetails);
+
+        return ResponseEntity.ok(TokenResponse.builder()
+                .accessToken(token.getTokenValue())
+                .tokenType(TOKEN_TYPE)
+                .expiresIn(Duration.between(token.getIssuedAt(), token.getExpiresAt()).toSeconds())
+                .build());
+    }
+}
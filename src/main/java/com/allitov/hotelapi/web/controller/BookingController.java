@@ -2,6 +2,7 @@ package com.allitov.hotelapi.web.controller;
 
 import com.allitov.hotelapi.model.service.BookingService;
 import com.allitov.hotelapi.web.dto.filter.BookingFilter;
+import com.allitov.hotelapi.web.dto.request.BookingBatchRequest;
 import com.allitov.hotelapi.web.dto.request.BookingRequest;
 import com.allitov.hotelapi.web.dto.response.*;
 import com.allitov.hotelapi.web.mapping.BookingMapper;
@@ -38,7 +39,10 @@ public class BookingController {
             summary = "Get all bookings",
             description = "Get all bookings. Returns a list of bookings. " +
                     "Requires any of the authorities: ['ADMIN'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -82,8 +86,13 @@ public class BookingController {
     @Operation(
             summary = "Get bookings by filter",
             description = "Get bookings by filter. Returns a list of bookings with counter. " +
+                    "If the page is full, the response contains 'nextCursor' to pass as 'after' " +
+                    "with the same page size to get the next page. " +
                     "Requires any of the authorities: ['ADMIN'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -132,14 +141,18 @@ public class BookingController {
     public ResponseEntity<BookingListWithCounterResponse> filterBy(@Valid BookingFilter filter) {
         log.info("Filter by request with filter: '{}'", filter);
 
-        return ResponseEntity.ok(bookingMapper.entityListToListWithCounterResponse(bookingService.filterBy(filter)));
+        return ResponseEntity.ok(bookingMapper.entityListToListWithCounterResponse(
+                bookingService.filterBy(filter), filter));
     }
 
     @Operation(
             summary = "Create booking",
             description = "Create booking. Returns a created booking. " +
                     "Requires any of the authorities: ['ADMIN', 'USER'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -197,4 +210,78 @@ public class BookingController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    @Operation(
+            summary = "Create bookings in batch",
+            description = "Create up to 1000 bookings at once. Either all bookings are created or none of them. " +
+                    "Returns a list of created bookings. " +
+                    "Requires any of the authorities: ['ADMIN'].",
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 201 and list of created bookings " +
+                            "if everything completed successfully.",
+                    responseCode = "201",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = BookingListResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if request has invalid values " +
+                            "or dates of any booking are unavailable.",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized.",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities.",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 404 and error message " +
+                            "if request contains nonexistent user id or room id.",
+                    responseCode = "404",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BookingListResponse> createAll(@Valid @RequestBody BookingBatchRequest request) {
+        log.info("Create batch request with {} bookings", request.getBookings().size());
+        BookingListResponse response = bookingMapper.entityListToListResponse(
+                bookingService.createAll(bookingMapper.batchRequestToEntityList(request)));
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
 }
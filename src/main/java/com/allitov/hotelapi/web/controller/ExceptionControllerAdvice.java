@@ -1,12 +1,14 @@
 package com.allitov.hotelapi.web.controller;
 
 import com.allitov.hotelapi.exception.IllegalDataAccessException;
-import com.allitov.hotelapi.web.dto.response.ErrorResponse;
+import com.allitov.hotelapi.web.dto.response.ErrorResponseBodies;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindingResult;
@@ -21,6 +23,7 @@ import java.util.stream.Collectors;
 
 /**
  * The class that handles errors and creates a response.
+ * Response bodies are written by {@link ErrorResponseBodies} without going through the object mapper.
  * @author allitov
  */
 @Slf4j
@@ -28,15 +31,18 @@ import java.util.stream.Collectors;
 public class ExceptionControllerAdvice {
 
     /**
-     * Creates responses for <em>not found</em> exception types.
+     * Creates responses for <em>not found</em> exception types. The exceptions are logged at the debug level,
+     * since requests of nonexistent entities are common and don't need attention.
      * @param e exception to handle.
      * @return status 404 and response body.
      */
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<ErrorResponse> notFoundHandler(Exception e) {
-        logExceptionHandling(e);
+    public ResponseEntity<byte[]> notFoundHandler(Exception e) {
+        if (log.isDebugEnabled()) {
+            log.debug("Handle {} with message = '{}'", e.getClass().getName(), e.getMessage());
+        }
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
     /**
@@ -45,10 +51,10 @@ public class ExceptionControllerAdvice {
      * @return status 409 and response body.
      */
     @ExceptionHandler(EntityExistsException.class)
-    public ResponseEntity<ErrorResponse> entityExistsHandler(Exception e) {
+    public ResponseEntity<byte[]> entityExistsHandler(Exception e) {
         logExceptionHandling(e);
 
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        return errorResponse(HttpStatus.CONFLICT, e.getMessage());
     }
 
     /**
@@ -63,7 +69,7 @@ public class ExceptionControllerAdvice {
             DateTimeException.class,
             IllegalArgumentException.class,
     })
-    public ResponseEntity<ErrorResponse> badRequestHandler(Exception e) {
+    public ResponseEntity<byte[]> badRequestHandler(Exception e) {
         logExceptionHandling(e);
 
         if (e instanceof MethodArgumentNotValidException ex) {
@@ -72,10 +78,10 @@ public class ExceptionControllerAdvice {
                     .stream()
                     .map(DefaultMessageSourceResolvable::getDefaultMessage)
                     .collect(Collectors.joining("; "));
-            return ResponseEntity.badRequest().body(new ErrorResponse(errorMessage));
+            return errorResponse(HttpStatus.BAD_REQUEST, errorMessage);
         }
 
-        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
     }
 
     /**
@@ -84,10 +90,10 @@ public class ExceptionControllerAdvice {
      * @return status 403 and response body.
      */
     @ExceptionHandler(IllegalDataAccessException.class)
-    public ResponseEntity<ErrorResponse> forbiddenHandler(Exception e) {
+    public ResponseEntity<byte[]> forbiddenHandler(Exception e) {
         logExceptionHandling(e);
 
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ErrorResponse(e.getMessage()));
+        return errorResponse(HttpStatus.FORBIDDEN, e.getMessage());
     }
 
     /**
@@ -96,10 +102,10 @@ public class ExceptionControllerAdvice {
      * @return status 405 and response body.
      */
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
-    public ResponseEntity<ErrorResponse> methodNotAllowedHandler(Exception e) {
+    public ResponseEntity<byte[]> methodNotAllowedHandler(Exception e) {
         logExceptionHandling(e);
 
-        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(new ErrorResponse(e.getMessage()));
+        return errorResponse(HttpStatus.METHOD_NOT_ALLOWED, e.getMessage());
     }
 
     /**
@@ -108,13 +114,19 @@ public class ExceptionControllerAdvice {
      * @return status 500.
      */
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<ErrorResponse> internalServerErrorHandler(Exception e) {
+    public ResponseEntity<byte[]> internalServerErrorHandler(Exception e) {
         log.error("Handle {} with message = '{}'. Stack trace: {}",
                 e.getClass().getName(), e.getMessage(), e.getStackTrace());
 
         return ResponseEntity.internalServerError().build();
     }
 
+    private ResponseEntity<byte[]> errorResponse(HttpStatusCode status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorResponseBodies.of(message));
+    }
+
     private void logExceptionHandling(Exception e) {
         log.info("Handle {} with message = '{}'", e.getClass().getName(), e.getMessage());
     }
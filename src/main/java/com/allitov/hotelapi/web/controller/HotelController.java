@@ -2,6 +2,7 @@ package com.allitov.hotelapi.web.controller;
 
 import com.allitov.hotelapi.model.service.HotelService;
 import com.allitov.hotelapi.web.dto.filter.HotelFilter;
+import com.allitov.hotelapi.web.dto.request.HotelBatchRequest;
 import com.allitov.hotelapi.web.dto.request.HotelRequest;
 import com.allitov.hotelapi.web.dto.response.ErrorResponse;
 import com.allitov.hotelapi.web.dto.response.HotelListResponse;
@@ -20,6 +21,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -44,7 +46,10 @@ public class HotelController {
             summary = "Get all hotels",
             description = "Get all hotels. Returns a list of hotels. " +
                     "Requires any of the authorities: ['ADMIN', 'USER'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -88,8 +93,15 @@ public class HotelController {
     @Operation(
             summary = "Get hotels by filter",
             description = "Get hotels by filter. Returns a list of hotels with counter. " +
+                    "If 'q' is specified, hotels whose name, description, city or address contain every word " +
+                    "of it as a word or a word prefix are returned, the best matches first. " +
+                    "If the page is full, the response contains 'nextCursor' to pass as 'after' " +
+                    "with the same page size to get the next page. " +
                     "Requires any of the authorities: ['ADMIN', 'USER'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -138,7 +150,8 @@ public class HotelController {
     public ResponseEntity<HotelListWithCounterResponse> filterBy(@Valid HotelFilter filter) {
         log.info("Filter by request with filter: '{}'", filter);
 
-        return ResponseEntity.ok(hotelMapper.entityListToListWithCounterResponse(hotelService.filterBy(filter)));
+        return ResponseEntity.ok(hotelMapper.entityListToListWithCounterResponse(
+                hotelService.filterBy(filter), filter));
     }
 
     @Operation(
@@ -148,7 +161,10 @@ public class HotelController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -203,7 +219,10 @@ public class HotelController {
             summary = "Create hotel",
             description = "Create hotel. Returns a created hotel location. " +
                     "Requires any of the authorities: ['ADMIN'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -254,6 +273,68 @@ public class HotelController {
         ).build();
     }
 
+    @Operation(
+            summary = "Create hotels in batch",
+            description = "Create up to 1000 hotels at once. Either all hotels are created or none of them. " +
+                    "Returns a list of created hotels. " +
+                    "Requires any of the authorities: ['ADMIN'].",
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 201 and list of created hotels " +
+                            "if everything completed successfully.",
+                    responseCode = "201",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = HotelListResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if request has invalid values.",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized.",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities.",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<HotelListResponse> createAll(@Valid @RequestBody HotelBatchRequest request) {
+        log.info("Create batch request with {} hotels", request.getHotels().size());
+        HotelListResponse response = hotelMapper.entityListToListResponse(
+                hotelService.createAll(hotelMapper.batchRequestToEntityList(request)));
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @Operation(
             summary = "Update hotel by id",
             description = "Update hotel by id. Returns status 204. " +
@@ -261,7 +342,10 @@ public class HotelController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -325,7 +409,10 @@ public class HotelController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -369,7 +456,10 @@ public class HotelController {
                     @Parameter(name = "id", example = "1"),
                     @Parameter(name = "newMark", example = "5")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -2,6 +2,7 @@ package com.allitov.hotelapi.web.controller;
 
 import com.allitov.hotelapi.model.service.RoomService;
 import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import com.allitov.hotelapi.web.dto.request.RoomBatchRequest;
 import com.allitov.hotelapi.web.dto.request.RoomRequest;
 import com.allitov.hotelapi.web.dto.response.ErrorResponse;
 import com.allitov.hotelapi.web.dto.response.RoomListResponse;
@@ -20,6 +21,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -44,7 +46,10 @@ public class RoomController {
             summary = "Get all rooms",
             description = "Get all rooms. Returns a list of rooms. " +
                     "Requires any of the authorities: ['ADMIN', 'USER'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -88,8 +93,13 @@ public class RoomController {
     @Operation(
             summary = "Get rooms by filter",
             description = "Get rooms by filter. Returns a list of rooms with counter. " +
+                    "If the page is full, the response contains 'nextCursor' to pass as 'after' " +
+                    "with the same page size to get the next page. " +
                     "Requires any of the authorities: ['ADMIN', 'USER'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -138,7 +148,8 @@ public class RoomController {
     public ResponseEntity<RoomListWithCounterResponse> filterBy(@Valid RoomFilter filter) {
         log.info("Filter by request with filter: '{}'", filter);
 
-        return ResponseEntity.ok(roomMapper.entityListToListWithCounterResponse(roomService.filterBy(filter)));
+        return ResponseEntity.ok(roomMapper.entityListToListWithCounterResponse(
+                roomService.filterBy(filter), filter));
     }
 
     @Operation(
@@ -148,7 +159,10 @@ public class RoomController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -203,7 +217,10 @@ public class RoomController {
             summary = "Create room",
             description = "Create room. Returns a created room location. " +
                     "Requires any of the authorities: ['ADMIN'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -264,6 +281,78 @@ public class RoomController {
         ).build();
     }
 
+    @Operation(
+            summary = "Create rooms in batch",
+            description = "Create up to 1000 rooms at once. Either all rooms are created or none of them. " +
+                    "Returns a list of created rooms. " +
+                    "Requires any of the authorities: ['ADMIN'].",
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 201 and list of created rooms " +
+                            "if everything completed successfully.",
+                    responseCode = "201",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = RoomListResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if request has invalid values.",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized.",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities.",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 404 and error message if request contains nonexistent hotel id.",
+                    responseCode = "404",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<RoomListResponse> createAll(@Valid @RequestBody RoomBatchRequest request) {
+        log.info("Create batch request with {} rooms", request.getRooms().size());
+        RoomListResponse response = roomMapper.entityListToListResponse(
+                roomService.createAll(roomMapper.batchRequestToEntityList(request)));
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @Operation(
             summary = "Update room by id",
             description = "Update room by id. Returns status 204. " +
@@ -271,7 +360,10 @@ public class RoomController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -336,7 +428,10 @@ public class RoomController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
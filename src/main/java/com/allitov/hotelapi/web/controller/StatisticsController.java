@@ -2,7 +2,10 @@ package com.allitov.hotelapi.web.controller;
 
 import com.allitov.hotelapi.message.KafkaMessage;
 import com.allitov.hotelapi.model.service.StatisticsService;
+import com.allitov.hotelapi.web.dto.filter.DailyStatisticsFilter;
+import com.allitov.hotelapi.web.dto.response.DailyStatisticsListResponse;
 import com.allitov.hotelapi.web.dto.response.ErrorResponse;
+import com.allitov.hotelapi.web.mapping.StatisticsMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,17 +13,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
 
 /**
  * The controller class for the booking statistics entity.
@@ -33,13 +39,23 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Statistics controller", description = "Statistics API version 1.0")
 public class StatisticsController {
 
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final StatisticsService<KafkaMessage> statisticsService;
 
+    private final StatisticsMapper statisticsMapper;
+
     @Operation(
             summary = "Get statistics",
-            description = "Get statistics. Returns a CSV file with statistics. " +
+            description = "Get statistics. Returns a CSV file with statistics, " +
+                    "compressed with gzip if 'gzip' is true. The file is streamed as it's read from the database. " +
                     "Requires any of the authorities: ['ADMIN'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -49,6 +65,9 @@ public class StatisticsController {
                     content = {
                             @Content(
                                     mediaType = "application/octet-stream"
+                            ),
+                            @Content(
+                                    mediaType = "application/gzip"
                             )
                     }
             ),
@@ -74,16 +93,90 @@ public class StatisticsController {
             )
     })
     @GetMapping
-    public ResponseEntity<Resource> getStatistics() {
-        log.info("Get statistics request");
-
-        byte[] data = statisticsService.getData();
+    public ResponseEntity<StreamingResponseBody> getStatistics(
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        log.info("Get statistics request with gzip = {}", gzip);
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentDisposition(ContentDisposition.attachment().filename("statistics.csv").build());
-        headers.setContentLength(data.length);
-        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        if (gzip) {
+            headers.setContentDisposition(ContentDisposition.attachment().filename("statistics.csv.gz").build());
+            headers.setContentType(GZIP);
+        } else {
+            headers.setContentDisposition(ContentDisposition.attachment().filename("statistics.csv").build());
+            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                statisticsService.writeData(gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                statisticsService.writeData(outputStream);
+            }
+        };
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    @Operation(
+            summary = "Get daily statistics",
+            description = "Get statistics of every day in the period from 'from' to 'to' inclusive. " +
+                    "Returns a list of numbers of bookings, nights booked, distinct booking users " +
+                    "and registrations by day. Requires any of the authorities: ['ADMIN'].",
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Returns status 200 and list of daily statistics " +
+                            "if everything completed successfully.",
+                    responseCode = "200",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = DailyStatisticsListResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 400 and error message if request has invalid values.",
+                    responseCode = "400",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 401 and error message if user is not authorized.",
+                    responseCode = "401",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    description = "Returns status 403 and error message if user has no required authorities.",
+                    responseCode = "403",
+                    content = {
+                            @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = "application/json"
+                            )
+                    }
+            )
+    })
+    @GetMapping("/daily")
+    public ResponseEntity<DailyStatisticsListResponse> getDailyStatistics(@Valid DailyStatisticsFilter filter) {
+        log.info("Get daily statistics request with filter: '{}'", filter);
 
-        return ResponseEntity.ok().headers(headers).body(new ByteArrayResource(data));
+        return ResponseEntity.ok(statisticsMapper.dailyEntityListToListResponse(
+                statisticsService.getDailyStatistics(filter.getFrom(), filter.getTo())));
     }
 }
@@ -44,7 +44,10 @@ public class UserController {
             summary = "Get all users",
             description = "Get all users. Returns a list of users. " +
                     "Requires any of the authorities: ['ADMIN'].",
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -92,7 +95,10 @@ public class UserController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -194,7 +200,10 @@ public class UserController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
@@ -271,7 +280,10 @@ public class UserController {
             parameters = {
                     @Parameter(name = "id", example = "1")
             },
-            security = @SecurityRequirement(name = "Basic authorisation")
+            security = {
+                    @SecurityRequirement(name = "Basic authorisation"),
+                    @SecurityRequirement(name = "Bearer token")
+            }
     )
     @ApiResponses({
             @ApiResponse(
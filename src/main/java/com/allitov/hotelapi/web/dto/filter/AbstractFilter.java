@@ -24,4 +24,7 @@ public abstract class AbstractFilter {
     @PositiveOrZero(message = ExceptionMessage.FILTER_INVALID_PAGE_NUMBER)
     @Schema(example = "0")
     protected Integer pageNumber;
+
+    @Schema(example = "aWQ6MTA")
+    protected String after;
 }
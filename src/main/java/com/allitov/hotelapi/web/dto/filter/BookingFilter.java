@@ -11,8 +11,8 @@ import lombok.*;
 public class BookingFilter extends AbstractFilter {
 
     @Builder
-    public BookingFilter(Integer pageSize, Integer pageNumber) {
-        super(pageSize, pageNumber);
+    public BookingFilter(Integer pageSize, Integer pageNumber, String after) {
+        super(pageSize, pageNumber, after);
     }
 
     public BookingFilter() {
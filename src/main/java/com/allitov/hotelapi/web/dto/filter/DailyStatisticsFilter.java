@@ -0,0 +1,30 @@
+package com.allitov.hotelapi.web.dto.filter;
+
+import com.allitov.hotelapi.exception.ExceptionMessage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * The filter request class for daily statistics.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatisticsFilter {
+
+    @NotNull(message = ExceptionMessage.STATISTICS_NULL_FROM_DATE)
+    @Schema(example = "2024-01-01")
+    private LocalDate from;
+
+    @NotNull(message = ExceptionMessage.STATISTICS_NULL_TO_DATE)
+    @Schema(example = "2024-01-31")
+    private LocalDate to;
+}
@@ -37,11 +37,14 @@ public class HotelFilter extends AbstractFilter {
     @Schema(example = "299")
     private Integer numberOfRatings;
 
+    @Schema(example = "grand mosc")
+    private String q;
+
     @Builder
-    public HotelFilter(Integer pageSize, Integer pageNumber, List<Integer> id, String name,
+    public HotelFilter(Integer pageSize, Integer pageNumber, String after, List<Integer> id, String name,
                        String description, String city, String address,
-                       Float distanceFromCenter, Float rating, Integer numberOfRatings) {
-        super(pageSize, pageNumber);
+                       Float distanceFromCenter, Float rating, Integer numberOfRatings, String q) {
+        super(pageSize, pageNumber, after);
         this.id = id;
         this.name = name;
         this.description = description;
@@ -50,6 +53,7 @@ public class HotelFilter extends AbstractFilter {
         this.distanceFromCenter = distanceFromCenter;
         this.rating = rating;
         this.numberOfRatings = numberOfRatings;
+        this.q = q;
     }
 
     public HotelFilter() {
@@ -66,8 +70,10 @@ public class HotelFilter extends AbstractFilter {
                 ", distanceFromCenter=" + distanceFromCenter +
                 ", rating=" + rating +
                 ", numberOfRatings=" + numberOfRatings +
+                ", q=" + q +
                 ", pageSize=" + pageSize +
                 ", pageNumber=" + pageNumber +
+                ", after=" + after +
                 ')';
     }
 }
@@ -40,10 +40,10 @@ public class RoomFilter extends AbstractFilter {
     private Integer hotelId;
 
     @Builder
-    public RoomFilter(Integer pageSize, Integer pageNumber, List<Integer> id, String description,
+    public RoomFilter(Integer pageSize, Integer pageNumber, String after, List<Integer> id, String description,
                       BigDecimal minPrice, BigDecimal maxPrice, Short maxPeople,
                       LocalDate from, LocalDate to, Integer hotelId) {
-        super(pageSize, pageNumber);
+        super(pageSize, pageNumber, after);
         this.id = id;
         this.description = description;
         this.minPrice = minPrice;
@@ -70,6 +70,7 @@ public class RoomFilter extends AbstractFilter {
                 ", hotelId=" + hotelId +
                 ", pageSize=" + pageSize +
                 ", pageNumber=" + pageNumber +
+                ", after=" + after +
                 ')';
     }
 }
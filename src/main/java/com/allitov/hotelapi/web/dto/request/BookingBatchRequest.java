@@ -0,0 +1,30 @@
+package com.allitov.hotelapi.web.dto.request;
+
+import com.allitov.hotelapi.exception.ExceptionMessage;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The DTO batch request class for the booking entity.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchRequest {
+
+    @Valid
+    @NotEmpty(message = ExceptionMessage.BOOKING_EMPTY_BATCH)
+    @Size(max = 1000, message = ExceptionMessage.BOOKING_INVALID_BATCH_SIZE)
+    @Builder.Default
+    private List<BookingRequest> bookings = new ArrayList<>();
+}
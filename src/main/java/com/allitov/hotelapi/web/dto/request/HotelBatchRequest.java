@@ -0,0 +1,30 @@
+package com.allitov.hotelapi.web.dto.request;
+
+import com.allitov.hotelapi.exception.ExceptionMessage;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The DTO batch request class for the hotel entity.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelBatchRequest {
+
+    @Valid
+    @NotEmpty(message = ExceptionMessage.HOTEL_EMPTY_BATCH)
+    @Size(max = 1000, message = ExceptionMessage.HOTEL_INVALID_BATCH_SIZE)
+    @Builder.Default
+    private List<HotelRequest> hotels = new ArrayList<>();
+}
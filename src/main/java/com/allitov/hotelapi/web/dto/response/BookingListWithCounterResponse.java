@@ -1,5 +1,6 @@
 package com.allitov.hotelapi.web.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,4 +22,8 @@ public class BookingListWithCounterResponse {
     private Integer count;
 
     private List<BookingResponse> bookings = new ArrayList<>();
+
+    @Schema(example = "aWQ6MTA")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
@@ -0,0 +1,20 @@
+package com.allitov.hotelapi.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The DTO list response class for statistics of days.
+ * @author allitov
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatisticsListResponse {
+
+    private List<DailyStatisticsResponse> days = new ArrayList<>();
+}
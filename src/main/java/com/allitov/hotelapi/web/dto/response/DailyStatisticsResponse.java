@@ -0,0 +1,35 @@
+package com.allitov.hotelapi.web.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * The DTO response class for statistics of a day.
+ * @author allitov
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatisticsResponse {
+
+    @Schema(example = "2024-01-01")
+    private LocalDate date;
+
+    @Schema(example = "12")
+    private Long bookings;
+
+    @Schema(example = "30")
+    private Long nightsBooked;
+
+    @Schema(example = "10")
+    private Long distinctUsers;
+
+    @Schema(example = "3")
+    private Long registrations;
+}
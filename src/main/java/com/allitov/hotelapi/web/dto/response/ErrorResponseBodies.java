@@ -0,0 +1,41 @@
+package com.allitov.hotelapi.web.dto.response;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The utility class that writes {@link ErrorResponse} bodies as JSON bytes. Bodies are built from
+ * precomputed JSON fragments around the escaped message, so error responses are written without
+ * creating response objects and going through the object mapper.
+ * @author allitov
+ */
+@UtilityClass
+public class ErrorResponseBodies {
+
+    private final byte[] PREFIX = "{\"errorMessage\":\"".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] NULL_MESSAGE_BODY = "{\"errorMessage\":null}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Returns the JSON body of an error response with the specified message.
+     * Bodies of constant messages should be computed once and reused.
+     * @param message a message of the error.
+     * @return the JSON body of the error response.
+     */
+    public byte[] of(String message) {
+        if (message == null) {
+            return NULL_MESSAGE_BODY.clone();
+        }
+        byte[] escapedMessage = JsonStringEncoder.getInstance().quoteAsUTF8(message);
+        byte[] body = Arrays.copyOf(PREFIX, PREFIX.length + escapedMessage.length + SUFFIX.length);
+        System.arraycopy(escapedMessage, 0, body, PREFIX.length, escapedMessage.length);
+        System.arraycopy(SUFFIX, 0, body, PREFIX.length + escapedMessage.length, SUFFIX.length);
+
+        return body;
+    }
+}
@@ -1,6 +1,9 @@
 package com.allitov.hotelapi.web.mapping;
 
 import com.allitov.hotelapi.model.entity.Booking;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.BookingFilter;
+import com.allitov.hotelapi.web.dto.request.BookingBatchRequest;
 import com.allitov.hotelapi.web.dto.request.BookingRequest;
 import com.allitov.hotelapi.web.dto.response.BookingListResponse;
 import com.allitov.hotelapi.web.dto.response.BookingListWithCounterResponse;
@@ -27,6 +30,15 @@ public interface BookingMapper {
      */
     Booking requestToEntity(BookingRequest request);
 
+    /**
+     * Creates a list of booking entities from a booking batch request DTO and returns it.
+     * @param request a booking batch request DTO to create a list of booking entities from.
+     * @return a list of booking entities.
+     */
+    default List<Booking> batchRequestToEntityList(BookingBatchRequest request) {
+        return request.getBookings().stream().map(this::requestToEntity).toList();
+    }
+
     /**
      * Creates a booking response DTO from a booking entity and returns it.
      * @param booking a booking entity to create a booking response DTO from.
@@ -58,4 +70,20 @@ public interface BookingMapper {
 
         return response;
     }
+
+    /**
+     * Creates a booking list with counter response DTO from a page of booking entities and returns it.
+     * If the page is full, the response contains a cursor that points to the next page.
+     * @param bookings a page of booking entities to create a booking list with counter response DTO from.
+     * @param filter a filter the page was found by.
+     * @return a booking list with counter response DTO.
+     */
+    default BookingListWithCounterResponse entityListToListWithCounterResponse(List<Booking> bookings, BookingFilter filter) {
+        BookingListWithCounterResponse response = entityListToListWithCounterResponse(bookings);
+        if (filter.getPageSize() != null && bookings.size() == filter.getPageSize()) {
+            response.setNextCursor(CursorUtils.encode(bookings.get(bookings.size() - 1).getId()));
+        }
+
+        return response;
+    }
 }
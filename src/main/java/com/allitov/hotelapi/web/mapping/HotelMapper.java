@@ -1,6 +1,9 @@
 package com.allitov.hotelapi.web.mapping;
 
 import com.allitov.hotelapi.model.entity.Hotel;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.HotelFilter;
+import com.allitov.hotelapi.web.dto.request.HotelBatchRequest;
 import com.allitov.hotelapi.web.dto.request.HotelRequest;
 import com.allitov.hotelapi.web.dto.response.HotelListResponse;
 import com.allitov.hotelapi.web.dto.response.HotelListWithCounterResponse;
@@ -24,6 +27,15 @@ public interface HotelMapper {
      */
     Hotel requestToEntity(HotelRequest request);
 
+    /**
+     * Creates a list of hotel entities from a hotel batch request DTO and returns it.
+     * @param request a hotel batch request DTO to create a list of hotel entities from.
+     * @return a list of hotel entities.
+     */
+    default List<Hotel> batchRequestToEntityList(HotelBatchRequest request) {
+        return request.getHotels().stream().map(this::requestToEntity).toList();
+    }
+
     /**
      * Creates a hotel response DTO from a hotel entity and returns it.
      * @param hotel a hotel entity to create a hotel response DTO from.
@@ -55,4 +67,20 @@ public interface HotelMapper {
 
         return response;
     }
+
+    /**
+     * Creates a hotel list with counter response DTO from a page of hotel entities and returns it.
+     * If the page is full, the response contains a cursor that points to the next page.
+     * @param hotels a page of hotel entities to create a hotel list with counter response DTO from.
+     * @param filter a filter the page was found by.
+     * @return a hotel list with counter response DTO.
+     */
+    default HotelListWithCounterResponse entityListToListWithCounterResponse(List<Hotel> hotels, HotelFilter filter) {
+        HotelListWithCounterResponse response = entityListToListWithCounterResponse(hotels);
+        if (filter.getPageSize() != null && hotels.size() == filter.getPageSize()) {
+            response.setNextCursor(CursorUtils.encode(hotels.get(hotels.size() - 1).getId()));
+        }
+
+        return response;
+    }
 }
@@ -1,6 +1,9 @@
 package com.allitov.hotelapi.web.mapping;
 
 import com.allitov.hotelapi.model.entity.Room;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import com.allitov.hotelapi.web.dto.request.RoomBatchRequest;
 import com.allitov.hotelapi.web.dto.request.RoomRequest;
 import com.allitov.hotelapi.web.dto.response.RoomListResponse;
 import com.allitov.hotelapi.web.dto.response.RoomListWithCounterResponse;
@@ -27,6 +30,15 @@ public interface RoomMapper {
      */
     Room requestToEntity(RoomRequest request);
 
+    /**
+     * Creates a list of room entities from a room batch request DTO and returns it.
+     * @param request a room batch request DTO to create a list of room entities from.
+     * @return a list of room entities.
+     */
+    default List<Room> batchRequestToEntityList(RoomBatchRequest request) {
+        return request.getRooms().stream().map(this::requestToEntity).toList();
+    }
+
     /**
      * Creates a room response DTO from a room entity and returns it.
      * @param room a room entity to create a room response DTO from.
@@ -58,4 +70,20 @@ public interface RoomMapper {
 
         return response;
     }
+
+    /**
+     * Creates a room list with counter response DTO from a page of room entities and returns it.
+     * If the page is full, the response contains a cursor that points to the next page.
+     * @param rooms a page of room entities to create a room list with counter response DTO from.
+     * @param filter a filter the page was found by.
+     * @return a room list with counter response DTO.
+     */
+    default RoomListWithCounterResponse entityListToListWithCounterResponse(List<Room> rooms, RoomFilter filter) {
+        RoomListWithCounterResponse response = entityListToListWithCounterResponse(rooms);
+        if (filter.getPageSize() != null && rooms.size() == filter.getPageSize()) {
+            response.setNextCursor(CursorUtils.encode(rooms.get(rooms.size() - 1).getId()));
+        }
+
+        return response;
+    }
 }
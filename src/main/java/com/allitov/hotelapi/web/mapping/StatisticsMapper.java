@@ -0,0 +1,36 @@
+package com.allitov.hotelapi.web.mapping;
+
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+import com.allitov.hotelapi.web.dto.response.DailyStatisticsListResponse;
+import com.allitov.hotelapi.web.dto.response.DailyStatisticsResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * The mapping interface for the statistics entities.
+ * @author allitov
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface StatisticsMapper {
+
+    /**
+     * Creates a daily statistics response DTO from a daily statistics entity and returns it.
+     * @param dailyStatistics a daily statistics entity to create a daily statistics response DTO from.
+     * @return a daily statistics response DTO.
+     */
+    DailyStatisticsResponse dailyEntityToResponse(DailyStatistics dailyStatistics);
+
+    /**
+     * Creates a daily statistics list response DTO from a list of daily statistics entities and returns it.
+     * @param dailyStatistics a list of daily statistics entities to create a daily statistics list response DTO from.
+     * @return a daily statistics list response DTO.
+     */
+    default DailyStatisticsListResponse dailyEntityListToListResponse(List<DailyStatistics> dailyStatistics) {
+        DailyStatisticsListResponse response = new DailyStatisticsListResponse();
+        response.setDays(dailyStatistics.stream().map(this::dailyEntityToResponse).toList());
+
+        return response;
+    }
+}
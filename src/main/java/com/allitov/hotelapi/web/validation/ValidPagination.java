@@ -7,6 +7,7 @@ import java.lang.annotation.*;
 
 /**
  * The annotated class must contain the page number and page size or not contain them at all.
+ * If the annotated class contains a cursor, it must contain the page size and must not contain the page number.
  * @author allitov
  */
 @Documented
@@ -1,5 +1,6 @@
 package com.allitov.hotelapi.web.validation;
 
+import com.allitov.hotelapi.exception.ExceptionMessage;
 import com.allitov.hotelapi.web.dto.filter.AbstractFilter;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -15,9 +16,23 @@ public class ValidPaginationValidator implements ConstraintValidator<ValidPagina
         if (filter == null) {
             return true;
         }
+        if (filter.getAfter() != null) {
+            return isValidCursorPagination(filter, context);
+        }
         boolean bothNull = filter.getPageNumber() == null && filter.getPageSize() == null;
         boolean bothNotNull = filter.getPageNumber() != null && filter.getPageSize() != null;
 
         return bothNull || bothNotNull;
     }
+
+    private boolean isValidCursorPagination(AbstractFilter filter, ConstraintValidatorContext context) {
+        if (filter.getPageSize() != null && filter.getPageNumber() == null) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(ExceptionMessage.FILTER_INVALID_CURSOR_PAGINATION)
+                .addConstraintViolation();
+
+        return false;
+    }
 }
@@ -0,0 +1,107 @@
+package com.allitov.hotelapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitingDataSourceTest {
+
+    private DataSource targetDataSource;
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        targetDataSource = Mockito.mock(DataSource.class);
+        Mockito.when(targetDataSource.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 2, Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Test getConnection() releases a permit when the connection is closed")
+    public void givenOpenConnection_whenClose_thenPermitReleased() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, dataSource.getAvailablePermits());
+
+        connection.close();
+
+        assertEquals(2, dataSource.getAvailablePermits());
+        assertTrue(connection.isClosed());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() releases a permit once when the connection is closed twice")
+    public void givenClosedConnection_whenClose_thenPermitNotReleasedAgain() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() times out when all permits are taken")
+    public void givenAllPermitsTaken_whenGetConnection_thenTimeout() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        Mockito.verify(targetDataSource, Mockito.times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Test getConnection() waits for a released permit")
+    public void givenAllPermitsTaken_whenConnectionClosed_thenWaitingThreadGetsConnection() throws Exception {
+        dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, Duration.ofSeconds(10));
+        Connection connection = dataSource.getConnection();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Connection> waitingConnection = executor.submit(() -> dataSource.getConnection());
+            assertThrows(TimeoutException.class, () -> waitingConnection.get(100, TimeUnit.MILLISECONDS));
+
+            connection.close();
+
+            assertNotNull(waitingConnection.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Test getConnection() releases a permit when the target data source fails")
+    public void givenFailingTargetDataSource_whenGetConnection_thenPermitReleased() throws SQLException {
+        Mockito.when(targetDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Test close() closes the target data source")
+    public void givenClosableTargetDataSource_whenClose_thenTargetClosed() throws IOException {
+        HikariDataSource closableTargetDataSource = Mockito.mock(HikariDataSource.class);
+        dataSource = new ConcurrencyLimitingDataSource(closableTargetDataSource, 2, Duration.ofMillis(100));
+
+        dataSource.close();
+
+        Mockito.verify(closableTargetDataSource, Mockito.times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Test constructor with not positive max concurrent connections")
+    public void givenNotPositiveMaxConcurrentConnections_whenCreate_thenIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrencyLimitingDataSource(targetDataSource, 0, Duration.ofSeconds(1)));
+    }
+}
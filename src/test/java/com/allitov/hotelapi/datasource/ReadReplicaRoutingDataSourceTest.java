@@ -0,0 +1,179 @@
+package com.allitov.hotelapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadReplicaRoutingDataSourceTest {
+
+    private final AtomicReference<Object> currentClient = new AtomicReference<>("user");
+
+    private Connection primaryConnection;
+
+    private Connection firstReplicaConnection;
+
+    private Connection secondReplicaConnection;
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        primaryConnection = Mockito.mock(Connection.class);
+        firstReplicaConnection = Mockito.mock(Connection.class);
+        secondReplicaConnection = Mockito.mock(Connection.class);
+        dataSource = new ReadReplicaRoutingDataSource(
+                dataSourceOf(primaryConnection),
+                List.of(dataSourceOf(firstReplicaConnection), dataSourceOf(secondReplicaConnection)),
+                new ReplicationLagGuard(Duration.ofMinutes(1), 100, currentClient::get));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Test getConnection() without transaction returns a primary connection")
+    public void givenNoTransaction_whenGetConnection_thenPrimaryConnection() throws SQLException {
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() in read-only transactions returns replica connections in turn")
+    public void givenReadOnlyTransaction_whenGetConnection_thenReplicaConnectionsInTurn() throws SQLException {
+        beginTransaction(true);
+
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+        assertSame(secondReplicaConnection, dataSource.getConnection());
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() in read-write transaction returns a primary connection")
+    public void givenReadWriteTransaction_whenGetConnection_thenPrimaryConnection() throws SQLException {
+        beginTransaction(false);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() in read-only transaction after a committed write returns a primary connection")
+    public void givenCommittedWrite_whenGetConnectionInReadOnlyTransaction_thenPrimaryConnection() throws SQLException {
+        beginTransaction(false);
+        dataSource.getConnection();
+        commitTransaction();
+
+        beginTransaction(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() in read-only transaction after other client's write returns a replica connection")
+    public void givenOtherClientWrite_whenGetConnectionInReadOnlyTransaction_thenReplicaConnection()
+            throws SQLException {
+        beginTransaction(false);
+        dataSource.getConnection();
+        commitTransaction();
+        currentClient.set("other user");
+
+        beginTransaction(true);
+
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() in read-only transaction after a rolled back write returns a replica connection")
+    public void givenRolledBackWrite_whenGetConnectionInReadOnlyTransaction_thenReplicaConnection()
+            throws SQLException {
+        beginTransaction(false);
+        dataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_ROLLED_BACK));
+        tearDown();
+
+        beginTransaction(true);
+
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() in read-only transaction without replicas returns a primary connection")
+    public void givenNoReplicas_whenGetConnectionInReadOnlyTransaction_thenPrimaryConnection() throws SQLException {
+        dataSource = new ReadReplicaRoutingDataSource(dataSourceOf(primaryConnection), List.of(),
+                new ReplicationLagGuard(Duration.ofMinutes(1), 100, currentClient::get));
+        beginTransaction(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Test getConnection() in read-only transaction when reading from primary returns a primary connection")
+    public void givenReadFromPrimary_whenGetConnectionInReadOnlyTransaction_thenPrimaryConnection() {
+        beginTransaction(true);
+
+        Connection connection = ReadReplicaRoutingDataSource.readFromPrimary(this::getConnection);
+
+        assertSame(primaryConnection, connection);
+        assertSame(firstReplicaConnection, getConnection());
+    }
+
+    @Test
+    @DisplayName("Test close() closes primary and replica data sources")
+    public void givenPools_whenClose_thenPoolsClosed() {
+        HikariDataSource primaryDataSource = Mockito.mock(HikariDataSource.class);
+        HikariDataSource replicaDataSource = Mockito.mock(HikariDataSource.class);
+        dataSource = new ReadReplicaRoutingDataSource(primaryDataSource, List.of(replicaDataSource),
+                new ReplicationLagGuard(Duration.ofMinutes(1), 100, currentClient::get));
+
+        dataSource.close();
+
+        Mockito.verify(primaryDataSource, Mockito.times(1)).close();
+        Mockito.verify(replicaDataSource, Mockito.times(1)).close();
+    }
+
+    private Connection getConnection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void commitTransaction() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        tearDown();
+    }
+
+    private DataSource dataSourceOf(Connection connection) throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        return dataSource;
+    }
+}
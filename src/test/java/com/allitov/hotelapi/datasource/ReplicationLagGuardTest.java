@@ -0,0 +1,65 @@
+package com.allitov.hotelapi.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicationLagGuardTest {
+
+    private final AtomicReference<Object> currentClient = new AtomicReference<>("user");
+
+    @Test
+    @DisplayName("Test isPrimaryRequired() after a write")
+    public void givenRecordedWrite_whenIsPrimaryRequired_thenTrue() {
+        ReplicationLagGuard guard = new ReplicationLagGuard(Duration.ofMinutes(1), 100, currentClient::get);
+
+        guard.recordWrite();
+
+        assertTrue(guard.isPrimaryRequired());
+    }
+
+    @Test
+    @DisplayName("Test isPrimaryRequired() without writes")
+    public void givenNoWrites_whenIsPrimaryRequired_thenFalse() {
+        ReplicationLagGuard guard = new ReplicationLagGuard(Duration.ofMinutes(1), 100, currentClient::get);
+
+        assertFalse(guard.isPrimaryRequired());
+    }
+
+    @Test
+    @DisplayName("Test isPrimaryRequired() after other client's write")
+    public void givenOtherClientWrite_whenIsPrimaryRequired_thenFalse() {
+        ReplicationLagGuard guard = new ReplicationLagGuard(Duration.ofMinutes(1), 100, currentClient::get);
+        guard.recordWrite();
+
+        currentClient.set("other user");
+
+        assertFalse(guard.isPrimaryRequired());
+    }
+
+    @Test
+    @DisplayName("Test isPrimaryRequired() after max lag has passed")
+    public void givenExpiredWrite_whenIsPrimaryRequired_thenFalse() throws InterruptedException {
+        ReplicationLagGuard guard = new ReplicationLagGuard(Duration.ofMillis(50), 100, currentClient::get);
+        guard.recordWrite();
+
+        Thread.sleep(100);
+
+        assertFalse(guard.isPrimaryRequired());
+    }
+
+    @Test
+    @DisplayName("Test isPrimaryRequired() without client")
+    public void givenNoClient_whenIsPrimaryRequired_thenFalse() {
+        currentClient.set(null);
+        ReplicationLagGuard guard = new ReplicationLagGuard(Duration.ofMinutes(1), 100, currentClient::get);
+
+        guard.recordWrite();
+
+        assertFalse(guard.isPrimaryRequired());
+    }
+}
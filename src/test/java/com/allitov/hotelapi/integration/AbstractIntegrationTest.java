@@ -1,10 +1,14 @@
 package com.allitov.hotelapi.integration;
 
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityCalendar;
+import com.allitov.hotelapi.model.service.cache.RoomSearchCache;
+import com.allitov.hotelapi.security.UserDetailsCache;
 import com.allitov.testutils.EnableTestcontainers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,5 +24,21 @@ public abstract class AbstractIntegrationTest {
     @Autowired
     protected ObjectMapper objectMapper;
 
+    @Autowired
+    private RoomAvailabilityCalendar roomAvailabilityCalendar;
+
+    @Autowired
+    private RoomSearchCache roomSearchCache;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     protected static final String USER_DETAILS_SERVICE_BEAN_NAME = "userDetailsServiceImpl";
+
+    @AfterTransaction
+    public void resetInMemoryState() {
+        roomSearchCache.invalidateAll();
+        roomAvailabilityCalendar.rebuild();
+        userDetailsCache.invalidateAll();
+    }
 }
@@ -0,0 +1,115 @@
+package com.allitov.hotelapi.integration;
+
+import com.allitov.hotelapi.security.TokenService;
+import com.allitov.hotelapi.security.UserDetailsImpl;
+import com.allitov.testutils.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.TestExecutionEvent;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+
+import static net.javacrumbs.jsonunit.JsonAssert.assertJsonEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class AuthControllerIntegrationTest extends AbstractIntegrationTest {
+
+    private final String baseUri = "/api/v1/auth";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Test
+    @DisplayName("Test issueToken() status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenRoleUser_whenIssueToken_thenTokenResponse() throws Exception {
+        mockMvc.perform(post(baseUri + "/token"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.accessToken").isNotEmpty())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+    }
+
+    @Test
+    @DisplayName("Test issueToken() status 401")
+    @WithAnonymousUser
+    public void givenRoleAnonymous_whenIssueToken_thenErrorResponse() throws Exception {
+        String expectedResponse = TestUtils.readStringFromResource(
+                "response/authentication_failure_response.json");
+
+        String actualResponse = mockMvc.perform(post(baseUri + "/token"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertJsonEquals(expectedResponse, actualResponse);
+    }
+
+    @Test
+    @DisplayName("Test bearer token status 200")
+    @WithAnonymousUser
+    public void givenUserToken_whenFindHotels_thenOk() throws Exception {
+        String token = issueToken("user");
+
+        mockMvc.perform(get("/api/v1/hotel")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Test bearer token status 403")
+    @WithAnonymousUser
+    public void givenUserToken_whenDeleteHotel_thenErrorResponse() throws Exception {
+        String token = issueToken("user");
+        String expectedResponse = TestUtils.readStringFromResource(
+                "response/access_denied_response.json");
+
+        String actualResponse = mockMvc.perform(delete("/api/v1/hotel/{id}", 1)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertJsonEquals(expectedResponse, actualResponse);
+    }
+
+    @Test
+    @DisplayName("Test bearer token status 401")
+    @WithAnonymousUser
+    public void givenInvalidToken_whenFindHotels_thenErrorResponse() throws Exception {
+        String token = issueToken("admin") + "invalid";
+        String expectedResponse = TestUtils.readStringFromResource(
+                "response/authentication_failure_response.json");
+
+        String actualResponse = mockMvc.perform(get("/api/v1/hotel")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertJsonEquals(expectedResponse, actualResponse);
+    }
+
+    private String issueToken(String username) {
+        return tokenService.issue((UserDetailsImpl) userDetailsService.loadUserByUsername(username))
+                .getTokenValue();
+    }
+}
@@ -1,21 +1,28 @@
 package com.allitov.hotelapi.integration;
 
 import com.allitov.hotelapi.model.repository.BookingRepository;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityIndex;
+import com.allitov.hotelapi.web.dto.request.BookingBatchRequest;
 import com.allitov.hotelapi.web.dto.request.BookingRequest;
 import com.allitov.testutils.TestUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.TestExecutionEvent;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static net.javacrumbs.jsonunit.JsonAssert.assertJsonEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +33,12 @@ public class BookingControllerIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("Test findAll() role ADMIN status 200")
     @WithUserDetails(
@@ -337,12 +350,91 @@ public class BookingControllerIntegrationTest extends AbstractIntegrationTest {
         assertEquals(5, bookingRepository.count());
     }
 
-    private BookingRequest createBookingRequest() {
+    @Test
+    @DisplayName("Test create() with dates booked by another instance status 400")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenDatesBookedByAnotherInstance_whenCreate_thenErrorResponse() throws Exception {
+        BookingRequest request = createBookingRequest(2, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 10));
+        String expectedResponse = TestUtils.readStringFromResource(
+                "response/booking/booking_unavailable_dates_response.json");
+        assertTrue(roomAvailabilityIndex.isAvailable(2, request.getFrom(), request.getTo()));
+        bookByAnotherInstance(2, LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 15));
+        try {
+            String actualResponse = mockMvc.perform(post(baseUri)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsString();
+
+            assertJsonEquals(expectedResponse, actualResponse);
+            assertEquals(5, bookingRepository.count());
+        } finally {
+            deleteBookedByAnotherInstance(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Test createAll() with dates booked by another instance status 400")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenDatesBookedByAnotherInstance_whenCreateAll_thenErrorResponse() throws Exception {
+        BookingBatchRequest request = new BookingBatchRequest(List.of(
+                createBookingRequest(1, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 10)),
+                createBookingRequest(2, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 10))));
+        String expectedResponse = TestUtils.readStringFromResource(
+                "response/booking/booking_batch_unavailable_dates_response.json");
+        assertTrue(roomAvailabilityIndex.isAvailable(2, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 10)));
+        bookByAnotherInstance(2, LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 15));
+        try {
+            String actualResponse = mockMvc.perform(post(baseUri + "/batch")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsString();
+
+            assertJsonEquals(expectedResponse, actualResponse);
+            assertEquals(5, bookingRepository.count());
+        } finally {
+            deleteBookedByAnotherInstance(2);
+            roomAvailabilityIndex.evict(1);
+        }
+    }
+
+    private void bookByAnotherInstance(Integer roomId, LocalDate from, LocalDate to) {
+        jdbcTemplate.update("insert into unavailable_dates (room_id, from_date, to_date) values (?, ?, ?)",
+                roomId, from, to);
+    }
+
+    private void deleteBookedByAnotherInstance(Integer roomId) {
+        jdbcTemplate.update("delete from unavailable_dates where room_id = ? and from_date >= '2030-01-01'", roomId);
+        roomAvailabilityIndex.evict(roomId);
+    }
+
+    private BookingRequest createBookingRequest(Integer roomId, LocalDate from, LocalDate to) {
         return BookingRequest.builder()
-                .roomId(1)
+                .roomId(roomId)
                 .userId(1)
-                .from(LocalDate.of(2024, 1, 1))
-                .to(LocalDate.of(2024, 1, 31))
+                .from(from)
+                .to(to)
                 .build();
     }
+
+    private BookingRequest createBookingRequest() {
+        return createBookingRequest(1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+    }
 }
@@ -1,5 +1,6 @@
 package com.allitov.hotelapi.integration;
 
+import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.repository.HotelRepository;
 import com.allitov.hotelapi.model.service.HotelService;
 import com.allitov.hotelapi.web.dto.request.HotelRequest;
@@ -13,7 +14,10 @@ import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.context.support.WithUserDetails;
 
+import java.util.List;
+
 import static net.javacrumbs.jsonunit.JsonAssert.assertJsonEquals;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -492,7 +496,12 @@ public class HotelControllerIntegrationTest extends AbstractIntegrationTest {
 
         mockMvc.perform(patch(baseUri + "/{id}?newMark={newMark}", id, newMark))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.rating").value(2.4))
+                .andExpect(jsonPath("$.numberOfRatings").value(36));
+
+        assertEquals(86L, hotelService.findById(id).getRatingSum());
     }
 
     @Test
@@ -508,7 +517,12 @@ public class HotelControllerIntegrationTest extends AbstractIntegrationTest {
 
         mockMvc.perform(patch(baseUri + "/{id}?newMark={newMark}", id, newMark))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.rating").value(2.4))
+                .andExpect(jsonPath("$.numberOfRatings").value(36));
+
+        assertEquals(86L, hotelService.findById(id).getRatingSum());
     }
 
     @Test
@@ -660,6 +674,128 @@ public class HotelControllerIntegrationTest extends AbstractIntegrationTest {
         assertJsonEquals(expectedResponse, actualResponse);
     }
 
+    @Test
+    @DisplayName("Test filterBy() by multi-word text status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenMultiWordQueryAndRoleAdmin_whenFilterBy_thenHotelsContainingEveryWord() throws Exception {
+        String query = "Walter LLC";
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hotels[*].id").value(contains(2)));
+    }
+
+    @Test
+    @DisplayName("Test filterBy() by word prefixes status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenWordPrefixQueryAndRoleAdmin_whenFilterBy_thenHotelsContainingPrefixes() throws Exception {
+        String query = "lubo mead";
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hotels[*].id").value(contains(3)));
+    }
+
+    @Test
+    @DisplayName("Test filterBy() by text with full-text operators status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenQueryWithOperatorCharactersAndRoleAdmin_whenFilterBy_thenOperatorsIgnored() throws Exception {
+        String query = "llc & | ! :*";
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hotels[*].id").value(contains(2, 3)));
+    }
+
+    @Test
+    @DisplayName("Test filterBy() by text of full-text operators only status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenQueryOfOperatorCharactersOnlyAndRoleAdmin_whenFilterBy_thenEmptyHotelList() throws Exception {
+        String query = "&|!:* ()";
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hotels").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test filterBy() by text with punctuation status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenQueryWithPunctuationAndRoleAdmin_whenFilterBy_thenHotelsContainingWordParts() throws Exception {
+        String query = "Sinegor'ye, 2575";
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hotels[*].id").value(contains(1)));
+    }
+
+    @Test
+    @DisplayName("Test filterBy() by text ranks name above description status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenQueryFoundInDifferentFieldsAndRoleAdmin_whenFilterBy_thenHotelsRankedByFieldWeight() throws Exception {
+        List<Hotel> hotels = hotelService.createAll(List.of(
+                createHotel("Harbor View", "Quiet rooms facing the sea."),
+                createHotel("Quiet Harbor", "Rooms facing the sea.")));
+        hotelRepository.flush();
+        String query = "quiet";
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hotels[*].id").value(contains(
+                        hotels.get(1).getId(), hotels.get(0).getId())));
+    }
+
+    @Test
+    @DisplayName("Test filterBy() by text ranks whole words above prefixes status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenQueryMatchingWholeWordAndPrefixAndRoleAdmin_whenFilterBy_thenWholeWordRankedFirst() throws Exception {
+        List<Hotel> hotels = hotelService.createAll(List.of(
+                createHotel("Sunrise Inn", "Rooms facing the sea."),
+                createHotel("Sun Inn", "Rooms facing the sea.")));
+        hotelRepository.flush();
+        String query = "sun";
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hotels[*].id").value(contains(
+                        hotels.get(1).getId(), hotels.get(0).getId())));
+    }
+
     @Test
     @DisplayName("Test filterBy() status 401")
     @WithAnonymousUser
@@ -696,6 +832,16 @@ public class HotelControllerIntegrationTest extends AbstractIntegrationTest {
         assertJsonEquals(expectedResponse, actualResponse);
     }
 
+    private Hotel createHotel(String name, String description) {
+        return Hotel.builder()
+                .name(name)
+                .description(description)
+                .city("Cool City")
+                .address("100 Street")
+                .distanceFromCenter(1.5F)
+                .build();
+    }
+
     private HotelRequest createHotelRequest() {
         return HotelRequest.builder()
                 .name("Hotel Name")
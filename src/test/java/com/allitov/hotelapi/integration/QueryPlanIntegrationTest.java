@@ -0,0 +1,134 @@
+package com.allitov.hotelapi.integration;
+
+import com.allitov.hotelapi.model.entity.*;
+import com.allitov.hotelapi.model.repository.specification.HotelSpecification;
+import com.allitov.hotelapi.model.repository.specification.RoomSpecification;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.HotelFilter;
+import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import com.allitov.testutils.SqlRenderer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every filter predicate is served by an index on large tables.
+ * Queries are rendered by {@link SqlRenderer} from the same specifications the services use.
+ * @author allitov
+ */
+@Sql("classpath:db/query_plan_test_data.sql")
+public class QueryPlanIntegrationTest extends AbstractIntegrationTest {
+
+    private static final List<String> LARGE_TABLES = List.of("hotel", "room", "unavailable_dates");
+
+    private static SqlRenderer sqlRenderer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer lastHotelId;
+
+    @BeforeAll
+    public static void setUpRenderer() {
+        sqlRenderer = new SqlRenderer(Hotel.class, Room.class, UnavailableDates.class, User.class, Booking.class);
+    }
+
+    @AfterAll
+    public static void closeRenderer() {
+        sqlRenderer.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        lastHotelId = jdbcTemplate.queryForObject("select max(id) from hotel", Integer.class);
+    }
+
+    @Test
+    @DisplayName("Test hotel filter by city uses an index")
+    public void givenCityFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Hotel.class, HotelSpecification.withFilter(HotelFilter.builder().city("City 7").build()));
+    }
+
+    @Test
+    @DisplayName("Test hotel filter by rating uses an index")
+    public void givenRatingFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Hotel.class, HotelSpecification.withFilter(HotelFilter.builder().rating(4.9F).build()));
+    }
+
+    @Test
+    @DisplayName("Test hotel filter by city and rating uses an index")
+    public void givenCityAndRatingFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Hotel.class, HotelSpecification.withFilter(
+                HotelFilter.builder().city("City 7").rating(4F).build()));
+    }
+
+    @Test
+    @DisplayName("Test hotel filter by IDs uses an index")
+    public void givenIdsFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Hotel.class, HotelSpecification.withFilter(
+                HotelFilter.builder().id(List.of(lastHotelId - 1, lastHotelId)).build()));
+    }
+
+    @Test
+    @DisplayName("Test hotel filter by cursor uses an index")
+    public void givenCursorFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Hotel.class, HotelSpecification.withFilter(
+                HotelFilter.builder().after(CursorUtils.encode(lastHotelId - 10)).build()));
+    }
+
+    @Test
+    @DisplayName("Test room filter by hotel ID uses an index")
+    public void givenHotelIdFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Room.class, RoomSpecification.withFilter(RoomFilter.builder().hotelId(lastHotelId).build()));
+    }
+
+    @Test
+    @DisplayName("Test room filter by price uses an index")
+    public void givenPriceFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Room.class, RoomSpecification.withFilter(RoomFilter.builder()
+                .minPrice(BigDecimal.valueOf(1000))
+                .maxPrice(BigDecimal.valueOf(1010))
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Test room filter by hotel ID and dates uses indexes")
+    public void givenHotelIdAndDatesFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Room.class, RoomSpecification.withFilter(RoomFilter.builder()
+                .hotelId(lastHotelId)
+                .from(LocalDate.of(2022, 5, 1))
+                .to(LocalDate.of(2022, 5, 7))
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Test room filter by hotel ID and booked room IDs uses an index")
+    public void givenHotelIdAndBookedRoomIdsFilter_whenExplain_thenNoSeqScans() {
+        assertNoSeqScans(Room.class, RoomSpecification.withFilter(
+                RoomFilter.builder().hotelId(lastHotelId).build(),
+                IntStream.rangeClosed(1, 100).boxed().toList()));
+    }
+
+    private <T> void assertNoSeqScans(Class<T> entityClass, Specification<T> specification) {
+        String sql = sqlRenderer.render(entityClass, specification);
+        List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class);
+
+        for (String table : LARGE_TABLES) {
+            assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan on " + table + " ")),
+                    () -> "Seq scan on " + table + ":\n" + String.join("\n", plan));
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package com.allitov.hotelapi.integration;
 
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.UserRegistrationMessage;
+import com.allitov.hotelapi.model.repository.DailyStatisticsRepository;
 import com.allitov.testutils.TestUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.test.context.support.TestExecutionEvent;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static net.javacrumbs.jsonunit.JsonAssert.assertJsonEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -16,6 +33,15 @@ public class StatisticsControllerIntegrationTest extends AbstractIntegrationTest
 
     private final String baseUri = "/api/v1/statistics";
 
+    @Autowired
+    private KafkaTemplate<String, KafkaMessage> kafkaTemplate;
+
+    @SpyBean
+    private DailyStatisticsRepository dailyStatisticsRepository;
+
+    @Value("${app.kafka.topic.user-registration}")
+    private String userRegistrationTopic;
+
     @Test
     @DisplayName("Test getStatistics() status 200")
     @WithUserDetails(
@@ -24,7 +50,11 @@ public class StatisticsControllerIntegrationTest extends AbstractIntegrationTest
             setupBefore = TestExecutionEvent.TEST_METHOD
     )
     public void givenRoleAdmin_whenGetStatistics_thenResource() throws Exception {
-        mockMvc.perform(get(baseUri))
+        MvcResult mvcResult = mockMvc.perform(get(baseUri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM));
     }
@@ -65,4 +95,84 @@ public class StatisticsControllerIntegrationTest extends AbstractIntegrationTest
 
         assertJsonEquals(expectedResponse, actualResponse);
     }
+
+    @Test
+    @DisplayName("Test getDailyStatistics() status 200")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenRoleAdmin_whenGetDailyStatistics_thenDailyStatisticsListResponse() throws Exception {
+        mockMvc.perform(get(baseUri + "/daily")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.days.length()").value(31))
+                .andExpect(jsonPath("$.days[0].date").value("2024-01-01"));
+    }
+
+    @Test
+    @DisplayName("Test getDailyStatistics() status 403")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenRoleUser_whenGetDailyStatistics_thenErrorResponse() throws Exception {
+        String expectedResponse = TestUtils.readStringFromResource(
+                "response/access_denied_response.json");
+
+        String actualResponse = mockMvc.perform(get(baseUri + "/daily")
+                            .param("from", "2024-01-01")
+                            .param("to", "2024-01-31"))
+                            .andExpect(status().isForbidden())
+                            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsString();
+
+        assertJsonEquals(expectedResponse, actualResponse);
+    }
+
+    @Test
+    @DisplayName("Test getDailyStatistics() after a failed bulk write")
+    @WithUserDetails(
+            userDetailsServiceBeanName = USER_DETAILS_SERVICE_BEAN_NAME,
+            value = "admin",
+            setupBefore = TestExecutionEvent.TEST_METHOD
+    )
+    public void givenFailedBulkWrite_whenGetDailyStatistics_thenBatchRetriedAndCounted() throws Exception {
+        LocalDate date = LocalDate.of(2030, 1, 1);
+        long registrationsBefore = getRegistrations(date);
+        Mockito.doThrow(new DataAccessResourceFailureException("Mongo is unavailable"))
+                .doCallRealMethod()
+                .when(dailyStatisticsRepository).incrementAll(Mockito.any());
+        UserRegistrationMessage message = new UserRegistrationMessage(1);
+        message.setEventId(UUID.randomUUID().toString());
+        message.setCreatedAt(date.atStartOfDay().toInstant(ZoneOffset.UTC));
+
+        kafkaTemplate.send(userRegistrationTopic, "1", message).get();
+
+        Instant deadline = Instant.now().plusSeconds(30);
+        while (getRegistrations(date) == registrationsBefore && Instant.now().isBefore(deadline)) {
+            Thread.sleep(200);
+        }
+        assertEquals(registrationsBefore + 1, getRegistrations(date));
+        Mockito.verify(dailyStatisticsRepository, Mockito.atLeast(2))
+                .incrementAll(Mockito.any());
+    }
+
+    private long getRegistrations(LocalDate date) throws Exception {
+        String response = mockMvc.perform(get(baseUri + "/daily")
+                        .param("from", date.toString())
+                        .param("to", date.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode day = objectMapper.readTree(response).path("days").path(0);
+
+        return day.path("registrations").asLong();
+    }
 }
@@ -0,0 +1,158 @@
+package com.allitov.hotelapi.message.codec;
+
+import com.allitov.hotelapi.message.BookingCreationMessage;
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.UserChangeMessage;
+import com.allitov.hotelapi.message.UserRegistrationMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KafkaMessageSerializerTest {
+
+    private static final String TOPIC = "topic";
+
+    private static final List<KafkaMessageCodec<?>> CODECS = List.of(new UserRegistrationMessageCodec(),
+            new BookingCreationMessageCodec(), new UserChangeMessageCodec());
+
+    private KafkaMessageSerializer binarySerializer;
+
+    private KafkaMessageSerializer jsonSerializer;
+
+    private KafkaMessageDeserializer deserializer;
+
+    @BeforeEach
+    public void setUp() {
+        binarySerializer = new KafkaMessageSerializer(new JsonSerializer<>(), CODECS, KafkaMessageFormat.BINARY);
+        jsonSerializer = new KafkaMessageSerializer(new JsonSerializer<>(), CODECS, KafkaMessageFormat.JSON);
+        deserializer = new KafkaMessageDeserializer(new JsonDeserializer<>(), CODECS);
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.allitov.hotelapi.message"), false);
+    }
+
+    @Test
+    @DisplayName("Test serialize() and deserialize() of booking creation message in binary format")
+    public void givenBookingCreationMessage_whenSerializeBinary_thenDeserializedEqual() {
+        BookingCreationMessage message = BookingCreationMessage.builder()
+                .userId(1234)
+                .roomId(56)
+                .from(LocalDate.of(2024, 5, 1))
+                .to(LocalDate.of(2024, 5, 7))
+                .build();
+        message.setEventId(UUID.randomUUID().toString());
+        message.setCreatedAt(Instant.parse("2024-04-30T12:34:56.789123Z"));
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] data = binarySerializer.serialize(TOPIC, headers, message);
+
+        assertEquals(KafkaMessageSerializer.MAGIC, data[0]);
+        assertEquals(KafkaMessageSerializer.VERSION, data[1]);
+        assertFalse(headers.iterator().hasNext());
+        assertThat(deserializer.deserialize(TOPIC, headers, data)).usingRecursiveComparison().isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("Test serialize() and deserialize() of messages with null fields in binary format")
+    public void givenMessagesWithNullFields_whenSerializeBinary_thenDeserializedEqual() {
+        UserRegistrationMessage registrationMessage = new UserRegistrationMessage();
+        BookingCreationMessage bookingMessage = new BookingCreationMessage();
+        UserChangeMessage changeMessage = new UserChangeMessage(-5);
+        changeMessage.setEventId("not-a-uuid");
+
+        for (KafkaMessage message : List.of(registrationMessage, bookingMessage, changeMessage)) {
+            byte[] data = binarySerializer.serialize(TOPIC, message);
+
+            assertThat(deserializer.deserialize(TOPIC, data)).usingRecursiveComparison().isEqualTo(message);
+        }
+    }
+
+    @Test
+    @DisplayName("Test serialize() writes fewer bytes in binary format than in JSON")
+    public void givenUserRegistrationMessage_whenSerialize_thenBinaryIsSmaller() {
+        UserRegistrationMessage message = new UserRegistrationMessage(1);
+        message.setEventId(UUID.randomUUID().toString());
+        message.setCreatedAt(Instant.now());
+
+        byte[] binary = binarySerializer.serialize(TOPIC, new RecordHeaders(), message);
+        byte[] json = jsonSerializer.serialize(TOPIC, new RecordHeaders(), message);
+
+        assertTrue(binary.length < json.length / 2);
+    }
+
+    @Test
+    @DisplayName("Test serialize() in JSON format and deserialize() falls back to JSON")
+    public void givenJsonFormat_whenSerialize_thenDeserializedFromJson() {
+        UserRegistrationMessage message = new UserRegistrationMessage(1);
+        message.setEventId(UUID.randomUUID().toString());
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] data = jsonSerializer.serialize(TOPIC, headers, message);
+
+        assertEquals('{', data[0]);
+        assertTrue(headers.iterator().hasNext());
+        assertThat(deserializer.deserialize(TOPIC, headers, data)).usingRecursiveComparison().isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("Test serialize() of null message")
+    public void givenNullMessage_whenSerialize_thenNull() {
+        assertNull(binarySerializer.serialize(TOPIC, new RecordHeaders(), null));
+        assertNull(deserializer.deserialize(TOPIC, new RecordHeaders(), (byte[]) null));
+    }
+
+    @Test
+    @DisplayName("Test deserialize() of booking creation message written in version 1")
+    public void givenBookingCreationMessageOfVersion1_whenDeserialize_thenReadWithoutRoomId() {
+        BookingCreationMessage message = new BookingCreationMessage(1234, 56,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 7));
+        byte[] data = binarySerializer.serialize(TOPIC, message);
+        byte[] dataOfVersion1 = Arrays.copyOf(data, data.length - 2);
+        dataOfVersion1[1] = 1;
+
+        BookingCreationMessage readMessage = (BookingCreationMessage) deserializer.deserialize(TOPIC, dataOfVersion1);
+
+        assertEquals(1234, readMessage.getUserId());
+        assertEquals(LocalDate.of(2024, 5, 7), readMessage.getTo());
+        assertNull(readMessage.getRoomId());
+    }
+
+    @Test
+    @DisplayName("Test deserialize() of binary message with unsupported version")
+    public void givenUnsupportedVersion_whenDeserialize_thenSerializationException() {
+        byte[] data = binarySerializer.serialize(TOPIC, new UserRegistrationMessage(1));
+        data[1] = KafkaMessageSerializer.VERSION + 1;
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, data));
+    }
+
+    @Test
+    @DisplayName("Test deserialize() of binary message with unknown type")
+    public void givenUnknownTypeId_whenDeserialize_thenSerializationException() {
+        byte[] data = binarySerializer.serialize(TOPIC, new UserRegistrationMessage(1));
+        data[2] = 100;
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, data));
+    }
+
+    @Test
+    @DisplayName("Test deserialize() of truncated binary message")
+    public void givenTruncatedMessage_whenDeserialize_thenSerializationException() {
+        byte[] data = "\0\1\2".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, data));
+    }
+}
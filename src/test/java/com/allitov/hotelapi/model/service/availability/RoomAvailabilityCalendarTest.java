@@ -0,0 +1,140 @@
+package com.allitov.hotelapi.model.service.availability;
+
+import com.allitov.hotelapi.model.entity.Room;
+import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.event.RoomBookedEvent;
+import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomAvailabilityCalendarTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 1);
+
+    @InjectMocks
+    private RoomAvailabilityCalendar roomAvailabilityCalendar;
+
+    @Mock
+    private UnavailableDatesRepository unavailableDatesRepository;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(roomAvailabilityCalendar, "horizonDays", 30);
+    }
+
+    @Test
+    @DisplayName("Test findBookedRoomIds() with not loaded calendar")
+    public void givenNotLoadedCalendar_whenFindBookedRoomIds_thenEmpty() {
+        assertEquals(Optional.empty(), roomAvailabilityCalendar.findBookedRoomIds(TODAY, TODAY.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Test findBookedRoomIds() after rebuild()")
+    public void givenRebuiltCalendar_whenFindBookedRoomIds_thenBookedRoomsReturned() {
+        Mockito.when(unavailableDatesRepository.findAllByToGreaterThanEqual(TODAY))
+                .thenReturn(List.of(
+                        unavailableDates(1, TODAY.minusDays(5), TODAY.plusDays(2)),
+                        unavailableDates(2, TODAY.plusDays(5), TODAY.plusDays(10)),
+                        unavailableDates(3, TODAY.plusDays(20), TODAY.plusDays(100))
+                ));
+
+        roomAvailabilityCalendar.rebuild(TODAY);
+
+        assertEquals(Optional.of(bitSet(1)),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY, TODAY.plusDays(4)));
+        assertEquals(Optional.of(bitSet(1, 2)),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY.plusDays(2), TODAY.plusDays(5)));
+        assertEquals(Optional.of(bitSet()),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY.plusDays(11), TODAY.plusDays(19)));
+        assertEquals(Optional.of(bitSet(3)),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY.plusDays(29), TODAY.plusDays(29)));
+    }
+
+    @Test
+    @DisplayName("Test findBookedRoomIds() with dates out of horizon")
+    public void givenDatesOutOfHorizon_whenFindBookedRoomIds_thenEmpty() {
+        Mockito.when(unavailableDatesRepository.findAllByToGreaterThanEqual(TODAY))
+                .thenReturn(List.of());
+
+        roomAvailabilityCalendar.rebuild(TODAY);
+
+        assertEquals(Optional.empty(),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY.minusDays(1), TODAY.plusDays(1)));
+        assertEquals(Optional.empty(),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY.plusDays(25), TODAY.plusDays(30)));
+    }
+
+    @Test
+    @DisplayName("Test onRoomBooked()")
+    public void givenRebuiltCalendar_whenOnRoomBooked_thenRoomBooked() {
+        Mockito.when(unavailableDatesRepository.findAllByToGreaterThanEqual(TODAY))
+                .thenReturn(List.of());
+        roomAvailabilityCalendar.rebuild(TODAY);
+
+        roomAvailabilityCalendar.onRoomBooked(new RoomBookedEvent(4, 1, TODAY.plusDays(25), TODAY.plusDays(40)));
+
+        assertEquals(Optional.of(bitSet()),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY, TODAY.plusDays(24)));
+        assertEquals(Optional.of(bitSet(4)),
+                roomAvailabilityCalendar.findBookedRoomIds(TODAY.plusDays(24), TODAY.plusDays(29)));
+    }
+
+    @Test
+    @DisplayName("Test onRoomBooked() during rebuild()")
+    public void givenRebuildInProgress_whenOnRoomBooked_thenEventNotLost() {
+        Mockito.when(unavailableDatesRepository.findAllByToGreaterThanEqual(TODAY))
+                .thenAnswer(invocation -> {
+                    roomAvailabilityCalendar.onRoomBooked(new RoomBookedEvent(5, 1, TODAY, TODAY));
+                    return List.of();
+                });
+
+        roomAvailabilityCalendar.rebuild(TODAY);
+
+        assertEquals(Optional.of(bitSet(5)), roomAvailabilityCalendar.findBookedRoomIds(TODAY, TODAY));
+    }
+
+    @Test
+    @DisplayName("Test rebuild() with database error")
+    public void givenDatabaseError_whenRebuild_thenPreviousCalendarKept() {
+        Mockito.when(unavailableDatesRepository.findAllByToGreaterThanEqual(Mockito.any()))
+                .thenReturn(List.of(unavailableDates(1, TODAY, TODAY)))
+                .thenThrow(new IllegalStateException("Connection refused"));
+        roomAvailabilityCalendar.rebuild(TODAY);
+
+        roomAvailabilityCalendar.rebuild(TODAY.plusDays(1));
+
+        assertEquals(Optional.of(bitSet(1)), roomAvailabilityCalendar.findBookedRoomIds(TODAY, TODAY));
+    }
+
+    private static UnavailableDates unavailableDates(Integer roomId, LocalDate from, LocalDate to) {
+        return UnavailableDates.builder()
+                .room(Room.builder().id(roomId).build())
+                .from(from)
+                .to(to)
+                .build();
+    }
+
+    private static BitSet bitSet(int... roomIds) {
+        BitSet bitSet = new BitSet();
+        for (int roomId : roomIds) {
+            bitSet.set(roomId);
+        }
+
+        return bitSet;
+    }
+}
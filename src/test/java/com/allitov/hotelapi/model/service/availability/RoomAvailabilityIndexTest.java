@@ -0,0 +1,179 @@
+package com.allitov.hotelapi.model.service.availability;
+
+import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomAvailabilityIndexTest {
+
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private UnavailableDatesRepository unavailableDatesRepository;
+
+    @BeforeEach
+    public void setUp() {
+        roomAvailabilityIndex = new RoomAvailabilityIndex(unavailableDatesRepository, 100);
+    }
+
+    @ParameterizedTest
+    @MethodSource("createOverlappingDates")
+    @DisplayName("Test isAvailable() with overlapping dates")
+    public void givenOverlappingDates_whenIsAvailable_thenFalse(LocalDate from, LocalDate to) {
+        Mockito.when(unavailableDatesRepository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any()))
+                .thenReturn(List.of(
+                        unavailableDates(LocalDate.of(2123, 1, 1), LocalDate.of(2123, 1, 10)),
+                        unavailableDates(LocalDate.of(2123, 12, 31), LocalDate.of(2124, 1, 31)),
+                        unavailableDates(LocalDate.of(2124, 6, 1), LocalDate.of(2124, 6, 30))
+                ));
+
+        assertFalse(roomAvailabilityIndex.isAvailable(1, from, to));
+    }
+
+    @ParameterizedTest
+    @MethodSource("createFreeDates")
+    @DisplayName("Test isAvailable() with free dates")
+    public void givenFreeDates_whenIsAvailable_thenTrue(LocalDate from, LocalDate to) {
+        Mockito.when(unavailableDatesRepository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any()))
+                .thenReturn(List.of(
+                        unavailableDates(LocalDate.of(2123, 1, 1), LocalDate.of(2123, 1, 10)),
+                        unavailableDates(LocalDate.of(2123, 12, 31), LocalDate.of(2124, 1, 31)),
+                        unavailableDates(LocalDate.of(2124, 6, 1), LocalDate.of(2124, 6, 30))
+                ));
+
+        assertTrue(roomAvailabilityIndex.isAvailable(1, from, to));
+    }
+
+    @Test
+    @DisplayName("Test isAvailable() with dates covered by a longer interval")
+    public void givenDatesCoveredByEarlierInterval_whenIsAvailable_thenFalse() {
+        Mockito.when(unavailableDatesRepository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any()))
+                .thenReturn(List.of(
+                        unavailableDates(LocalDate.of(2123, 3, 27), LocalDate.of(2124, 5, 26)),
+                        unavailableDates(LocalDate.of(2123, 9, 17), LocalDate.of(2124, 3, 25)),
+                        unavailableDates(LocalDate.of(2123, 10, 3), LocalDate.of(2124, 3, 2))
+                ));
+
+        assertFalse(roomAvailabilityIndex.isAvailable(1, LocalDate.of(2124, 4, 1), LocalDate.of(2124, 4, 10)));
+        assertTrue(roomAvailabilityIndex.isAvailable(1, LocalDate.of(2124, 5, 27), LocalDate.of(2124, 6, 10)));
+    }
+
+    @Test
+    @DisplayName("Test add()")
+    public void givenLoadedRoom_whenAdd_thenDatesUnavailable() {
+        LocalDate from = LocalDate.of(2124, 1, 1);
+        LocalDate to = LocalDate.of(2124, 1, 31);
+        Mockito.when(unavailableDatesRepository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any()))
+                .thenReturn(List.of());
+
+        assertTrue(roomAvailabilityIndex.isAvailable(1, from, to));
+        roomAvailabilityIndex.add(1, from, to);
+
+        assertFalse(roomAvailabilityIndex.isAvailable(1, from, to));
+        assertFalse(roomAvailabilityIndex.isAvailable(1, to, to.plusDays(1)));
+        assertTrue(roomAvailabilityIndex.isAvailable(1, to.plusDays(1), to.plusDays(10)));
+        Mockito.verify(unavailableDatesRepository, Mockito.times(1))
+                .findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test add() with not loaded room")
+    public void givenNotLoadedRoom_whenAdd_thenDatesLoadedOnFirstAccess() {
+        LocalDate from = LocalDate.of(2124, 1, 1);
+        LocalDate to = LocalDate.of(2124, 1, 31);
+
+        roomAvailabilityIndex.add(1, from, to);
+
+        Mockito.verify(unavailableDatesRepository, Mockito.times(0))
+                .findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test evict()")
+    public void givenLoadedRoom_whenEvict_thenDatesReloaded() {
+        LocalDate from = LocalDate.of(2124, 1, 1);
+        LocalDate to = LocalDate.of(2124, 1, 31);
+        Mockito.when(unavailableDatesRepository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any()))
+                .thenReturn(List.of());
+
+        roomAvailabilityIndex.isAvailable(1, from, to);
+        roomAvailabilityIndex.evict(1);
+        roomAvailabilityIndex.isAvailable(1, from, to);
+
+        Mockito.verify(unavailableDatesRepository, Mockito.times(2))
+                .findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test isAvailable() loads dates ending from today")
+    public void givenNotLoadedRoom_whenIsAvailable_thenDatesEndingFromTodayLoaded() {
+        LocalDate before = LocalDate.now();
+
+        roomAvailabilityIndex.isAvailable(1, before.plusDays(1), before.plusDays(10));
+
+        LocalDate after = LocalDate.now();
+        ArgumentCaptor<LocalDate> captor = ArgumentCaptor.forClass(LocalDate.class);
+        Mockito.verify(unavailableDatesRepository, Mockito.times(1))
+                .findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.eq(1), captor.capture());
+        assertFalse(captor.getValue().isBefore(before));
+        assertFalse(captor.getValue().isAfter(after));
+    }
+
+    @Test
+    @DisplayName("Test isAvailable() with past dates")
+    public void givenPastDates_whenIsAvailable_thenCheckedInDatabase() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        Mockito.when(unavailableDatesRepository.existsByRoomIdAndFromLessThanEqualAndToGreaterThanEqual(1, to, from))
+                .thenReturn(true);
+
+        assertFalse(roomAvailabilityIndex.isAvailable(1, from, to));
+        Mockito.verify(unavailableDatesRepository, Mockito.times(1))
+                .existsByRoomIdAndFromLessThanEqualAndToGreaterThanEqual(1, to, from);
+    }
+
+    private static Stream<Arguments> createOverlappingDates() {
+        return Stream.of(
+                Arguments.of(LocalDate.of(2123, 12, 31), LocalDate.of(2124, 1, 31)),
+                Arguments.of(LocalDate.of(2124, 1, 1), LocalDate.of(2124, 1, 30)),
+                Arguments.of(LocalDate.of(2124, 1, 10), LocalDate.of(2124, 1, 15)),
+                Arguments.of(LocalDate.of(2124, 1, 10), LocalDate.of(2124, 3, 1)),
+                Arguments.of(LocalDate.of(2123, 11, 10), LocalDate.of(2124, 1, 1)),
+                Arguments.of(LocalDate.of(2122, 1, 1), LocalDate.of(2125, 1, 1)),
+                Arguments.of(LocalDate.of(2123, 1, 10), LocalDate.of(2123, 1, 10))
+        );
+    }
+
+    private static Stream<Arguments> createFreeDates() {
+        return Stream.of(
+                Arguments.of(LocalDate.of(2122, 1, 1), LocalDate.of(2122, 12, 31)),
+                Arguments.of(LocalDate.of(2123, 1, 11), LocalDate.of(2123, 12, 30)),
+                Arguments.of(LocalDate.of(2124, 2, 1), LocalDate.of(2124, 5, 31)),
+                Arguments.of(LocalDate.of(2124, 7, 1), LocalDate.of(2125, 1, 1))
+        );
+    }
+
+    private static UnavailableDates unavailableDates(LocalDate from, LocalDate to) {
+        return UnavailableDates.builder()
+                .from(from)
+                .to(to)
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.allitov.hotelapi.model.service.cache;
+
+import com.allitov.hotelapi.model.entity.Hotel;
+import com.allitov.hotelapi.model.entity.Room;
+import com.allitov.hotelapi.model.event.RoomBookedEvent;
+import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoomSearchCacheTest {
+
+    private RoomSearchCache roomSearchCache;
+
+    private AtomicInteger loads;
+
+    private Supplier<List<Room>> loader;
+
+    @BeforeEach
+    public void setUp() {
+        roomSearchCache = new RoomSearchCache(100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        Room room = Room.builder()
+                .id(1)
+                .hotel(Hotel.builder().id(1).build())
+                .build();
+        loader = () -> {
+            loads.incrementAndGet();
+            return List.of(room);
+        };
+    }
+
+    @Test
+    @DisplayName("Test get() with equal filters")
+    public void givenEqualFilters_whenGet_thenLoadedOnce() {
+        RoomFilter filter = RoomFilter.builder()
+                .id(List.of(3, 1, 2))
+                .hotelId(1)
+                .build();
+        RoomFilter sameFilter = RoomFilter.builder()
+                .id(List.of(1, 2, 3, 3))
+                .hotelId(1)
+                .build();
+
+        List<Room> rooms = roomSearchCache.get(filter, loader);
+
+        assertEquals(rooms, roomSearchCache.get(sameFilter, loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test get() with different filters")
+    public void givenDifferentFilters_whenGet_thenLoadedForEach() {
+        roomSearchCache.get(RoomFilter.builder().hotelId(1).build(), loader);
+        roomSearchCache.get(RoomFilter.builder().hotelId(1).pageSize(10).pageNumber(0).build(), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test onRoomBooked()")
+    public void givenRoomBooked_whenGet_thenOnlyAffectedFiltersReloaded() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 10);
+        RoomFilter sameHotelOverlapping = RoomFilter.builder().hotelId(1).from(from).to(to).build();
+        RoomFilter anyHotelOverlapping = RoomFilter.builder().from(to).to(to.plusDays(5)).build();
+        RoomFilter otherHotelOverlapping = RoomFilter.builder().hotelId(2).from(from).to(to).build();
+        RoomFilter sameHotelNotOverlapping = RoomFilter.builder().hotelId(1).from(to.plusDays(1)).to(to.plusDays(5)).build();
+        RoomFilter sameHotelWithoutDates = RoomFilter.builder().hotelId(1).build();
+        List<RoomFilter> filters = List.of(sameHotelOverlapping, anyHotelOverlapping, otherHotelOverlapping,
+                sameHotelNotOverlapping, sameHotelWithoutDates);
+        filters.forEach(filter -> roomSearchCache.get(filter, loader));
+
+        roomSearchCache.onRoomBooked(new RoomBookedEvent(1, 1, from, to));
+        filters.forEach(filter -> roomSearchCache.get(filter, loader));
+
+        assertEquals(filters.size() + 2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test invalidateHotel()")
+    public void givenHotelInvalidated_whenGet_thenFiltersOfHotelReloaded() {
+        List<RoomFilter> filters = List.of(
+                RoomFilter.builder().hotelId(1).build(),
+                RoomFilter.builder().build(),
+                RoomFilter.builder().hotelId(2).build());
+        filters.forEach(filter -> roomSearchCache.get(filter, loader));
+
+        roomSearchCache.invalidateHotel(1);
+        filters.forEach(filter -> roomSearchCache.get(filter, loader));
+
+        assertEquals(filters.size() + 2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test invalidateAll()")
+    public void givenAllInvalidated_whenGet_thenAllFiltersReloaded() {
+        List<RoomFilter> filters = List.of(
+                RoomFilter.builder().hotelId(1).build(),
+                RoomFilter.builder().hotelId(2).build());
+        filters.forEach(filter -> roomSearchCache.get(filter, loader));
+
+        roomSearchCache.invalidateAll();
+        filters.forEach(filter -> roomSearchCache.get(filter, loader));
+
+        assertEquals(filters.size() * 2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test get() with invalidation during load")
+    public void givenInvalidationDuringLoad_whenGet_thenResultNotCached() {
+        RoomFilter filter = RoomFilter.builder().hotelId(1).build();
+
+        roomSearchCache.get(filter, () -> {
+            roomSearchCache.invalidateHotel(1);
+            return loader.get();
+        });
+        roomSearchCache.get(filter, loader);
+
+        assertEquals(2, loads.get());
+    }
+}
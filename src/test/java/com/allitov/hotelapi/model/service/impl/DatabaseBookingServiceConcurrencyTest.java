@@ -0,0 +1,168 @@
+package com.allitov.hotelapi.model.service.impl;
+
+import com.allitov.hotelapi.model.entity.Booking;
+import com.allitov.hotelapi.model.entity.Hotel;
+import com.allitov.hotelapi.model.entity.Room;
+import com.allitov.hotelapi.model.entity.UnavailableDates;
+import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.model.repository.BookingRepository;
+import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
+import com.allitov.hotelapi.model.service.RoomService;
+import com.allitov.hotelapi.model.service.UserService;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityIndex;
+import com.allitov.hotelapi.model.service.outbox.OutboxPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseBookingServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    private static final int ATTEMPTS_PER_THREAD = 200;
+
+    private static final LocalDate START_DATE = LocalDate.of(2124, 1, 1);
+
+    private DatabaseBookingService bookingService;
+
+    private UnavailableDatesRepository unavailableDatesRepository;
+
+    private List<UnavailableDates> savedUnavailableDates;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+        RoomService roomService = Mockito.mock(RoomService.class);
+        UserService userService = Mockito.mock(UserService.class);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        unavailableDatesRepository = Mockito.mock(UnavailableDatesRepository.class);
+        savedUnavailableDates = Collections.synchronizedList(new ArrayList<>());
+
+        Mockito.when(roomService.findById(Mockito.anyInt()))
+                .thenAnswer(invocation -> Room.builder()
+                        .id(invocation.getArgument(0))
+                        .hotel(Hotel.builder().id(1).build())
+                        .build());
+        Mockito.when(userService.findById(Mockito.anyInt()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+        Mockito.when(unavailableDatesRepository.findAllByRoomIdAndToGreaterThanEqualOrderByFromAsc(Mockito.anyInt(), Mockito.any()))
+                .thenReturn(List.of());
+        Mockito.when(unavailableDatesRepository.save(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    Thread.yield();
+                    savedUnavailableDates.add(invocation.getArgument(0));
+                    return invocation.getArgument(0);
+                });
+        Mockito.when(bookingRepository.save(Mockito.any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        bookingService = new DatabaseBookingService(
+                bookingRepository,
+                roomService,
+                userService,
+                unavailableDatesRepository,
+                new RoomAvailabilityIndex(unavailableDatesRepository, 100),
+                Mockito.mock(OutboxPublisher.class),
+                transactionTemplate,
+                Mockito.mock(ApplicationEventPublisher.class)
+        );
+    }
+
+    @Test
+    @DisplayName("Test create() with concurrent bookings of the same room")
+    public void givenConcurrentOverlappingBookings_whenCreate_thenNoDoubleBookings() throws Exception {
+        AtomicInteger createdBookings = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    LocalDate from = START_DATE.plusDays(random.nextInt(120));
+                    LocalDate to = from.plusDays(random.nextInt(7));
+                    try {
+                        bookingService.create(booking(1, from, to));
+                        createdBookings.incrementAndGet();
+                    } catch (DateTimeException ignored) {
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertTrue(createdBookings.get() > 0);
+        assertEquals(createdBookings.get(), savedUnavailableDates.size());
+        for (int i = 0; i < savedUnavailableDates.size(); i++) {
+            for (int j = i + 1; j < savedUnavailableDates.size(); j++) {
+                UnavailableDates first = savedUnavailableDates.get(i);
+                UnavailableDates second = savedUnavailableDates.get(j);
+                assertTrue(first.getTo().isBefore(second.getFrom()) || second.getTo().isBefore(first.getFrom()),
+                        () -> "Double booking: " + first + " and " + second);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test create() doesn't block bookings of other rooms")
+    public void givenBlockedRoom_whenCreateForOtherRoom_thenNotBlocked() throws Exception {
+        CountDownLatch firstRoomSaving = new CountDownLatch(1);
+        CountDownLatch releaseFirstRoom = new CountDownLatch(1);
+        Mockito.when(unavailableDatesRepository.save(Mockito.argThat(dates -> dates.getRoom().getId() == 1)))
+                .thenAnswer(invocation -> {
+                    firstRoomSaving.countDown();
+                    releaseFirstRoom.await();
+                    return invocation.getArgument(0);
+                });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        Future<Booking> blockedBooking = executor.submit(
+                () -> bookingService.create(booking(1, START_DATE, START_DATE.plusDays(1))));
+        assertTrue(firstRoomSaving.await(10, TimeUnit.SECONDS));
+        Future<Booking> sameRoomBooking = executor.submit(
+                () -> bookingService.create(booking(1, START_DATE.plusDays(5), START_DATE.plusDays(6))));
+        Future<Booking> otherRoomBooking = executor.submit(
+                () -> bookingService.create(booking(2, START_DATE, START_DATE.plusDays(1))));
+
+        assertNotNull(otherRoomBooking.get(10, TimeUnit.SECONDS));
+        assertThrows(TimeoutException.class, () -> sameRoomBooking.get(200, TimeUnit.MILLISECONDS));
+
+        releaseFirstRoom.countDown();
+        assertNotNull(blockedBooking.get(10, TimeUnit.SECONDS));
+        assertNotNull(sameRoomBooking.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private Booking booking(Integer roomId, LocalDate from, LocalDate to) {
+        return Booking.builder()
+                .room(Room.builder().id(roomId).build())
+                .user(User.builder().id(1).build())
+                .from(from)
+                .to(to)
+                .build();
+    }
+}
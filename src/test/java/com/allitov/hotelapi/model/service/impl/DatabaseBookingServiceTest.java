@@ -2,32 +2,44 @@ package com.allitov.hotelapi.model.service.impl;
 
 import com.allitov.hotelapi.message.BookingCreationMessage;
 import com.allitov.hotelapi.model.entity.Booking;
+import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.entity.Room;
 import com.allitov.hotelapi.model.entity.UnavailableDates;
 import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.model.event.RoomBookedEvent;
 import com.allitov.hotelapi.model.repository.BookingRepository;
 import com.allitov.hotelapi.model.repository.UnavailableDatesRepository;
 import com.allitov.hotelapi.model.service.RoomService;
 import com.allitov.hotelapi.model.service.UserService;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityIndex;
+import com.allitov.hotelapi.model.service.outbox.OutboxPublisher;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.BookingFilter;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.Arguments;
-import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,7 +63,16 @@ public class DatabaseBookingServiceTest {
     private UnavailableDatesRepository unavailableDatesRepository;
 
     @Mock
-    private KafkaTemplate<String, BookingCreationMessage> kafkaTemplate;
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private Booking booking;
 
@@ -70,6 +91,7 @@ public class DatabaseBookingServiceTest {
                 .price(new BigDecimal("123.45"))
                 .maxPeople((short) 5)
                 .unavailableDates(List.of())
+                .hotel(Hotel.builder().id(1).build())
                 .build();
 
         user = User.builder()
@@ -110,6 +132,33 @@ public class DatabaseBookingServiceTest {
                 .findAll();
     }
 
+    @Test
+    @DisplayName("Test filterBy() with cursor")
+    @SuppressWarnings("unchecked")
+    public void givenFilterWithCursor_whenFilterBy_thenNextPage() {
+        BookingFilter filter = new BookingFilter();
+        filter.setPageSize(10);
+        filter.setAfter(CursorUtils.encode(1));
+        FluentQuery.FetchableFluentQuery<Booking> fluentQuery =
+                Mockito.mock(FluentQuery.FetchableFluentQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(fluentQuery.all())
+                .thenReturn(List.of(booking));
+        Mockito.when(bookingRepository.findBy(Mockito.<Specification<Booking>>any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation
+                        .<Function<FluentQuery.FetchableFluentQuery<Booking>, List<Booking>>>getArgument(1)
+                        .apply(fluentQuery));
+
+        List<Booking> foundBookings = bookingService.filterBy(filter);
+
+        assertThat(foundBookings).containsExactly(booking);
+        Mockito.verify(fluentQuery, Mockito.times(1))
+                .sortBy(Sort.by("id"));
+        Mockito.verify(fluentQuery, Mockito.times(1))
+                .limit(10);
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findAll(Mockito.<Specification<Booking>>any(), Mockito.any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Test create()")
     public void givenBooking_whenCreate_thenBooking() {
@@ -117,6 +166,10 @@ public class DatabaseBookingServiceTest {
                 .thenReturn(user);
         Mockito.when(roomService.findById(1))
                 .thenReturn(room);
+        Mockito.when(roomAvailabilityIndex.isAvailable(1, booking.getFrom(), booking.getTo()))
+                .thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         Mockito.when(bookingRepository.save(booking))
                 .thenReturn(booking);
         Mockito.when(unavailableDatesRepository.save(unavailableDates))
@@ -133,6 +186,13 @@ public class DatabaseBookingServiceTest {
                 .save(booking);
         Mockito.verify(unavailableDatesRepository, Mockito.times(1))
                 .save(unavailableDates);
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(1))
+                .add(1, booking.getFrom(), booking.getTo());
+        Mockito.verify(outboxPublisher, Mockito.times(1))
+                .publish(Mockito.any(), Mockito.eq(1), Mockito.argThat(message ->
+                        message instanceof BookingCreationMessage bookingMessage && bookingMessage.getRoomId() == 1));
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new RoomBookedEvent(1, 1, booking.getFrom(), booking.getTo()));
     }
 
     @Test
@@ -191,16 +251,15 @@ public class DatabaseBookingServiceTest {
                 .save(booking);
     }
 
-    @ParameterizedTest
-    @MethodSource("createUnavailableDates")
+    @Test
     @DisplayName("Test create() with unavailable dates")
-    public void givenUnavailableBookingDates_whenCreate_thenError(LocalDate from, LocalDate to) {
-        UnavailableDates unavailableDates = UnavailableDates.builder().from(from).to(to).build();
-        room.setUnavailableDates(List.of(unavailableDates));
+    public void givenUnavailableBookingDates_whenCreate_thenError() {
         Mockito.when(roomService.findById(1))
                 .thenReturn(room);
         Mockito.when(userService.findById(1))
                 .thenReturn(user);
+        Mockito.when(roomAvailabilityIndex.isAvailable(1, booking.getFrom(), booking.getTo()))
+                .thenReturn(false);
 
         assertThrows(DateTimeException.class, () -> bookingService.create(booking));
 
@@ -212,15 +271,180 @@ public class DatabaseBookingServiceTest {
                 .save(unavailableDates);
         Mockito.verify(bookingRepository, Mockito.times(0))
                 .save(booking);
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(0))
+                .add(1, booking.getFrom(), booking.getTo());
+        Mockito.verifyNoInteractions(outboxPublisher, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Test create() with dates booked concurrently")
+    public void givenDatesOverlapInDatabase_whenCreate_thenError() {
+        Mockito.when(roomService.findById(1))
+                .thenReturn(room);
+        Mockito.when(userService.findById(1))
+                .thenReturn(user);
+        Mockito.when(roomAvailabilityIndex.isAvailable(1, booking.getFrom(), booking.getTo()))
+                .thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(unavailableDatesRepository.save(unavailableDates))
+                .thenThrow(new DataIntegrityViolationException("Conflicting key",
+                        new SQLException("Conflicting key", "23P01")));
+
+        DateTimeException exception = assertThrows(DateTimeException.class, () -> bookingService.create(booking));
+
+        assertEquals("Dates from '2023-12-31' to '2024-01-31' are unavailable.", exception.getMessage());
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(1))
+                .evict(1);
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(0))
+                .add(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(bookingRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Test create() with other data integrity violation")
+    public void givenOtherDataIntegrityViolation_whenCreate_thenRethrown() {
+        Mockito.when(roomService.findById(1))
+                .thenReturn(room);
+        Mockito.when(userService.findById(1))
+                .thenReturn(user);
+        Mockito.when(roomAvailabilityIndex.isAvailable(1, booking.getFrom(), booking.getTo()))
+                .thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(unavailableDatesRepository.save(unavailableDates))
+                .thenThrow(new DataIntegrityViolationException("Foreign key",
+                        new SQLException("Foreign key", "23503")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.create(booking));
+
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(0))
+                .evict(Mockito.any());
     }
 
-    private static Stream<Arguments> createUnavailableDates() {
-        return Stream.of(
-                Arguments.of(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 31)),
-                Arguments.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 30)),
-                Arguments.of(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 15)),
-                Arguments.of(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 3, 1)),
-                Arguments.of(LocalDate.of(2023, 11, 10), LocalDate.of(2024, 1, 1))
-        );
+    @Test
+    @DisplayName("Test createAll()")
+    public void givenBookings_whenCreateAll_thenBookings() {
+        Booking nextBooking = Booking.builder()
+                .room(Room.builder().id(1).build())
+                .user(User.builder().id(1).build())
+                .from(LocalDate.of(2024, 2, 1))
+                .to(LocalDate.of(2024, 2, 10))
+                .build();
+        List<Booking> bookings = List.of(booking, nextBooking);
+        Mockito.when(roomService.findAllById(Set.of(1)))
+                .thenReturn(List.of(room));
+        Mockito.when(userService.findAllById(Set.of(1)))
+                .thenReturn(List.of(user));
+        Mockito.when(roomAvailabilityIndex.isAvailable(Mockito.eq(1), Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(bookingRepository.saveAll(bookings))
+                .thenReturn(bookings);
+
+        List<Booking> createdBookings = bookingService.createAll(bookings);
+
+        assertEquals(bookings, createdBookings);
+        assertEquals(room, nextBooking.getRoom());
+        assertEquals(user, nextBooking.getUser());
+        Mockito.verify(roomService, Mockito.times(1))
+                .findAllById(Set.of(1));
+        Mockito.verify(userService, Mockito.times(1))
+                .findAllById(Set.of(1));
+        Mockito.verify(unavailableDatesRepository, Mockito.times(1))
+                .saveAll(Mockito.<List<UnavailableDates>>argThat(dates -> dates.size() == 2));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .saveAll(bookings);
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(2))
+                .add(Mockito.eq(1), Mockito.any(), Mockito.any());
+        Mockito.verify(outboxPublisher, Mockito.times(1))
+                .publishAll(Mockito.any(), Mockito.<List<BookingCreationMessage>>argThat(messages -> messages.size() == 2),
+                        Mockito.any());
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new RoomBookedEvent(1, 1, booking.getFrom(), booking.getTo()));
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new RoomBookedEvent(1, 1, nextBooking.getFrom(), nextBooking.getTo()));
+    }
+
+    @Test
+    @DisplayName("Test createAll() with invalid dates")
+    public void givenInvalidBookingDates_whenCreateAll_thenError() {
+        booking.setTo(LocalDate.of(2020, 1, 31));
+
+        assertThrows(DateTimeException.class, () -> bookingService.createAll(List.of(booking)));
+
+        Mockito.verifyNoInteractions(roomService, userService, bookingRepository, unavailableDatesRepository);
+    }
+
+    @Test
+    @DisplayName("Test createAll() with overlapping bookings")
+    public void givenOverlappingBookings_whenCreateAll_thenError() {
+        Booking overlappingBooking = Booking.builder()
+                .room(Room.builder().id(1).build())
+                .user(User.builder().id(1).build())
+                .from(LocalDate.of(2024, 1, 31))
+                .to(LocalDate.of(2024, 2, 10))
+                .build();
+        Mockito.when(roomService.findAllById(Set.of(1)))
+                .thenReturn(List.of(room));
+        Mockito.when(userService.findAllById(Set.of(1)))
+                .thenReturn(List.of(user));
+
+        assertThrows(DateTimeException.class, () -> bookingService.createAll(List.of(overlappingBooking, booking)));
+
+        Mockito.verifyNoInteractions(roomAvailabilityIndex, bookingRepository, unavailableDatesRepository, outboxPublisher);
+    }
+
+    @Test
+    @DisplayName("Test createAll() with unavailable dates")
+    public void givenUnavailableBookingDates_whenCreateAll_thenError() {
+        Mockito.when(roomService.findAllById(Set.of(1)))
+                .thenReturn(List.of(room));
+        Mockito.when(userService.findAllById(Set.of(1)))
+                .thenReturn(List.of(user));
+        Mockito.when(roomAvailabilityIndex.isAvailable(1, booking.getFrom(), booking.getTo()))
+                .thenReturn(false);
+
+        assertThrows(DateTimeException.class, () -> bookingService.createAll(List.of(booking)));
+
+        Mockito.verifyNoInteractions(bookingRepository, unavailableDatesRepository, outboxPublisher);
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(0))
+                .add(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test createAll() with dates booked concurrently")
+    public void givenDatesOverlapInDatabase_whenCreateAll_thenError() {
+        Mockito.when(roomService.findAllById(Set.of(1)))
+                .thenReturn(List.of(room));
+        Mockito.when(userService.findAllById(Set.of(1)))
+                .thenReturn(List.of(user));
+        Mockito.when(roomAvailabilityIndex.isAvailable(1, booking.getFrom(), booking.getTo()))
+                .thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(unavailableDatesRepository.saveAll(Mockito.<List<UnavailableDates>>any()))
+                .thenThrow(new DataIntegrityViolationException("Conflicting key",
+                        new SQLException("Conflicting key", "23P01")));
+
+        assertThrows(DateTimeException.class, () -> bookingService.createAll(List.of(booking)));
+
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(1))
+                .evict(1);
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(0))
+                .add(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(bookingRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Test createAll() with nonexistent room")
+    public void givenNonexistentBookingRoom_whenCreateAll_thenError() {
+        Mockito.when(roomService.findAllById(Set.of(1)))
+                .thenThrow(EntityNotFoundException.class);
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.createAll(List.of(booking)));
+
+        Mockito.verifyNoInteractions(userService, bookingRepository, unavailableDatesRepository, outboxPublisher);
     }
 }
@@ -2,6 +2,10 @@ package com.allitov.hotelapi.model.service.impl;
 
 import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.repository.HotelRepository;
+import com.allitov.hotelapi.model.service.cache.RoomSearchCache;
+import com.allitov.hotelapi.model.service.search.HotelSearchIndex;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.HotelFilter;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,9 +15,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +36,12 @@ public class DatabaseHotelServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Mock
+    private RoomSearchCache roomSearchCache;
+
     private Hotel hotel;
 
     @BeforeEach
@@ -57,6 +72,99 @@ public class DatabaseHotelServiceTest {
                 .findAll();
     }
 
+    @Test
+    @DisplayName("Test filterBy() with cursor")
+    @SuppressWarnings("unchecked")
+    public void givenFilterWithCursor_whenFilterBy_thenNextPage() {
+        HotelFilter filter = new HotelFilter();
+        filter.setPageSize(10);
+        filter.setAfter(CursorUtils.encode(1));
+        FluentQuery.FetchableFluentQuery<Hotel> fluentQuery =
+                Mockito.mock(FluentQuery.FetchableFluentQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(fluentQuery.all())
+                .thenReturn(List.of(hotel));
+        Mockito.when(hotelRepository.findBy(Mockito.<Specification<Hotel>>any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation
+                        .<Function<FluentQuery.FetchableFluentQuery<Hotel>, List<Hotel>>>getArgument(1)
+                        .apply(fluentQuery));
+
+        List<Hotel> foundHotels = hotelService.filterBy(filter);
+
+        assertThat(foundHotels).containsExactly(hotel);
+        Mockito.verify(fluentQuery, Mockito.times(1))
+                .sortBy(Sort.by("id"));
+        Mockito.verify(fluentQuery, Mockito.times(1))
+                .limit(10);
+        Mockito.verify(hotelRepository, Mockito.never())
+                .findAll(Mockito.<Specification<Hotel>>any(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with malformed cursor")
+    public void givenFilterWithMalformedCursor_whenFilterBy_thenException() {
+        HotelFilter filter = new HotelFilter();
+        filter.setPageSize(10);
+        filter.setAfter("malformed");
+
+        assertThrows(IllegalArgumentException.class, () -> hotelService.filterBy(filter));
+
+        Mockito.verifyNoInteractions(hotelRepository);
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with text query")
+    public void givenFilterWithQuery_whenFilterBy_thenHotelsSortedByRank() {
+        Hotel secondHotel = Hotel.builder().id(2).name("second").build();
+        Hotel thirdHotel = Hotel.builder().id(3).name("third").build();
+        HotelFilter filter = new HotelFilter();
+        filter.setQ("hotel");
+        filter.setPageSize(2);
+        filter.setPageNumber(0);
+        Mockito.when(hotelSearchIndex.search("hotel"))
+                .thenReturn(List.of(3, 1, 2));
+        Mockito.when(hotelRepository.findAll(Mockito.<Specification<Hotel>>any()))
+                .thenReturn(List.of(hotel, secondHotel, thirdHotel));
+
+        List<Hotel> foundHotels = hotelService.filterBy(filter);
+
+        assertThat(foundHotels).containsExactly(thirdHotel, hotel);
+        Mockito.verify(hotelRepository, Mockito.never())
+                .findAll(Mockito.<Specification<Hotel>>any(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with text query and cursor")
+    public void givenFilterWithQueryAndCursor_whenFilterBy_thenNextRankedPage() {
+        Hotel secondHotel = Hotel.builder().id(2).name("second").build();
+        Hotel thirdHotel = Hotel.builder().id(3).name("third").build();
+        HotelFilter filter = new HotelFilter();
+        filter.setQ("hotel");
+        filter.setPageSize(2);
+        filter.setAfter(CursorUtils.encode(3));
+        Mockito.when(hotelSearchIndex.search("hotel"))
+                .thenReturn(List.of(3, 1, 2));
+        Mockito.when(hotelRepository.findAll(Mockito.<Specification<Hotel>>any()))
+                .thenReturn(List.of(hotel, secondHotel, thirdHotel));
+
+        List<Hotel> foundHotels = hotelService.filterBy(filter);
+
+        assertThat(foundHotels).containsExactly(hotel, secondHotel);
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with not matching text query")
+    public void givenFilterWithNotMatchingQuery_whenFilterBy_thenEmptyList() {
+        HotelFilter filter = new HotelFilter();
+        filter.setQ("nothing");
+        Mockito.when(hotelSearchIndex.search("nothing"))
+                .thenReturn(List.of());
+
+        List<Hotel> foundHotels = hotelService.filterBy(filter);
+
+        assertThat(foundHotels).isEmpty();
+        Mockito.verifyNoInteractions(hotelRepository);
+    }
+
     @Test
     @DisplayName("Test findById()")
     public void givenId_whenFindById_thenHotel() {
@@ -78,12 +186,44 @@ public class DatabaseHotelServiceTest {
         Mockito.when(hotelRepository.findById(id))
                 .thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> hotelService.findById(id));
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> hotelService.findById(id));
 
+        assertEquals("Hotel with id = '10' not found.", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
         Mockito.verify(hotelRepository, Mockito.times(1))
                 .findById(id);
     }
 
+    @Test
+    @DisplayName("Test findAllById()")
+    public void givenIds_whenFindAllById_thenHotels() {
+        List<Integer> ids = List.of(1);
+        Mockito.when(hotelRepository.findAllById(ids))
+                .thenReturn(List.of(hotel));
+
+        List<Hotel> foundHotels = hotelService.findAllById(ids);
+
+        assertThat(foundHotels).containsExactly(hotel);
+        Mockito.verify(hotelRepository, Mockito.times(1))
+                .findAllById(ids);
+    }
+
+    @Test
+    @DisplayName("Test findAllById() EntityNotFoundException")
+    public void givenNonexistentIds_whenFindAllById_thenException() {
+        List<Integer> ids = List.of(1, 2);
+        Mockito.when(hotelRepository.findAllById(ids))
+                .thenReturn(List.of(hotel));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> hotelService.findAllById(ids));
+
+        assertThat(exception.getMessage()).contains("2");
+        Mockito.verify(hotelRepository, Mockito.times(1))
+                .findAllById(ids);
+    }
+
     @Test
     @DisplayName("Test create()")
     public void givenHotel_whenCreate_thenHotel() {
@@ -94,10 +234,36 @@ public class DatabaseHotelServiceTest {
 
         assertEquals(0F, createdHotel.getRating());
         assertEquals(0, createdHotel.getNumberOfRatings());
+        assertEquals(0L, createdHotel.getRatingSum());
         Mockito.verify(hotelRepository, Mockito.times(1))
                 .save(hotel);
     }
 
+    @Test
+    @DisplayName("Test createAll()")
+    public void givenListOfHotels_whenCreateAll_thenListOfHotels() {
+        Hotel otherHotel = Hotel.builder()
+                .id(2)
+                .name("other hotel")
+                .build();
+        List<Hotel> hotels = List.of(hotel, otherHotel);
+        Mockito.when(hotelRepository.saveAll(hotels))
+                .thenReturn(hotels);
+
+        List<Hotel> createdHotels = hotelService.createAll(hotels);
+
+        assertEquals(hotels, createdHotels);
+        assertThat(createdHotels).allSatisfy(createdHotel -> {
+            assertEquals(0F, createdHotel.getRating());
+            assertEquals(0, createdHotel.getNumberOfRatings());
+            assertEquals(0L, createdHotel.getRatingSum());
+        });
+        Mockito.verify(hotelRepository, Mockito.times(1))
+                .saveAll(hotels);
+        Mockito.verify(hotelRepository, Mockito.never())
+                .save(Mockito.any());
+    }
+
     @Test
     @DisplayName("Test updateById()")
     public void givenIdAndHotel_whenUpdateById_thenHotel() {
@@ -140,6 +306,8 @@ public class DatabaseHotelServiceTest {
 
         Mockito.verify(hotelRepository, Mockito.times(1))
                 .deleteById(id);
+        Mockito.verify(roomSearchCache, Mockito.times(1))
+                .invalidateHotel(id);
     }
 
     @Test
@@ -147,21 +315,36 @@ public class DatabaseHotelServiceTest {
     public void givenIdAndRating_whenUpdateRatingById_thenHotel() {
         Integer id = 1;
         Integer newMark = 2;
+        Mockito.when(hotelRepository.addMarkById(id, newMark))
+                .thenReturn(1);
         Mockito.when(hotelRepository.findById(id))
                 .thenReturn(Optional.of(hotel));
-        Mockito.when(hotelRepository.save(hotel))
-                .thenReturn(hotel);
 
-        hotelService.updateRatingById(id, newMark);
+        Hotel updatedHotel = hotelService.updateRatingById(id, newMark);
 
-        assertEquals(2.0F, hotel.getRating());
-        assertEquals(2, hotel.getNumberOfRatings());
+        assertEquals(hotel, updatedHotel);
         Mockito.verify(hotelRepository, Mockito.times(1))
-                .findById(id);
+                .addMarkById(id, newMark);
         Mockito.verify(hotelRepository, Mockito.times(1))
+                .findById(id);
+        Mockito.verify(hotelRepository, Mockito.times(0))
                 .save(hotel);
     }
 
+    @Test
+    @DisplayName("Test updateRatingById() EntityNotFoundException")
+    public void givenNonexistentIdAndRating_whenUpdateRatingById_thenException() {
+        Integer id = 10;
+        Integer newMark = 2;
+        Mockito.when(hotelRepository.addMarkById(id, newMark))
+                .thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> hotelService.updateRatingById(id, newMark));
+
+        Mockito.verify(hotelRepository, Mockito.times(0))
+                .findById(id);
+    }
+
     @Test
     @DisplayName("Test updateRatingById() IllegalArgumentException")
     public void givenIdAndIllegalRating_whenUpdateRatingById_thenException() {
@@ -170,6 +353,8 @@ public class DatabaseHotelServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> hotelService.updateRatingById(id, newMark));
 
+        Mockito.verify(hotelRepository, Mockito.times(0))
+                .addMarkById(id, newMark);
         Mockito.verify(hotelRepository, Mockito.times(0))
                 .findById(id);
         Mockito.verify(hotelRepository, Mockito.times(0))
@@ -3,7 +3,13 @@ package com.allitov.hotelapi.model.service.impl;
 import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.entity.Room;
 import com.allitov.hotelapi.model.repository.RoomRepository;
+import com.allitov.hotelapi.model.repository.specification.RoomSpecification;
 import com.allitov.hotelapi.model.service.HotelService;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityCalendar;
+import com.allitov.hotelapi.model.service.availability.RoomAvailabilityIndex;
+import com.allitov.hotelapi.model.service.cache.RoomSearchCache;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.RoomFilter;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +17,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +51,15 @@ public class DatabaseRoomServiceTest {
     @Mock
     private HotelService hotelService;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private RoomAvailabilityCalendar roomAvailabilityCalendar;
+
+    @Spy
+    private RoomSearchCache roomSearchCache = new RoomSearchCache(100, Duration.ofMinutes(1));
+
     private Room room;
 
     private Hotel hotel;
@@ -75,6 +102,104 @@ public class DatabaseRoomServiceTest {
                 .findAll();
     }
 
+    @Test
+    @DisplayName("Test filterBy() with cached filter")
+    public void givenCachedFilter_whenFilterBy_thenRoomsNotSearchedAgain() {
+        RoomFilter filter = new RoomFilter();
+        filter.setHotelId(1);
+        filter.setMinPrice(new BigDecimal("100.00"));
+        RoomFilter sameFilter = new RoomFilter();
+        sameFilter.setHotelId(1);
+        sameFilter.setMinPrice(new BigDecimal("100"));
+        Mockito.when(roomRepository.findAll(Mockito.<Specification<Room>>any()))
+                .thenReturn(List.of(room));
+
+        List<Room> foundRooms = roomService.filterBy(filter);
+        List<Room> cachedRooms = roomService.filterBy(sameFilter);
+
+        assertThat(foundRooms).containsExactly(room);
+        assertThat(cachedRooms).containsExactly(room);
+        Mockito.verify(roomRepository, Mockito.times(1))
+                .findAll(Mockito.<Specification<Room>>any());
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with dates in availability calendar")
+    public void givenFilterWithDatesInCalendar_whenFilterBy_thenBookedRoomsExcludedById() {
+        ReflectionTestUtils.setField(roomService, "maxExcludedRooms", 10);
+        RoomFilter filter = new RoomFilter();
+        filter.setFrom(LocalDate.of(2024, 1, 1));
+        filter.setTo(LocalDate.of(2024, 1, 31));
+        BitSet bookedRoomIds = new BitSet();
+        bookedRoomIds.set(2);
+        bookedRoomIds.set(5);
+        Mockito.when(roomAvailabilityCalendar.findBookedRoomIds(filter.getFrom(), filter.getTo()))
+                .thenReturn(Optional.of(bookedRoomIds));
+        Mockito.when(roomRepository.findAll(Mockito.<Specification<Room>>any()))
+                .thenReturn(List.of(room));
+
+        try (MockedStatic<RoomSpecification> roomSpecification =
+                     Mockito.mockStatic(RoomSpecification.class, Mockito.CALLS_REAL_METHODS)) {
+            List<Room> foundRooms = roomService.filterBy(filter);
+
+            assertThat(foundRooms).containsExactly(room);
+            roomSpecification.verify(() -> RoomSpecification.withFilter(filter, List.of(2, 5)));
+            roomSpecification.verify(() -> RoomSpecification.withFilter(filter), Mockito.never());
+        }
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with dates out of availability calendar")
+    public void givenFilterWithDatesOutOfCalendar_whenFilterBy_thenUnavailableDatesSearched() {
+        ReflectionTestUtils.setField(roomService, "maxExcludedRooms", 10);
+        RoomFilter filter = new RoomFilter();
+        filter.setFrom(LocalDate.of(2024, 1, 1));
+        filter.setTo(LocalDate.of(2024, 1, 31));
+        Mockito.when(roomAvailabilityCalendar.findBookedRoomIds(filter.getFrom(), filter.getTo()))
+                .thenReturn(Optional.empty());
+        Mockito.when(roomRepository.findAll(Mockito.<Specification<Room>>any()))
+                .thenReturn(List.of(room));
+
+        try (MockedStatic<RoomSpecification> roomSpecification =
+                     Mockito.mockStatic(RoomSpecification.class, Mockito.CALLS_REAL_METHODS)) {
+            List<Room> foundRooms = roomService.filterBy(filter);
+
+            assertThat(foundRooms).containsExactly(room);
+            roomSpecification.verify(() -> RoomSpecification.withFilter(filter));
+            roomSpecification.verify(() -> RoomSpecification.withFilter(Mockito.eq(filter), Mockito.any()),
+                    Mockito.never());
+        }
+        Mockito.verify(roomRepository, Mockito.times(1))
+                .findAll(Mockito.<Specification<Room>>any());
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with cursor")
+    @SuppressWarnings("unchecked")
+    public void givenFilterWithCursor_whenFilterBy_thenNextPage() {
+        RoomFilter filter = new RoomFilter();
+        filter.setPageSize(10);
+        filter.setAfter(CursorUtils.encode(1));
+        FluentQuery.FetchableFluentQuery<Room> fluentQuery =
+                Mockito.mock(FluentQuery.FetchableFluentQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(fluentQuery.all())
+                .thenReturn(List.of(room));
+        Mockito.when(roomRepository.findBy(Mockito.<Specification<Room>>any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation
+                        .<Function<FluentQuery.FetchableFluentQuery<Room>, List<Room>>>getArgument(1)
+                        .apply(fluentQuery));
+
+        List<Room> foundRooms = roomService.filterBy(filter);
+
+        assertThat(foundRooms).containsExactly(room);
+        Mockito.verify(fluentQuery, Mockito.times(1))
+                .sortBy(Sort.by("id"));
+        Mockito.verify(fluentQuery, Mockito.times(1))
+                .limit(10);
+        Mockito.verify(roomRepository, Mockito.never())
+                .findAll(Mockito.<Specification<Room>>any(), Mockito.any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Test findById()")
     public void givenId_whenFindById_thenRoom() {
@@ -102,6 +227,35 @@ public class DatabaseRoomServiceTest {
                 .findById(id);
     }
 
+    @Test
+    @DisplayName("Test findAllById()")
+    public void givenIds_whenFindAllById_thenRooms() {
+        List<Integer> ids = List.of(1);
+        Mockito.when(roomRepository.findAllById(ids))
+                .thenReturn(List.of(room));
+
+        List<Room> foundRooms = roomService.findAllById(ids);
+
+        assertThat(foundRooms).containsExactly(room);
+        Mockito.verify(roomRepository, Mockito.times(1))
+                .findAllById(ids);
+    }
+
+    @Test
+    @DisplayName("Test findAllById() EntityNotFoundException")
+    public void givenNonexistentIds_whenFindAllById_thenException() {
+        List<Integer> ids = List.of(1, 2);
+        Mockito.when(roomRepository.findAllById(ids))
+                .thenReturn(List.of(room));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> roomService.findAllById(ids));
+
+        assertThat(exception.getMessage()).contains("2");
+        Mockito.verify(roomRepository, Mockito.times(1))
+                .findAllById(ids);
+    }
+
     @Test
     @DisplayName("Test create()")
     public void givenRoom_whenCreate_thenRoom() {
@@ -118,6 +272,47 @@ public class DatabaseRoomServiceTest {
                 .findById(hotelId);
         Mockito.verify(roomRepository, Mockito.times(1))
                 .save(room);
+        Mockito.verify(roomSearchCache, Mockito.times(1))
+                .invalidateHotel(hotelId);
+    }
+
+    @Test
+    @DisplayName("Test createAll()")
+    public void givenListOfRooms_whenCreateAll_thenListOfRooms() {
+        Room otherRoom = Room.builder()
+                .id(2)
+                .number((short) 102)
+                .hotel(Hotel.builder().id(1).build())
+                .build();
+        List<Room> rooms = List.of(room, otherRoom);
+        Mockito.when(hotelService.findAllById(Set.of(1)))
+                .thenReturn(List.of(hotel));
+        Mockito.when(roomRepository.saveAll(rooms))
+                .thenReturn(rooms);
+
+        List<Room> createdRooms = roomService.createAll(rooms);
+
+        assertEquals(rooms, createdRooms);
+        assertSame(hotel, otherRoom.getHotel());
+        Mockito.verify(hotelService, Mockito.times(1))
+                .findAllById(Set.of(1));
+        Mockito.verify(roomRepository, Mockito.times(1))
+                .saveAll(rooms);
+        Mockito.verify(roomSearchCache, Mockito.times(1))
+                .invalidateHotel(1);
+    }
+
+    @Test
+    @DisplayName("Test createAll() with nonexistent hotel")
+    public void givenNonexistentHotelId_whenCreateAll_thenThrowException() {
+        List<Room> rooms = List.of(room);
+        Mockito.when(hotelService.findAllById(Set.of(1)))
+                .thenThrow(EntityNotFoundException.class);
+
+        assertThrows(EntityNotFoundException.class, () -> roomService.createAll(rooms));
+
+        Mockito.verify(roomRepository, Mockito.never())
+                .saveAll(Mockito.any());
     }
 
     @Test
@@ -141,6 +336,8 @@ public class DatabaseRoomServiceTest {
                 .findById(hotelId);
         Mockito.verify(roomRepository, Mockito.times(1))
                 .save(room);
+        Mockito.verify(roomSearchCache, Mockito.times(2))
+                .invalidateHotel(hotelId);
     }
 
     @Test
@@ -167,5 +364,9 @@ public class DatabaseRoomServiceTest {
 
         Mockito.verify(roomRepository, Mockito.times(1))
                 .deleteById(id);
+        Mockito.verify(roomAvailabilityIndex, Mockito.times(1))
+                .evict(id);
+        Mockito.verify(roomSearchCache, Mockito.times(1))
+                .invalidateAll();
     }
 }
@@ -0,0 +1,311 @@
+package com.allitov.hotelapi.model.service.impl;
+
+import com.allitov.hotelapi.message.BookingCreationMessage;
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.UserRegistrationMessage;
+import com.allitov.hotelapi.model.entity.BookingStatistics;
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+import com.allitov.hotelapi.model.repository.DailyStatisticsRepository;
+import com.allitov.hotelapi.model.repository.StatisticsEventRepository;
+import com.allitov.hotelapi.model.repository.StatisticsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseStatisticsServiceTest {
+
+    @InjectMocks
+    private DatabaseStatisticsService statisticsService;
+
+    @Mock
+    private StatisticsRepository statisticsRepository;
+
+    @Mock
+    private DailyStatisticsRepository dailyStatisticsRepository;
+
+    @Mock
+    private StatisticsEventRepository statisticsEventRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Captor
+    private ArgumentCaptor<Collection<DailyStatistics>> incrementsCaptor;
+
+    @Captor
+    private ArgumentCaptor<String> claimIdCaptor;
+
+    @Test
+    @DisplayName("Test addAllData()")
+    public void givenMessages_whenAddAllData_thenBookingStatisticsInsertedAndDailyStatisticsIncremented() {
+        List<KafkaMessage> messages = List.of(
+                message(new BookingCreationMessage(1, 10, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3)),
+                        "event-1", "2024-01-01T10:00:00Z"),
+                message(new UserRegistrationMessage(2), "event-2", "2024-01-01T11:00:00Z"),
+                message(new BookingCreationMessage(1, 10, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 2)),
+                        "event-3", "2024-01-01T12:00:00Z"),
+                message(new BookingCreationMessage(3, 10, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 5)),
+                        "event-4", "2024-01-02T00:00:00Z")
+        );
+        List<String> eventIds = List.of("event-1", "event-2", "event-3", "event-4");
+        Mockito.when(statisticsRepository.insertUnordered(Mockito.any()))
+                .thenReturn(3);
+        Mockito.when(statisticsEventRepository.claimPending(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(eventIds);
+        Mockito.when(dailyStatisticsRepository.addBookingUsers(Map.of(
+                        LocalDate.of(2024, 1, 1), Map.of(1, "event-1"),
+                        LocalDate.of(2024, 1, 2), Map.of(3, "event-4"))))
+                .thenReturn(Map.of(LocalDate.of(2024, 1, 2), 1L));
+
+        statisticsService.addAllData(messages);
+
+        Mockito.verify(statisticsRepository, Mockito.times(1))
+                .insertUnordered(List.of(
+                        new BookingStatistics("event-1", 1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3)),
+                        new BookingStatistics("event-3", 1, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 2)),
+                        new BookingStatistics("event-4", 3, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 5))
+                ));
+        InOrder inOrder = Mockito.inOrder(statisticsEventRepository, dailyStatisticsRepository);
+        inOrder.verify(statisticsEventRepository, Mockito.times(1))
+                .insertPending(Set.copyOf(eventIds));
+        inOrder.verify(statisticsEventRepository, Mockito.times(1))
+                .claimPending(Mockito.eq(Set.copyOf(eventIds)), claimIdCaptor.capture(), Mockito.any());
+        inOrder.verify(dailyStatisticsRepository, Mockito.times(1))
+                .addBookingUsers(Mockito.any());
+        inOrder.verify(dailyStatisticsRepository, Mockito.times(1))
+                .incrementAll(incrementsCaptor.capture());
+        inOrder.verify(statisticsEventRepository, Mockito.times(1))
+                .markApplied(claimIdCaptor.getValue());
+        assertThat(incrementsCaptor.getValue()).containsExactlyInAnyOrder(
+                new DailyStatistics(LocalDate.of(2024, 1, 1), 2L, 3L, 0L, 1L),
+                new DailyStatistics(LocalDate.of(2024, 1, 2), 1L, 4L, 1L, 0L)
+        );
+        assertEquals(1, meterRegistry.timer("statistics.ingestion.batch").count());
+        assertEquals(4, meterRegistry.summary("statistics.ingestion.batch.size").totalAmount());
+        assertEquals(3, meterRegistry.counter("statistics.ingestion.records").count());
+        assertEquals(0, meterRegistry.counter("statistics.ingestion.duplicates").count());
+    }
+
+    @Test
+    @DisplayName("Test addAllData() without booking messages")
+    public void givenNoBookingMessages_whenAddAllData_thenOnlyDailyStatisticsIncremented() {
+        Mockito.when(statisticsEventRepository.claimPending(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of("event-1"));
+
+        statisticsService.addAllData(List.of(
+                message(new UserRegistrationMessage(1), "event-1", "2024-01-01T10:00:00Z")));
+
+        Mockito.verify(statisticsRepository, Mockito.times(0))
+                .insertUnordered(Mockito.any());
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(0))
+                .addBookingUsers(Mockito.any());
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(1))
+                .incrementAll(incrementsCaptor.capture());
+        assertThat(incrementsCaptor.getValue()).containsExactly(
+                new DailyStatistics(LocalDate.of(2024, 1, 1), 0L, 0L, 0L, 1L));
+    }
+
+    @Test
+    @DisplayName("Test addAllData() with redelivered messages")
+    public void givenRedeliveredMessages_whenAddAllData_thenOnlyClaimedEventsApplied() {
+        List<KafkaMessage> messages = List.of(
+                message(new BookingCreationMessage(1, 10, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3)),
+                        "event-1", "2024-01-01T10:00:00Z"),
+                message(new BookingCreationMessage(1, 10, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3)),
+                        "event-1", "2024-01-01T10:00:00Z"),
+                message(new UserRegistrationMessage(2), "event-2", "2024-01-01T11:00:00Z")
+        );
+        Mockito.when(statisticsRepository.insertUnordered(Mockito.any()))
+                .thenReturn(0);
+        Mockito.when(statisticsEventRepository.claimPending(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of("event-2"));
+
+        statisticsService.addAllData(messages);
+
+        Mockito.verify(statisticsRepository, Mockito.times(1))
+                .insertUnordered(List.of(
+                        new BookingStatistics("event-1", 1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3))));
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(0))
+                .addBookingUsers(Mockito.any());
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(1))
+                .incrementAll(incrementsCaptor.capture());
+        assertThat(incrementsCaptor.getValue()).containsExactly(
+                new DailyStatistics(LocalDate.of(2024, 1, 1), 0L, 0L, 0L, 1L));
+        assertEquals(2, meterRegistry.counter("statistics.ingestion.duplicates").count());
+    }
+
+    @Test
+    @DisplayName("Test addAllData() with already applied messages")
+    public void givenAppliedMessages_whenAddAllData_thenNothingApplied() {
+        Mockito.when(statisticsEventRepository.claimPending(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of());
+
+        statisticsService.addAllData(List.of(
+                message(new UserRegistrationMessage(1), "event-1", "2024-01-01T10:00:00Z")));
+
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(0))
+                .incrementAll(Mockito.any());
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(0))
+                .addBookingUsers(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test addAllData() with failing increment")
+    public void givenFailingIncrement_whenAddAllData_thenClaimReleasedAndException() {
+        Mockito.when(statisticsEventRepository.claimPending(Mockito.any(), claimIdCaptor.capture(), Mockito.any()))
+                .thenReturn(List.of("event-1"));
+        Mockito.doThrow(new IllegalStateException("Mongo is unavailable"))
+                .when(dailyStatisticsRepository).incrementAll(Mockito.any());
+
+        assertThrows(IllegalStateException.class, () -> statisticsService.addAllData(List.of(
+                message(new UserRegistrationMessage(1), "event-1", "2024-01-01T10:00:00Z"))));
+
+        Mockito.verify(statisticsEventRepository, Mockito.times(0))
+                .markApplied(Mockito.any());
+        Mockito.verify(statisticsEventRepository, Mockito.times(1))
+                .releaseClaim(claimIdCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("Test addAllData() with messages claimed by another batch")
+    public void givenMessagesClaimedByAnotherBatch_whenAddAllData_thenClaimedEventsAppliedAndException() {
+        Mockito.when(statisticsEventRepository.claimPending(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of("event-2"));
+        Mockito.when(statisticsEventRepository.existsByIdInAndAppliedFalse(Set.of("event-1", "event-2")))
+                .thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> statisticsService.addAllData(List.of(
+                message(new UserRegistrationMessage(1), "event-1", "2024-01-01T10:00:00Z"),
+                message(new UserRegistrationMessage(2), "event-2", "2024-01-01T11:00:00Z"))));
+
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(1))
+                .incrementAll(incrementsCaptor.capture());
+        assertThat(incrementsCaptor.getValue()).containsExactly(
+                new DailyStatistics(LocalDate.of(2024, 1, 1), 0L, 0L, 0L, 1L));
+        Mockito.verify(statisticsEventRepository, Mockito.times(1))
+                .markApplied(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test getDailyStatistics()")
+    public void givenPeriod_whenGetDailyStatistics_thenStatisticsOfEveryDay() {
+        ReflectionTestUtils.setField(statisticsService, "maxPeriodDays", 366);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 4);
+        DailyStatistics secondDay = new DailyStatistics(LocalDate.of(2024, 1, 2), 2L, 3L, 1L, 1L);
+        DailyStatistics fourthDay = new DailyStatistics(LocalDate.of(2024, 1, 4), 1L, 1L, 1L, 0L);
+        Mockito.when(dailyStatisticsRepository.findAllByPeriod(from, to))
+                .thenReturn(List.of(secondDay, fourthDay));
+
+        List<DailyStatistics> actualStatistics = statisticsService.getDailyStatistics(from, to);
+
+        assertEquals(List.of(
+                new DailyStatistics(LocalDate.of(2024, 1, 1), 0L, 0L, 0L, 0L),
+                secondDay,
+                new DailyStatistics(LocalDate.of(2024, 1, 3), 0L, 0L, 0L, 0L),
+                fourthDay
+        ), actualStatistics);
+    }
+
+    @Test
+    @DisplayName("Test getDailyStatistics() with invalid period")
+    public void givenInvalidPeriod_whenGetDailyStatistics_thenException() {
+        ReflectionTestUtils.setField(statisticsService, "maxPeriodDays", 366);
+
+        assertThrows(DateTimeException.class, () -> statisticsService.getDailyStatistics(
+                LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1)));
+        assertThrows(DateTimeException.class, () -> statisticsService.getDailyStatistics(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)));
+        Mockito.verify(dailyStatisticsRepository, Mockito.times(0))
+                .findAllByPeriod(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test writeData()")
+    public void givenStatistics_whenWriteData_thenCsvWrittenAndCursorClosed() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Mockito.when(statisticsRepository.streamAllBy())
+                .thenReturn(Stream.of(
+                        statistics(1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)),
+                        statistics(2, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 3))
+                ).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        statisticsService.writeData(outputStream);
+
+        assertEquals("""
+                'FROM','TO','USERID'
+                '2024-01-01','2024-01-02','1'
+                '2024-02-01','2024-02-03','2'
+                """, outputStream.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("Test writeData() with failing output stream")
+    public void givenFailingOutputStream_whenWriteData_thenExceptionAndCursorClosed() {
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicInteger readStatistics = new AtomicInteger();
+        Mockito.when(statisticsRepository.streamAllBy())
+                .thenReturn(Stream.generate(() -> {
+                    readStatistics.incrementAndGet();
+                    return statistics(1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2));
+                }).onClose(() -> closed.set(true)));
+        OutputStream failingOutputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> statisticsService.writeData(failingOutputStream));
+        assertTrue(closed.get());
+        assertTrue(readStatistics.get() < 100_000);
+    }
+
+    private BookingStatistics statistics(Integer userId, LocalDate from, LocalDate to) {
+        return BookingStatistics.builder()
+                .id(userId.toString())
+                .userId(userId)
+                .from(from)
+                .to(to)
+                .build();
+    }
+
+    private KafkaMessage message(KafkaMessage message, String eventId, String createdAt) {
+        message.setEventId(eventId);
+        message.setCreatedAt(Instant.parse(createdAt));
+
+        return message;
+    }
+}
@@ -1,8 +1,11 @@
 package com.allitov.hotelapi.model.service.impl;
 
+import com.allitov.hotelapi.message.UserChangeMessage;
 import com.allitov.hotelapi.message.UserRegistrationMessage;
 import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.model.event.UserChangedEvent;
 import com.allitov.hotelapi.model.repository.UserRepository;
+import com.allitov.hotelapi.model.service.outbox.OutboxPublisher;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +16,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,7 +40,10 @@ public class DatabaseUserServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private KafkaTemplate<String, UserRegistrationMessage> kafkaTemplate;
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private User user;
 
@@ -120,6 +127,34 @@ public class DatabaseUserServiceTest {
                 .findById(id);
     }
 
+    @Test
+    @DisplayName("Test findAllById()")
+    public void givenIds_whenFindAllById_thenUsers() {
+        List<Integer> ids = List.of(1);
+        Mockito.when(userRepository.findAllById(ids))
+                .thenReturn(List.of(user));
+
+        List<User> foundUsers = userService.findAllById(ids);
+
+        assertThat(foundUsers).containsExactly(user);
+        Mockito.verify(userRepository, Mockito.times(1))
+                .findAllById(ids);
+    }
+
+    @Test
+    @DisplayName("Test findAllById() EntityNotFoundException")
+    public void givenNonexistentIds_whenFindAllById_thenException() {
+        List<Integer> ids = List.of(1, 2);
+        Mockito.when(userRepository.findAllById(ids))
+                .thenReturn(List.of(user));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> userService.findAllById(ids));
+
+        assertThat(exception.getMessage()).contains("2");
+        Mockito.verify(userRepository, Mockito.times(1))
+                .findAllById(ids);
+    }
     @Test
     @DisplayName("Test create()")
     public void givenUser_whenCreate_thenUser() {
@@ -139,6 +174,8 @@ public class DatabaseUserServiceTest {
                 .save(user);
         Mockito.verify(passwordEncoder, Mockito.times(1))
                 .encode("password");
+        Mockito.verify(outboxPublisher, Mockito.times(1))
+                .publish(Mockito.any(), Mockito.eq(user.getId()), Mockito.any(UserRegistrationMessage.class));
     }
 
     @Test
@@ -153,6 +190,8 @@ public class DatabaseUserServiceTest {
                 .existsByUsername(user.getUsername());
         Mockito.verify(userRepository, Mockito.times(0))
                 .save(user);
+        Mockito.verify(eventPublisher, Mockito.times(0))
+                .publishEvent(Mockito.any());
     }
 
     @Test
@@ -175,6 +214,33 @@ public class DatabaseUserServiceTest {
                 .existsByUsername(user.getUsername());
         Mockito.verify(userRepository, Mockito.times(1))
                 .save(user);
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new UserChangedEvent(id));
+        Mockito.verify(outboxPublisher, Mockito.times(0))
+                .publish(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test updateById() with distributed invalidation")
+    public void givenDistributedInvalidation_whenUpdateById_thenMessagePublished() {
+        ReflectionTestUtils.setField(userService, "distributedInvalidation", true);
+        ReflectionTestUtils.setField(userService, "userChangeTopicName", "user-change");
+        Integer id = 1;
+        Mockito.when(userRepository.findById(id))
+                .thenReturn(Optional.of(user));
+        Mockito.when(userRepository.existsByUsername(user.getUsername()))
+                .thenReturn(false);
+        Mockito.when(userRepository.save(user))
+                .thenReturn(user);
+
+        userService.updateById(id, user);
+
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new UserChangedEvent(id));
+        Mockito.verify(outboxPublisher, Mockito.times(1))
+                .publish(Mockito.eq("user-change"), Mockito.eq(id), Mockito.argThat(message ->
+                        message instanceof UserChangeMessage userChangeMessage
+                                && id.equals(userChangeMessage.getUserId())));
     }
 
     @Test
@@ -190,6 +256,8 @@ public class DatabaseUserServiceTest {
                 .findById(id);
         Mockito.verify(userRepository, Mockito.times(0))
                 .save(user);
+        Mockito.verify(eventPublisher, Mockito.times(0))
+                .publishEvent(Mockito.any());
     }
 
     @Test
@@ -209,6 +277,8 @@ public class DatabaseUserServiceTest {
                 .existsByUsername(user.getUsername());
         Mockito.verify(userRepository, Mockito.times(0))
                 .save(user);
+        Mockito.verify(eventPublisher, Mockito.times(0))
+                .publishEvent(Mockito.any());
     }
 
     @Test
@@ -220,5 +290,7 @@ public class DatabaseUserServiceTest {
 
         Mockito.verify(userRepository, Mockito.times(1))
                 .deleteById(id);
+        Mockito.verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new UserChangedEvent(id));
     }
 }
@@ -0,0 +1,102 @@
+package com.allitov.hotelapi.model.service.outbox;
+
+import com.allitov.hotelapi.message.BookingCreationMessage;
+import com.allitov.hotelapi.message.UserRegistrationMessage;
+import com.allitov.hotelapi.model.entity.OutboxEvent;
+import com.allitov.hotelapi.model.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboxPublisherTest {
+
+    private OutboxPublisher outboxPublisher;
+
+    private OutboxEventRepository outboxEventRepository;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() {
+        outboxEventRepository = Mockito.mock(OutboxEventRepository.class);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        outboxPublisher = new OutboxPublisher(outboxEventRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Test publish()")
+    public void givenMessage_whenPublish_thenOutboxEventSaved() throws Exception {
+        UserRegistrationMessage message = new UserRegistrationMessage(1);
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+
+        outboxPublisher.publish("topic", 1, message);
+
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertEquals("topic", event.getTopic());
+        assertEquals("1", event.getMessageKey());
+        assertEquals(UserRegistrationMessage.class.getName(), event.getMessageType());
+        UserRegistrationMessage savedMessage = objectMapper.readValue(event.getPayload(), UserRegistrationMessage.class);
+        assertEquals(1, savedMessage.getUserId());
+        assertNotNull(event.getCreatedAt());
+        assertEquals(event.getCreatedAt(), savedMessage.getCreatedAt());
+        assertNotNull(savedMessage.getEventId());
+    }
+
+    @Test
+    @DisplayName("Test publish() with message event ID and creation time")
+    public void givenMessageWithEventIdAndCreationTime_whenPublish_thenEventIdAndCreationTimeKept() throws Exception {
+        UserRegistrationMessage message = new UserRegistrationMessage(1);
+        Instant createdAt = Instant.parse("2024-01-01T10:00:00Z");
+        message.setEventId("event-1");
+        message.setCreatedAt(createdAt);
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+
+        outboxPublisher.publish("topic", 1, message);
+
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .save(captor.capture());
+        UserRegistrationMessage savedMessage =
+                objectMapper.readValue(captor.getValue().getPayload(), UserRegistrationMessage.class);
+        assertEquals("event-1", savedMessage.getEventId());
+        assertEquals(createdAt, savedMessage.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Test publishAll()")
+    @SuppressWarnings("unchecked")
+    public void givenMessages_whenPublishAll_thenOutboxEventsSaved() throws Exception {
+        List<BookingCreationMessage> messages = List.of(
+                new BookingCreationMessage(1, 10, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)),
+                new BookingCreationMessage(2, 10, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 10))
+        );
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        outboxPublisher.publishAll("topic", messages, BookingCreationMessage::getRoomId);
+
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .saveAll(captor.capture());
+        List<OutboxEvent> events = captor.getValue();
+        assertThat(events).hasSize(2);
+        assertEquals("10", events.get(0).getMessageKey());
+        BookingCreationMessage secondMessage =
+                objectMapper.readValue(events.get(1).getPayload(), BookingCreationMessage.class);
+        assertEquals(2, secondMessage.getUserId());
+        assertEquals(LocalDate.of(2024, 2, 1), secondMessage.getFrom());
+        assertEquals(LocalDate.of(2024, 2, 10), secondMessage.getTo());
+        assertNotEquals(objectMapper.readValue(events.get(0).getPayload(), BookingCreationMessage.class).getEventId(),
+                secondMessage.getEventId());
+    }
+}
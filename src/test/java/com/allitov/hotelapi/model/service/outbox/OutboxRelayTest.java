@@ -0,0 +1,203 @@
+package com.allitov.hotelapi.model.service.outbox;
+
+import com.allitov.hotelapi.message.KafkaMessage;
+import com.allitov.hotelapi.message.UserRegistrationMessage;
+import com.allitov.hotelapi.model.entity.OutboxEvent;
+import com.allitov.hotelapi.model.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class OutboxRelayTest {
+
+    private OutboxRelay outboxRelay;
+
+    private OutboxEventRepository outboxEventRepository;
+
+    private KafkaTemplate<String, KafkaMessage> kafkaTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        outboxEventRepository = Mockito.mock(OutboxEventRepository.class);
+        kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, new ObjectMapper(), transactionTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(outboxRelay, "claimLease", Duration.ofSeconds(3));
+        Mockito.when(outboxEventRepository.tryLockRelay())
+                .thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Test relay()")
+    public void givenOutboxEvents_whenRelay_thenEventsSentAndDeleted() {
+        List<OutboxEvent> firstBatch = List.of(outboxEvent(1L, 1), outboxEvent(2L, 2));
+        List<OutboxEvent> secondBatch = List.of(outboxEvent(3L, 3));
+        Mockito.when(outboxEventRepository.findOldest(2))
+                .thenReturn(firstBatch, secondBatch);
+        Mockito.when(kafkaTemplate.send(Mockito.eq("topic"), Mockito.any(), Mockito.any(KafkaMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        outboxRelay.relay();
+
+        Mockito.verify(kafkaTemplate, Mockito.times(3))
+                .send(Mockito.eq("topic"), Mockito.any(), Mockito.any(UserRegistrationMessage.class));
+        Mockito.verify(kafkaTemplate, Mockito.times(1))
+                .send(Mockito.eq("topic"), Mockito.eq("3"),
+                        Mockito.<UserRegistrationMessage>argThat(message -> message.getUserId() == 3));
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .claimAllById(List.of(1L, 2L), 3.0);
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .claimAllById(List.of(3L), 3.0);
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .deleteAllInBatch(firstBatch);
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .deleteAllInBatch(secondBatch);
+    }
+
+    @Test
+    @DisplayName("Test relay() with failed send")
+    public void givenFailedSend_whenRelay_thenEventsReleasedAndNotDeleted() {
+        Mockito.when(outboxEventRepository.findOldest(2))
+                .thenReturn(List.of(outboxEvent(1L, 1)));
+        Mockito.when(kafkaTemplate.send(Mockito.eq("topic"), Mockito.any(), Mockito.any(KafkaMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker is unavailable")));
+
+        outboxRelay.relay();
+
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .releaseAllById(List.of(1L));
+        Mockito.verify(outboxEventRepository, Mockito.never())
+                .deleteAllInBatch(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test relay() with send failed at once")
+    public void givenSendThrowing_whenRelay_thenEventsReleasedAndNotDeleted() {
+        Mockito.when(outboxEventRepository.findOldest(2))
+                .thenReturn(List.of(outboxEvent(1L, 1), outboxEvent(2L, 2)));
+        Mockito.when(kafkaTemplate.send(Mockito.eq("topic"), Mockito.any(), Mockito.any(KafkaMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)))
+                .thenThrow(new KafkaException("Topic not present in metadata after 60000 ms"));
+
+        outboxRelay.relay();
+
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .releaseAllById(List.of(1L, 2L));
+        Mockito.verify(outboxEventRepository, Mockito.never())
+                .deleteAllInBatch(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test relay() with failed flush")
+    public void givenFlushThrowing_whenRelay_thenEventsReleasedAndNotDeleted() {
+        Mockito.when(outboxEventRepository.findOldest(2))
+                .thenReturn(List.of(outboxEvent(1L, 1)));
+        Mockito.when(kafkaTemplate.send(Mockito.eq("topic"), Mockito.any(), Mockito.any(KafkaMessage.class)))
+                .thenReturn(new CompletableFuture<>());
+        Mockito.doThrow(new IllegalStateException("Producer is closed"))
+                .when(kafkaTemplate).flush();
+
+        outboxRelay.relay();
+
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .releaseAllById(List.of(1L));
+        Mockito.verify(outboxEventRepository, Mockito.never())
+                .deleteAllInBatch(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test relay() with timed out send")
+    public void givenTimedOutSend_whenRelay_thenEventsNotReleasedAndNotDeleted() {
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofMillis(10));
+        Mockito.when(outboxEventRepository.findOldest(2))
+                .thenReturn(List.of(outboxEvent(1L, 1)));
+        Mockito.when(kafkaTemplate.send(Mockito.eq("topic"), Mockito.any(), Mockito.any(KafkaMessage.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        outboxRelay.relay();
+
+        Mockito.verify(outboxEventRepository, Mockito.never())
+                .releaseAllById(Mockito.any());
+        Mockito.verify(outboxEventRepository, Mockito.never())
+                .deleteAllInBatch(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Test relay() when another relay holds the lock")
+    public void givenLockedRelay_whenRelay_thenNothingClaimed() {
+        Mockito.when(outboxEventRepository.tryLockRelay())
+                .thenReturn(false);
+
+        outboxRelay.relay();
+
+        Mockito.verify(outboxEventRepository, Mockito.never())
+                .findOldest(Mockito.anyInt());
+        Mockito.verify(kafkaTemplate, Mockito.never())
+                .send(Mockito.any(), Mockito.any(), Mockito.any(KafkaMessage.class));
+    }
+
+    @Test
+    @DisplayName("Test relay() when another batch is claimed")
+    public void givenClaimedBatch_whenRelay_thenNothingClaimed() {
+        Mockito.when(outboxEventRepository.existsClaimed())
+                .thenReturn(true);
+
+        outboxRelay.relay();
+
+        Mockito.verify(outboxEventRepository, Mockito.never())
+                .claimAllById(Mockito.any(), Mockito.anyDouble());
+        Mockito.verify(kafkaTemplate, Mockito.never())
+                .send(Mockito.any(), Mockito.any(), Mockito.any(KafkaMessage.class));
+    }
+
+    @Test
+    @DisplayName("Test relay() with unreadable event")
+    public void givenUnreadableEvent_whenRelay_thenEventDropped() {
+        OutboxEvent unreadableEvent = OutboxEvent.builder()
+                .id(1L)
+                .topic("topic")
+                .messageType("com.allitov.hotelapi.message.UnknownMessage")
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build();
+        Mockito.when(outboxEventRepository.findOldest(2))
+                .thenReturn(List.of(unreadableEvent));
+
+        outboxRelay.relay();
+
+        Mockito.verify(kafkaTemplate, Mockito.never())
+                .send(Mockito.any(), Mockito.any(), Mockito.any(KafkaMessage.class));
+        Mockito.verify(outboxEventRepository, Mockito.times(1))
+                .deleteAllInBatch(List.of(unreadableEvent));
+    }
+
+    private OutboxEvent outboxEvent(Long id, Integer userId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("topic")
+                .messageKey(userId.toString())
+                .messageType(UserRegistrationMessage.class.getName())
+                .payload("{\"userId\":" + userId + "}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.allitov.hotelapi.model.service.search;
+
+import com.allitov.hotelapi.model.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelSearchIndexTest {
+
+    @InjectMocks
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(hotelSearchIndex, "maxResults", 10);
+    }
+
+    @Test
+    @DisplayName("Test search()")
+    public void givenQuery_whenSearch_thenRankedHotelIds() {
+        Mockito.when(hotelRepository.findIdsByText("grand:* & sochi:*", "grand | sochi", 10))
+                .thenReturn(List.of(2, 1, 3));
+
+        assertEquals(List.of(2, 1, 3), hotelSearchIndex.search("Grand, SOCHI"));
+    }
+
+    @Test
+    @DisplayName("Test search() with full-text operators")
+    public void givenQueryWithOperators_whenSearch_thenOperatorsDropped() {
+        Mockito.when(hotelRepository.findIdsByText("grand:* & hotel:*", "grand | hotel", 10))
+                .thenReturn(List.of(1));
+
+        assertEquals(List.of(1), hotelSearchIndex.search("grand & !hotel:* | grand"));
+    }
+
+    @Test
+    @DisplayName("Test search() with query without tokens")
+    public void givenQueryWithoutTokens_whenSearch_thenEmptyList() {
+        assertEquals(List.of(), hotelSearchIndex.search(" ,. "));
+        assertEquals(List.of(), hotelSearchIndex.search(null));
+        Mockito.verify(hotelRepository, Mockito.never())
+                .findIdsByText(Mockito.any(), Mockito.any(), Mockito.anyInt());
+    }
+}
@@ -0,0 +1,36 @@
+package com.allitov.hotelapi.model.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorUtilsTest {
+
+    @Test
+    @DisplayName("Test encode() and decode()")
+    public void givenId_whenEncodeAndDecode_thenSameId() {
+        String cursor = CursorUtils.encode(123);
+
+        assertEquals(123, CursorUtils.decode(cursor));
+        assertFalse(cursor.contains("123"));
+    }
+
+    @Test
+    @DisplayName("Test decode() with null cursor")
+    public void givenNullCursor_whenDecode_thenNull() {
+        assertNull(CursorUtils.decode(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "MTIz", "aWQ6YWJj"})
+    @DisplayName("Test decode() IllegalArgumentException")
+    public void givenMalformedCursor_whenDecode_thenException(String cursor) {
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode(cursor));
+
+        assertEquals("Cursor '" + cursor + "' is invalid.", exception.getMessage());
+    }
+}
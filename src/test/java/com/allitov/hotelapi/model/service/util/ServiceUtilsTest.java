@@ -1,9 +1,12 @@
 package com.allitov.hotelapi.model.service.util;
 
 import com.allitov.hotelapi.model.entity.Hotel;
+import com.allitov.hotelapi.model.entity.Room;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ServiceUtilsTest {
@@ -32,4 +35,58 @@ public class ServiceUtilsTest {
         assertThrows(NullPointerException.class, () -> ServiceUtils.copyNonNullProperties(null, hotel));
         assertThrows(NullPointerException.class, () -> ServiceUtils.copyNonNullProperties(hotel, null));
     }
+
+    @Test
+    @DisplayName("Test copyNonNullProperties() called repeatedly for the same class")
+    public void givenSameClassSources_whenCopyNonNullPropertiesRepeatedly_thenEveryCopyApplied() {
+        Hotel hotel = Hotel.builder().id(1).name("hotel").build();
+        Room destination = Room.builder()
+                .id(1)
+                .description("description")
+                .number((short) 10)
+                .price(BigDecimal.ONE)
+                .build();
+
+        ServiceUtils.copyNonNullProperties(Room.builder().price(BigDecimal.TEN).build(), destination);
+        ServiceUtils.copyNonNullProperties(Room.builder().maxPeople((short) 3).hotel(hotel).build(), destination);
+
+        assertEquals(1, destination.getId());
+        assertEquals("description", destination.getDescription());
+        assertEquals((short) 10, destination.getNumber());
+        assertEquals(BigDecimal.TEN, destination.getPrice());
+        assertEquals((short) 3, destination.getMaxPeople());
+        assertSame(hotel, destination.getHotel());
+    }
+
+    @Test
+    @DisplayName("Test copyNonNullProperties() with primitive and static fields")
+    public void givenPrimitiveAndStaticFields_whenCopyNonNullProperties_thenPrimitivesCopied() {
+        Counter source = new Counter();
+        source.count = 0;
+        Counter destination = new Counter();
+        destination.count = 5;
+        destination.label = "label";
+
+        ServiceUtils.copyNonNullProperties(source, destination);
+
+        assertEquals(0, destination.count);
+        assertEquals("label", destination.label);
+        assertEquals("static", Counter.STATIC_LABEL);
+    }
+
+    @Test
+    @DisplayName("Test copyNonNullProperties() IllegalArgumentException")
+    public void givenDestinationOfOtherClass_whenCopyNonNullProperties_thenException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ServiceUtils.copyNonNullProperties(new Hotel(), new Room()));
+    }
+
+    private static class Counter {
+
+        private static final String STATIC_LABEL = "static";
+
+        private int count;
+
+        private String label;
+    }
 }
@@ -0,0 +1,42 @@
+package com.allitov.hotelapi.model.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedLockTest {
+
+    @Test
+    @DisplayName("Test StripedLock() rounds number of stripes")
+    public void givenNumberOfStripes_whenCreate_thenRoundedToPowerOfTwo() {
+        assertEquals(1, new StripedLock(1).size());
+        assertEquals(16, new StripedLock(16).size());
+        assertEquals(32, new StripedLock(17).size());
+        assertThrows(IllegalArgumentException.class, () -> new StripedLock(0));
+    }
+
+    @Test
+    @DisplayName("Test get()")
+    public void givenKeys_whenGet_thenSameLockForSameKey() {
+        StripedLock stripedLock = new StripedLock(16);
+
+        assertSame(stripedLock.get(1), stripedLock.get(1));
+        assertSame(stripedLock.get(1), stripedLock.get(17));
+        assertNotSame(stripedLock.get(1), stripedLock.get(2));
+    }
+
+    @Test
+    @DisplayName("Test getAll()")
+    public void givenKeys_whenGetAll_thenDistinctLocksInStableOrder() {
+        StripedLock stripedLock = new StripedLock(16);
+
+        List<Lock> locks = stripedLock.getAll(List.of(3, 1, 17, 2));
+
+        assertEquals(List.of(stripedLock.get(1), stripedLock.get(2), stripedLock.get(3)), locks);
+        assertEquals(locks, stripedLock.getAll(List.of(2, 3, 1)));
+    }
+}
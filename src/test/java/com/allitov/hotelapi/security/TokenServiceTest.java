@@ -0,0 +1,84 @@
+package com.allitov.hotelapi.security;
+
+import com.allitov.hotelapi.model.entity.User;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+
+    private static final SecretKey SECRET_KEY = new SecretKeySpec(
+            "test-secret-that-is-at-least-32-bytes".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+    private TokenService tokenService;
+
+    private NimbusJwtDecoder jwtDecoder;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        tokenService = new TokenService(new NimbusJwtEncoder(new ImmutableSecret<>(SECRET_KEY)));
+        ReflectionTestUtils.setField(tokenService, "issuer", "hotel-api");
+        ReflectionTestUtils.setField(tokenService, "timeToLive", Duration.ofMinutes(15));
+        jwtDecoder = NimbusJwtDecoder.withSecretKey(SECRET_KEY).macAlgorithm(MacAlgorithm.HS256).build();
+
+        user = User.builder()
+                .id(1)
+                .username("username")
+                .password("password")
+                .role(User.RoleType.ADMIN)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test issue()")
+    public void givenUserDetails_whenIssue_thenSignedToken() {
+        Jwt token = tokenService.issue(new UserDetailsImpl(user));
+
+        Jwt decodedToken = jwtDecoder.decode(token.getTokenValue());
+        assertEquals("username", decodedToken.getSubject());
+        assertEquals("hotel-api", decodedToken.getClaimAsString("iss"));
+        assertEquals(Duration.ofMinutes(15),
+                Duration.between(decodedToken.getIssuedAt(), decodedToken.getExpiresAt()));
+        assertFalse(decodedToken.getClaims().containsKey("password"));
+    }
+
+    @Test
+    @DisplayName("Test issue() with tampered token")
+    public void givenTamperedToken_whenDecode_thenException() {
+        String tokenValue = tokenService.issue(new UserDetailsImpl(user)).getTokenValue();
+        String[] parts = tokenValue.split("\\.");
+        String tamperedToken = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(tamperedToken));
+    }
+
+    @Test
+    @DisplayName("Test toUserDetails()")
+    public void givenToken_whenToUserDetails_thenUserDetails() {
+        Jwt token = jwtDecoder.decode(tokenService.issue(new UserDetailsImpl(user)).getTokenValue());
+
+        UserDetailsImpl userDetails = tokenService.toUserDetails(token);
+
+        assertEquals(1, userDetails.getUser().getId());
+        assertEquals("username", userDetails.getUsername());
+        assertEquals(User.RoleType.ADMIN, userDetails.getUser().getRole());
+        assertNull(userDetails.getPassword());
+        assertEquals("ADMIN", userDetails.getAuthorities().iterator().next().getAuthority());
+    }
+}
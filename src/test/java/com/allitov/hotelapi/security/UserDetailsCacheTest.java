@@ -0,0 +1,109 @@
+package com.allitov.hotelapi.security;
+
+import com.allitov.hotelapi.message.UserChangeMessage;
+import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.model.event.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDetailsCacheTest {
+
+    private UserDetailsCache userDetailsCache;
+
+    private AtomicInteger loads;
+
+    private Supplier<UserDetailsImpl> loader;
+
+    @BeforeEach
+    public void setUp() {
+        userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        UserDetailsImpl userDetails = new UserDetailsImpl(User.builder()
+                .id(1)
+                .username("user")
+                .password("password")
+                .role(User.RoleType.USER)
+                .build());
+        loader = () -> {
+            loads.incrementAndGet();
+            return userDetails;
+        };
+    }
+
+    @Test
+    @DisplayName("Test get() with cached user")
+    public void givenCachedUser_whenGet_thenNotLoaded() {
+        UserDetailsImpl first = userDetailsCache.get("user", loader);
+        UserDetailsImpl second = userDetailsCache.get("user", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test get() with nonexistent user")
+    public void givenNonexistentUser_whenGet_thenExceptionAndNotCached() {
+        Supplier<UserDetailsImpl> failingLoader = () -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("user");
+        };
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("user", failingLoader));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("user", failingLoader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test onUserChanged()")
+    public void givenUserChangedEvent_whenOnUserChanged_thenUserReloaded() {
+        userDetailsCache.get("user", loader);
+
+        userDetailsCache.onUserChanged(new UserChangedEvent(1));
+        userDetailsCache.get("user", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test onUserChangeMessages()")
+    public void givenUserChangeMessages_whenOnUserChangeMessages_thenUserReloaded() {
+        userDetailsCache.get("user", loader);
+
+        userDetailsCache.onUserChangeMessages(List.of(new UserChangeMessage(1)));
+        userDetailsCache.get("user", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test invalidateUser() with other user")
+    public void givenOtherUserId_whenInvalidateUser_thenUserNotReloaded() {
+        userDetailsCache.get("user", loader);
+
+        userDetailsCache.invalidateUser(2);
+        userDetailsCache.get("user", loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test get() with invalidation during load")
+    public void givenInvalidationDuringLoad_whenGet_thenNotCached() {
+        userDetailsCache.get("user", () -> {
+            userDetailsCache.invalidateUser(1);
+            return loader.get();
+        });
+        userDetailsCache.get("user", loader);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,71 @@
+package com.allitov.hotelapi.web.controller;
+
+import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.security.TokenService;
+import com.allitov.hotelapi.security.UserDetailsImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AuthController.class)
+public class AuthControllerTest {
+
+    private final String baseUri = "/api/v1/auth";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TokenService tokenService;
+
+    // methods tests
+
+    @Test
+    @DisplayName("Test issueToken() status 200")
+    public void givenAuthenticatedUser_whenIssueToken_thenTokenResponse() throws Exception {
+        UserDetailsImpl userDetails = new UserDetailsImpl(User.builder()
+                .id(1)
+                .username("username")
+                .role(User.RoleType.USER)
+                .build());
+        Instant issuedAt = Instant.parse("2024-01-01T00:00:00Z");
+        Jwt token = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("username")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(900))
+                .build();
+        Mockito.when(tokenService.issue(userDetails))
+                .thenReturn(token);
+
+        mockMvc.perform(post(baseUri + "/token").with(user(userDetails)).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'accessToken': 'token', 'tokenType': 'Bearer', 'expiresIn': 900}"));
+
+        Mockito.verify(tokenService, Mockito.times(1))
+                .issue(userDetails);
+    }
+
+    @Test
+    @DisplayName("Test issueToken() status 401")
+    public void givenAnonymousUser_whenIssueToken_thenUnauthorized() throws Exception {
+        mockMvc.perform(post(baseUri + "/token").with(csrf()))
+                .andExpect(status().isUnauthorized());
+
+        Mockito.verifyNoInteractions(tokenService);
+    }
+}
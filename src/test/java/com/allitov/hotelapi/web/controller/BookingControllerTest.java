@@ -3,6 +3,7 @@ package com.allitov.hotelapi.web.controller;
 import com.allitov.hotelapi.model.entity.Booking;
 import com.allitov.hotelapi.model.service.BookingService;
 import com.allitov.hotelapi.web.dto.filter.BookingFilter;
+import com.allitov.hotelapi.web.dto.request.BookingBatchRequest;
 import com.allitov.hotelapi.web.dto.request.BookingRequest;
 import com.allitov.hotelapi.web.dto.response.BookingListResponse;
 import com.allitov.hotelapi.web.dto.response.BookingListWithCounterResponse;
@@ -162,15 +163,96 @@ public class BookingControllerTest {
                 .create(booking);
     }
 
+    @Test
+    @DisplayName("Test createAll() status 201")
+    public void givenBookingBatchRequest_whenCreateAll_thenBookingListResponse() throws Exception {
+        BookingBatchRequest request = new BookingBatchRequest(List.of(createBookingRequest()));
+        List<Booking> bookings = List.of(new Booking());
+        Mockito.when(bookingMapper.batchRequestToEntityList(request))
+                .thenReturn(bookings);
+        Mockito.when(bookingService.createAll(bookings))
+                .thenReturn(bookings);
+        Mockito.when(bookingMapper.entityListToListResponse(bookings))
+                .thenReturn(new BookingListResponse(List.of(createBookingResponse())));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'bookings': [{'id': 1, " +
+                        "'roomId': 1, " +
+                        "'userId': 1, " +
+                        "'from': '2024-01-01', " +
+                        "'to': '2024-01-31'}]}"));
+
+        Mockito.verify(bookingMapper, Mockito.times(1))
+                .batchRequestToEntityList(request);
+        Mockito.verify(bookingService, Mockito.times(1))
+                .createAll(bookings);
+        Mockito.verify(bookingMapper, Mockito.times(1))
+                .entityListToListResponse(bookings);
+    }
+
+    @Test
+    @DisplayName("Test createAll() status 400")
+    public void givenUnavailableBookingBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        BookingBatchRequest request = new BookingBatchRequest(List.of(createBookingRequest()));
+        List<Booking> bookings = List.of(new Booking());
+        Mockito.when(bookingMapper.batchRequestToEntityList(request))
+                .thenReturn(bookings);
+        Mockito.when(bookingService.createAll(bookings))
+                .thenThrow(new DateTimeException("Dates are unavailable."));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Dates are unavailable.'}"));
+    }
+
+    @Test
+    @DisplayName("Test BookingBatchRequest validation with empty bookings")
+    public void givenEmptyBookingBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        BookingBatchRequest request = new BookingBatchRequest(Collections.emptyList());
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Bookings must be specified.'}"));
+
+        Mockito.verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @DisplayName("Test BookingBatchRequest validation with invalid booking")
+    public void givenInvalidBookingInBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        BookingRequest invalidRequest = createBookingRequest();
+        invalidRequest.setRoomId(null);
+        BookingBatchRequest request = new BookingBatchRequest(List.of(invalidRequest));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Room id must be specified.'}"));
+
+        Mockito.verifyNoInteractions(bookingService);
+    }
+
     @Test
     @DisplayName("Test filterBy() status 200")
     public void givenBookingFilter_whenFilterBy_thenBookingListWithCounterResponse() throws Exception {
-        BookingFilter filter = new BookingFilter(1, 0);
+        BookingFilter filter = new BookingFilter(1, 0, null);
         List<Booking> foundBookings = Collections.emptyList();
         Mockito.when(bookingService.filterBy(filter))
                 .thenReturn(foundBookings);
-        Mockito.when(bookingMapper.entityListToListWithCounterResponse(foundBookings))
-                .thenReturn(new BookingListWithCounterResponse(0, Collections.emptyList()));
+        Mockito.when(bookingMapper.entityListToListWithCounterResponse(foundBookings, filter))
+                .thenReturn(new BookingListWithCounterResponse(0, Collections.emptyList(), null));
 
         mockMvc.perform(get(
                 baseUri + "/filter?pageSize={size}&pageNumber={number}",
@@ -182,7 +264,29 @@ public class BookingControllerTest {
         Mockito.verify(bookingService, Mockito.times(1))
                 .filterBy(filter);
         Mockito.verify(bookingMapper, Mockito.times(1))
-                .entityListToListWithCounterResponse(foundBookings);
+                .entityListToListWithCounterResponse(foundBookings, filter);
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with cursor status 200")
+    public void givenBookingFilterWithCursor_whenFilterBy_thenBookingListWithCounterResponse() throws Exception {
+        BookingFilter filter = new BookingFilter();
+        filter.setPageSize(1);
+        filter.setAfter("aWQ6MQ");
+        List<Booking> foundBookings = Collections.emptyList();
+        Mockito.when(bookingService.filterBy(filter))
+                .thenReturn(foundBookings);
+        Mockito.when(bookingMapper.entityListToListWithCounterResponse(foundBookings, filter))
+                .thenReturn(new BookingListWithCounterResponse(0, Collections.emptyList(), "aWQ6Mg"));
+
+        mockMvc.perform(get(baseUri + "/filter?pageSize={pageSize}&after={after}",
+                        filter.getPageSize(), filter.getAfter()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'bookings': [], 'count': 0, 'nextCursor': 'aWQ6Mg'}"));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .filterBy(filter);
     }
 
     // validation tests
@@ -293,6 +397,19 @@ public class BookingControllerTest {
                 .andExpect(content().json("{'errorMessage': 'Page size must be > 0.'}"));
     }
 
+    @Test
+    @DisplayName("Test BookingFilter validation with cursor and pageNumber")
+    public void givenCursorAndPageNumber_whenFilterBy_thenErrorResponse() throws Exception {
+        mockMvc.perform(get(baseUri + "/filter?pageSize={pageSize}&pageNumber={pageNumber}&after={after}",
+                        1, 0, "aWQ6MQ"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': " +
+                        "'Cursor must be specified with page size and without page number.'}"));
+
+        Mockito.verifyNoInteractions(bookingService);
+    }
+
     private BookingRequest createBookingRequest() {
         return BookingRequest.builder()
                 .roomId(1)
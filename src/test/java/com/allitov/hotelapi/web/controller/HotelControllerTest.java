@@ -3,6 +3,7 @@ package com.allitov.hotelapi.web.controller;
 import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.service.HotelService;
 import com.allitov.hotelapi.web.dto.filter.HotelFilter;
+import com.allitov.hotelapi.web.dto.request.HotelBatchRequest;
 import com.allitov.hotelapi.web.dto.request.HotelRequest;
 import com.allitov.hotelapi.web.dto.response.HotelListResponse;
 import com.allitov.hotelapi.web.dto.response.HotelListWithCounterResponse;
@@ -153,6 +154,72 @@ public class HotelControllerTest {
                 .andExpect(content().json("{'errorMessage': 'Name must be specified.'}"));
     }
 
+    @Test
+    @DisplayName("Test createAll() status 201")
+    public void givenHotelBatchRequest_whenCreateAll_thenHotelListResponse() throws Exception {
+        HotelBatchRequest request = new HotelBatchRequest(List.of(createHotelRequest()));
+        List<Hotel> hotels = List.of(new Hotel());
+        Mockito.when(hotelMapper.batchRequestToEntityList(request))
+                .thenReturn(hotels);
+        Mockito.when(hotelService.createAll(hotels))
+                .thenReturn(hotels);
+        Mockito.when(hotelMapper.entityListToListResponse(hotels))
+                .thenReturn(new HotelListResponse(List.of(creteHotelResponse())));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'hotels': [{'id': 1, " +
+                        "'name': 'name', " +
+                        "'description': 'description', " +
+                        "'city': 'city', " +
+                        "'address': 'address', " +
+                        "'distanceFromCenter': 1.5, " +
+                        "'rating': 4.5, " +
+                        "'numberOfRatings': 200}]}"));
+
+        Mockito.verify(hotelMapper, Mockito.times(1))
+                .batchRequestToEntityList(request);
+        Mockito.verify(hotelService, Mockito.times(1))
+                .createAll(hotels);
+        Mockito.verify(hotelMapper, Mockito.times(1))
+                .entityListToListResponse(hotels);
+    }
+
+    @Test
+    @DisplayName("Test HotelBatchRequest validation with empty hotels")
+    public void givenEmptyHotelBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        HotelBatchRequest request = new HotelBatchRequest(Collections.emptyList());
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Hotels must be specified.'}"));
+
+        Mockito.verifyNoInteractions(hotelService);
+    }
+
+    @Test
+    @DisplayName("Test HotelBatchRequest validation with invalid hotel")
+    public void givenInvalidHotelInBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        HotelRequest invalidRequest = createHotelRequest();
+        invalidRequest.setName(null);
+        HotelBatchRequest request = new HotelBatchRequest(List.of(invalidRequest));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Name must be specified.'}"));
+
+        Mockito.verifyNoInteractions(hotelService);
+    }
+
     @Test
     @DisplayName("Test updateById() status 204")
     public void givenIdAndHotelRequest_whenUpdateById_thenVoid() throws Exception {
@@ -298,8 +365,8 @@ public class HotelControllerTest {
         List<Hotel> foundHotels = Collections.emptyList();
         Mockito.when(hotelService.filterBy(filter))
                 .thenReturn(foundHotels);
-        Mockito.when(hotelMapper.entityListToListWithCounterResponse(foundHotels))
-                .thenReturn(new HotelListWithCounterResponse(0, Collections.emptyList()));
+        Mockito.when(hotelMapper.entityListToListWithCounterResponse(foundHotels, filter))
+                .thenReturn(new HotelListWithCounterResponse(0, Collections.emptyList(), null));
 
         mockMvc.perform(get(baseUri + "/filter?name={name}", filter.getName()))
                 .andExpect(status().isOk())
@@ -309,7 +376,7 @@ public class HotelControllerTest {
         Mockito.verify(hotelService, Mockito.times(1))
                 .filterBy(filter);
         Mockito.verify(hotelMapper, Mockito.times(1))
-                .entityListToListWithCounterResponse(foundHotels);
+                .entityListToListWithCounterResponse(foundHotels, filter);
     }
 
     @Test
@@ -325,6 +392,48 @@ public class HotelControllerTest {
                 .andExpect(content().json("{'errorMessage': 'Page size must be > 0.'}"));
     }
 
+    @Test
+    @DisplayName("Test filterBy() with cursor status 200")
+    public void givenHotelFilterWithCursor_whenFilterBy_thenHotelListWithCounterResponse() throws Exception {
+        HotelFilter filter = new HotelFilter();
+        filter.setPageSize(1);
+        filter.setAfter("aWQ6MQ");
+        List<Hotel> foundHotels = Collections.emptyList();
+        Mockito.when(hotelService.filterBy(filter))
+                .thenReturn(foundHotels);
+        Mockito.when(hotelMapper.entityListToListWithCounterResponse(foundHotels, filter))
+                .thenReturn(new HotelListWithCounterResponse(0, Collections.emptyList(), "aWQ6Mg"));
+
+        mockMvc.perform(get(baseUri + "/filter?pageSize={pageSize}&after={after}",
+                        filter.getPageSize(), filter.getAfter()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'hotels': [], 'count': 0, 'nextCursor': 'aWQ6Mg'}"));
+
+        Mockito.verify(hotelService, Mockito.times(1))
+                .filterBy(filter);
+    }
+
+    @Test
+    @DisplayName("Test filterBy() with text query status 200")
+    public void givenHotelFilterWithQuery_whenFilterBy_thenHotelListWithCounterResponse() throws Exception {
+        HotelFilter filter = new HotelFilter();
+        filter.setQ("grand mosc");
+        List<Hotel> foundHotels = Collections.emptyList();
+        Mockito.when(hotelService.filterBy(filter))
+                .thenReturn(foundHotels);
+        Mockito.when(hotelMapper.entityListToListWithCounterResponse(foundHotels, filter))
+                .thenReturn(new HotelListWithCounterResponse(0, Collections.emptyList(), null));
+
+        mockMvc.perform(get(baseUri + "/filter?q={q}", filter.getQ()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'hotels': [], 'count': 0}"));
+
+        Mockito.verify(hotelService, Mockito.times(1))
+                .filterBy(filter);
+    }
+
     // validation tests
 
     @ParameterizedTest
@@ -524,6 +633,19 @@ public class HotelControllerTest {
                 .build();
     }
 
+    @Test
+    @DisplayName("Test HotelFilter validation with cursor and pageNumber")
+    public void givenCursorAndPageNumber_whenFilterBy_thenErrorResponse() throws Exception {
+        mockMvc.perform(get(baseUri + "/filter?pageSize={pageSize}&pageNumber={pageNumber}&after={after}",
+                        1, 0, "aWQ6MQ"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': " +
+                        "'Cursor must be specified with page size and without page number.'}"));
+
+        Mockito.verifyNoInteractions(hotelService);
+    }
+
     private HotelRequest createHotelRequest() {
         return HotelRequest.builder()
                 .name("name")
@@ -3,6 +3,7 @@ package com.allitov.hotelapi.web.controller;
 import com.allitov.hotelapi.model.entity.Room;
 import com.allitov.hotelapi.model.service.RoomService;
 import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import com.allitov.hotelapi.web.dto.request.RoomBatchRequest;
 import com.allitov.hotelapi.web.dto.request.RoomRequest;
 import com.allitov.hotelapi.web.dto.response.RoomListResponse;
 import com.allitov.hotelapi.web.dto.response.RoomListWithCounterResponse;
@@ -173,6 +174,87 @@ public class RoomControllerTest {
                 .create(roomFromRequest);
     }
 
+    @Test
+    @DisplayName("Test createAll() status 201")
+    public void givenRoomBatchRequest_whenCreateAll_thenRoomListResponse() throws Exception {
+        RoomBatchRequest request = new RoomBatchRequest(List.of(createRoomRequest()));
+        List<Room> rooms = List.of(new Room());
+        Mockito.when(roomMapper.batchRequestToEntityList(request))
+                .thenReturn(rooms);
+        Mockito.when(roomService.createAll(rooms))
+                .thenReturn(rooms);
+        Mockito.when(roomMapper.entityListToListResponse(rooms))
+                .thenReturn(new RoomListResponse(List.of(createRoomResponse())));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'rooms': [{'id': 1, " +
+                        "'hotelId': 1, " +
+                        "'description': 'description', " +
+                        "'price': '123.45', " +
+                        "'maxPeople': 2}]}"));
+
+        Mockito.verify(roomMapper, Mockito.times(1))
+                .batchRequestToEntityList(request);
+        Mockito.verify(roomService, Mockito.times(1))
+                .createAll(rooms);
+        Mockito.verify(roomMapper, Mockito.times(1))
+                .entityListToListResponse(rooms);
+    }
+
+    @Test
+    @DisplayName("Test createAll() status 404")
+    public void givenNonexistentHotelIdInBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        RoomBatchRequest request = new RoomBatchRequest(List.of(createRoomRequest()));
+        List<Room> rooms = List.of(new Room());
+        Mockito.when(roomMapper.batchRequestToEntityList(request))
+                .thenReturn(rooms);
+        Mockito.when(roomService.createAll(rooms))
+                .thenThrow(new EntityNotFoundException("Hotel not found."));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Hotel not found.'}"));
+    }
+
+    @Test
+    @DisplayName("Test RoomBatchRequest validation with empty rooms")
+    public void givenEmptyRoomBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        RoomBatchRequest request = new RoomBatchRequest(Collections.emptyList());
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Rooms must be specified.'}"));
+
+        Mockito.verifyNoInteractions(roomService);
+    }
+
+    @Test
+    @DisplayName("Test RoomBatchRequest validation with invalid room")
+    public void givenInvalidRoomInBatchRequest_whenCreateAll_thenErrorResponse() throws Exception {
+        RoomRequest invalidRequest = createRoomRequest();
+        invalidRequest.setHotelId(null);
+        RoomBatchRequest request = new RoomBatchRequest(List.of(invalidRequest));
+
+        mockMvc.perform(post(baseUri + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': 'Hotel id must be specified.'}"));
+
+        Mockito.verifyNoInteractions(roomService);
+    }
+
     @Test
     @DisplayName("Test updateById() status 204")
     public void givenIdAndRoomRequest_whenUpdateById_thenVoid() throws Exception {
@@ -254,8 +336,8 @@ public class RoomControllerTest {
         List<Room> foundRooms = Collections.emptyList();
         Mockito.when(roomService.filterBy(filter))
                 .thenReturn(foundRooms);
-        Mockito.when(roomMapper.entityListToListWithCounterResponse(foundRooms))
-                .thenReturn(new RoomListWithCounterResponse(0, Collections.emptyList()));
+        Mockito.when(roomMapper.entityListToListWithCounterResponse(foundRooms, filter))
+                .thenReturn(new RoomListWithCounterResponse(0, Collections.emptyList(), null));
 
         mockMvc.perform(get(baseUri + "/filter?description={description}", filter.getDescription()))
                 .andExpect(status().isOk())
@@ -265,7 +347,7 @@ public class RoomControllerTest {
         Mockito.verify(roomService, Mockito.times(1))
                 .filterBy(filter);
         Mockito.verify(roomMapper, Mockito.times(1))
-                .entityListToListWithCounterResponse(foundRooms);
+                .entityListToListWithCounterResponse(foundRooms, filter);
     }
 
     @Test
@@ -281,6 +363,28 @@ public class RoomControllerTest {
                 .andExpect(content().json("{'errorMessage': 'Page size must be > 0.'}"));
     }
 
+    @Test
+    @DisplayName("Test filterBy() with cursor status 200")
+    public void givenRoomFilterWithCursor_whenFilterBy_thenRoomListWithCounterResponse() throws Exception {
+        RoomFilter filter = new RoomFilter();
+        filter.setPageSize(1);
+        filter.setAfter("aWQ6MQ");
+        List<Room> foundRooms = Collections.emptyList();
+        Mockito.when(roomService.filterBy(filter))
+                .thenReturn(foundRooms);
+        Mockito.when(roomMapper.entityListToListWithCounterResponse(foundRooms, filter))
+                .thenReturn(new RoomListWithCounterResponse(0, Collections.emptyList(), "aWQ6Mg"));
+
+        mockMvc.perform(get(baseUri + "/filter?pageSize={pageSize}&after={after}",
+                        filter.getPageSize(), filter.getAfter()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'rooms': [], 'count': 0, 'nextCursor': 'aWQ6Mg'}"));
+
+        Mockito.verify(roomService, Mockito.times(1))
+                .filterBy(filter);
+    }
+
     // validation tests
 
     @Test
@@ -450,6 +554,19 @@ public class RoomControllerTest {
                 .andExpect(content().json("{'errorMessage': 'Page size must be > 0.'}"));
     }
 
+    @Test
+    @DisplayName("Test RoomFilter validation with cursor and pageNumber")
+    public void givenCursorAndPageNumber_whenFilterBy_thenErrorResponse() throws Exception {
+        mockMvc.perform(get(baseUri + "/filter?pageSize={pageSize}&pageNumber={pageNumber}&after={after}",
+                        1, 0, "aWQ6MQ"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': " +
+                        "'Cursor must be specified with page size and without page number.'}"));
+
+        Mockito.verifyNoInteractions(roomService);
+    }
+
     private RoomResponse createRoomResponse() {
         return RoomResponse.builder()
                 .id(1)
@@ -1,6 +1,9 @@
 package com.allitov.hotelapi.web.controller;
 
+import com.allitov.hotelapi.model.entity.DailyStatistics;
 import com.allitov.hotelapi.model.service.StatisticsService;
+import com.allitov.hotelapi.web.dto.response.DailyStatisticsListResponse;
+import com.allitov.hotelapi.web.mapping.StatisticsMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -10,7 +13,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -25,17 +37,102 @@ public class StatisticsControllerTest {
     @MockBean
     private StatisticsService<?> statisticsService;
 
+    @MockBean
+    private StatisticsMapper statisticsMapper;
+
     // methods tests
 
     @Test
     @DisplayName("Test getStatistics() status 200")
     public void givenVoid_whenGetStatistics_thenResource() throws Exception {
         byte[] data = new byte[]{1};
-        Mockito.when(statisticsService.getData()).thenReturn(data);
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(data);
+            return null;
+        }).when(statisticsService).writeData(Mockito.any());
 
-        mockMvc.perform(get(baseUri))
+        MvcResult mvcResult = mockMvc.perform(get(baseUri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"statistics.csv\""))
                 .andExpect(content().bytes(data));
     }
+
+    @Test
+    @DisplayName("Test getStatistics() with gzip status 200")
+    public void givenGzip_whenGetStatistics_thenCompressedResource() throws Exception {
+        byte[] data = new byte[]{1, 2, 3};
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(data);
+            return null;
+        }).when(statisticsService).writeData(Mockito.any());
+
+        MvcResult mvcResult = mockMvc.perform(get(baseUri).param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressedData = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"statistics.csv.gz\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressedData))) {
+            assertArrayEquals(data, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Test getDailyStatistics() status 200")
+    public void givenPeriod_whenGetDailyStatistics_thenDailyStatisticsListResponse() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 2);
+        List<DailyStatistics> dailyStatistics = List.of(
+                DailyStatistics.builder().date(from).build(),
+                DailyStatistics.builder().date(to).bookings(1L).build()
+        );
+        Mockito.when(statisticsService.getDailyStatistics(from, to))
+                .thenReturn(dailyStatistics);
+        Mockito.when(statisticsMapper.dailyEntityListToListResponse(dailyStatistics))
+                .thenReturn(new DailyStatisticsListResponse());
+
+        mockMvc.perform(get(baseUri + "/daily")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-02"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        Mockito.verify(statisticsService, Mockito.times(1))
+                .getDailyStatistics(from, to);
+    }
+
+    @Test
+    @DisplayName("Test getDailyStatistics() status 400")
+    public void givenNoPeriod_whenGetDailyStatistics_thenErrorResponse() throws Exception {
+        mockMvc.perform(get(baseUri + "/daily")
+                        .param("from", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': \"'to' date must be specified.\"}"));
+    }
+
+    @Test
+    @DisplayName("Test getDailyStatistics() with invalid period status 400")
+    public void givenInvalidPeriod_whenGetDailyStatistics_thenErrorResponse() throws Exception {
+        Mockito.when(statisticsService.getDailyStatistics(Mockito.any(), Mockito.any()))
+                .thenThrow(new DateTimeException("'from' date can't be after 'to' date."));
+
+        mockMvc.perform(get(baseUri + "/daily")
+                        .param("from", "2024-01-02")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{'errorMessage': \"'from' date can't be after 'to' date.\"}"));
+    }
 }
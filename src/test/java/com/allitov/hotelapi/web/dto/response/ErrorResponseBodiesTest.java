@@ -0,0 +1,25 @@
+package com.allitov.hotelapi.web.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ErrorResponseBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "Hotel with id = '10' not found.", "Quotes \" and \\ backslashes", "Line\nbreak", "Юникод ✓"})
+    @DisplayName("Test of() writes the same body as the object mapper")
+    public void givenMessage_whenOf_thenSameAsObjectMapper(String message) throws Exception {
+        byte[] body = ErrorResponseBodies.of(message);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(new ErrorResponse(message)), body);
+        assertEquals(message, objectMapper.readValue(body, ErrorResponse.class).getErrorMessage());
+    }
+}
@@ -1,8 +1,11 @@
 package com.allitov.hotelapi.web.mapping;
 
 import com.allitov.hotelapi.model.entity.Booking;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.BookingFilter;
 import com.allitov.hotelapi.model.entity.Room;
 import com.allitov.hotelapi.model.entity.User;
+import com.allitov.hotelapi.web.dto.request.BookingBatchRequest;
 import com.allitov.hotelapi.web.dto.request.BookingRequest;
 import com.allitov.hotelapi.web.dto.response.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +15,7 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class BookingMapperTest {
 
@@ -50,6 +53,22 @@ public class BookingMapperTest {
         assertEquals(booking, actualBooking);
     }
 
+    @Test
+    @DisplayName("Test batchRequestToEntityList()")
+    public void givenBookingBatchRequest_whenBatchRequestToEntityList_thenListOfBookings() {
+        BookingRequest request = BookingRequest.builder()
+                .roomId(1)
+                .userId(1)
+                .from(LocalDate.of(2023, 12, 31))
+                .to(LocalDate.of(2024, 1, 31))
+                .build();
+
+        List<Booking> actualBookings = bookingMapper.batchRequestToEntityList(
+                new BookingBatchRequest(List.of(request, request)));
+
+        assertEquals(List.of(booking, booking), actualBookings);
+    }
+
     @Test
     @DisplayName("Test entityToResponse()")
     public void givenBooking_whenEntityToResponse_thenBookingResponse() {
@@ -94,11 +113,38 @@ public class BookingMapperTest {
                 .to(LocalDate.of(2024, 1, 31))
                 .build();
         BookingListWithCounterResponse response =
-                new BookingListWithCounterResponse(1, List.of(bookingResponse));
+                new BookingListWithCounterResponse(1, List.of(bookingResponse), null);
 
         BookingListWithCounterResponse actualResponse =
                 bookingMapper.entityListToListWithCounterResponse(List.of(booking));
 
         assertEquals(response, actualResponse);
     }
+
+    @Test
+    @DisplayName("Test entityListToListWithCounterResponse() with full page")
+    public void givenFullBookingPage_whenEntityListToListWithCounterResponse_thenResponseWithNextCursor() {
+        booking.setId(5);
+        BookingFilter filter = new BookingFilter();
+        filter.setPageSize(1);
+        filter.setPageNumber(0);
+
+        BookingListWithCounterResponse actualResponse =
+                bookingMapper.entityListToListWithCounterResponse(List.of(booking), filter);
+
+        assertEquals(CursorUtils.encode(5), actualResponse.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test entityListToListWithCounterResponse() with last page")
+    public void givenLastBookingPage_whenEntityListToListWithCounterResponse_thenResponseWithoutNextCursor() {
+        BookingFilter filter = new BookingFilter();
+        filter.setPageSize(2);
+        filter.setAfter(CursorUtils.encode(4));
+
+        BookingListWithCounterResponse actualResponse =
+                bookingMapper.entityListToListWithCounterResponse(List.of(booking), filter);
+
+        assertNull(actualResponse.getNextCursor());
+    }
 }
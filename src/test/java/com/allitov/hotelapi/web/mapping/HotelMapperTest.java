@@ -1,6 +1,9 @@
 package com.allitov.hotelapi.web.mapping;
 
 import com.allitov.hotelapi.model.entity.Hotel;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.HotelFilter;
+import com.allitov.hotelapi.web.dto.request.HotelBatchRequest;
 import com.allitov.hotelapi.web.dto.request.HotelRequest;
 import com.allitov.hotelapi.web.dto.response.HotelListResponse;
 import com.allitov.hotelapi.web.dto.response.HotelListWithCounterResponse;
@@ -46,6 +49,23 @@ public class HotelMapperTest {
         assertEquals(hotel, actualHotel);
     }
 
+    @Test
+    @DisplayName("Test batchRequestToEntityList()")
+    public void givenHotelBatchRequest_whenBatchRequestToEntityList_thenListOfHotels() {
+        HotelRequest request = HotelRequest.builder()
+                .name("name")
+                .description("description")
+                .city("city")
+                .address("address")
+                .distanceFromCenter(1.5F)
+                .build();
+
+        List<Hotel> actualHotels = hotelMapper.batchRequestToEntityList(
+                new HotelBatchRequest(List.of(request, request)));
+
+        assertEquals(List.of(hotel, hotel), actualHotels);
+    }
+
     @Test
     @DisplayName("Test entityToResponse()")
     public void givenHotel_whenEntityToResponse_thenHotelResponse() {
@@ -89,10 +109,37 @@ public class HotelMapperTest {
                 .address("address")
                 .distanceFromCenter(1.5F)
                 .build();
-        HotelListWithCounterResponse response = new HotelListWithCounterResponse(1, List.of(hotelResponse));
+        HotelListWithCounterResponse response = new HotelListWithCounterResponse(1, List.of(hotelResponse), null);
 
         HotelListWithCounterResponse actualResponse = hotelMapper.entityListToListWithCounterResponse(List.of(hotel));
 
         assertEquals(response, actualResponse);
     }
+
+    @Test
+    @DisplayName("Test entityListToListWithCounterResponse() with full page")
+    public void givenFullHotelPage_whenEntityListToListWithCounterResponse_thenResponseWithNextCursor() {
+        hotel.setId(5);
+        HotelFilter filter = new HotelFilter();
+        filter.setPageSize(1);
+        filter.setPageNumber(0);
+
+        HotelListWithCounterResponse actualResponse =
+                hotelMapper.entityListToListWithCounterResponse(List.of(hotel), filter);
+
+        assertEquals(CursorUtils.encode(5), actualResponse.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test entityListToListWithCounterResponse() with last page")
+    public void givenLastHotelPage_whenEntityListToListWithCounterResponse_thenResponseWithoutNextCursor() {
+        HotelFilter filter = new HotelFilter();
+        filter.setPageSize(2);
+        filter.setAfter(CursorUtils.encode(4));
+
+        HotelListWithCounterResponse actualResponse =
+                hotelMapper.entityListToListWithCounterResponse(List.of(hotel), filter);
+
+        assertNull(actualResponse.getNextCursor());
+    }
 }
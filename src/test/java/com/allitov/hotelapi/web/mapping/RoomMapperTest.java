@@ -2,6 +2,9 @@ package com.allitov.hotelapi.web.mapping;
 
 import com.allitov.hotelapi.model.entity.Hotel;
 import com.allitov.hotelapi.model.entity.Room;
+import com.allitov.hotelapi.model.service.util.CursorUtils;
+import com.allitov.hotelapi.web.dto.filter.RoomFilter;
+import com.allitov.hotelapi.web.dto.request.RoomBatchRequest;
 import com.allitov.hotelapi.web.dto.request.RoomRequest;
 import com.allitov.hotelapi.web.dto.response.RoomListResponse;
 import com.allitov.hotelapi.web.dto.response.RoomListWithCounterResponse;
@@ -13,7 +16,7 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class RoomMapperTest {
 
@@ -54,6 +57,23 @@ public class RoomMapperTest {
         assertEquals(room, actualRoom);
     }
 
+    @Test
+    @DisplayName("Test batchRequestToEntityList()")
+    public void givenRoomBatchRequest_whenBatchRequestToEntityList_thenListOfRooms() {
+        RoomRequest request = RoomRequest.builder()
+                .hotelId(1)
+                .description("description")
+                .number((short) 101)
+                .price("123.45")
+                .maxPeople((short) 5)
+                .build();
+
+        List<Room> actualRooms = roomMapper.batchRequestToEntityList(
+                new RoomBatchRequest(List.of(request, request)));
+
+        assertEquals(List.of(room, room), actualRooms);
+    }
+
     @Test
     @DisplayName("Test entityToResponse()")
     public void givenRoom_whenEntityToResponse_thenRoomResponse() {
@@ -100,10 +120,37 @@ public class RoomMapperTest {
                 .price("123.45")
                 .maxPeople((short) 5)
                 .build();
-        RoomListWithCounterResponse response = new RoomListWithCounterResponse(1, List.of(roomResponse));
+        RoomListWithCounterResponse response = new RoomListWithCounterResponse(1, List.of(roomResponse), null);
 
         RoomListWithCounterResponse actualResponse = roomMapper.entityListToListWithCounterResponse(List.of(room));
 
         assertEquals(response, actualResponse);
     }
+
+    @Test
+    @DisplayName("Test entityListToListWithCounterResponse() with full page")
+    public void givenFullRoomPage_whenEntityListToListWithCounterResponse_thenResponseWithNextCursor() {
+        room.setId(5);
+        RoomFilter filter = new RoomFilter();
+        filter.setPageSize(1);
+        filter.setPageNumber(0);
+
+        RoomListWithCounterResponse actualResponse =
+                roomMapper.entityListToListWithCounterResponse(List.of(room), filter);
+
+        assertEquals(CursorUtils.encode(5), actualResponse.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test entityListToListWithCounterResponse() with last page")
+    public void givenLastRoomPage_whenEntityListToListWithCounterResponse_thenResponseWithoutNextCursor() {
+        RoomFilter filter = new RoomFilter();
+        filter.setPageSize(2);
+        filter.setAfter(CursorUtils.encode(4));
+
+        RoomListWithCounterResponse actualResponse =
+                roomMapper.entityListToListWithCounterResponse(List.of(room), filter);
+
+        assertNull(actualResponse.getNextCursor());
+    }
 }
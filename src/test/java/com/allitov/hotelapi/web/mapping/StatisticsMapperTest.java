@@ -0,0 +1,59 @@
+package com.allitov.hotelapi.web.mapping;
+
+import com.allitov.hotelapi.model.entity.DailyStatistics;
+import com.allitov.hotelapi.web.dto.response.DailyStatisticsListResponse;
+import com.allitov.hotelapi.web.dto.response.DailyStatisticsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatisticsMapperTest {
+
+    private final StatisticsMapper statisticsMapper = new StatisticsMapperImpl();
+
+    private DailyStatistics dailyStatistics;
+
+    private DailyStatisticsResponse dailyStatisticsResponse;
+
+    @BeforeEach
+    public void setup() {
+        dailyStatistics = DailyStatistics.builder()
+                .date(LocalDate.of(2024, 1, 1))
+                .bookings(12L)
+                .nightsBooked(30L)
+                .distinctUsers(10L)
+                .registrations(3L)
+                .build();
+        dailyStatisticsResponse = DailyStatisticsResponse.builder()
+                .date(LocalDate.of(2024, 1, 1))
+                .bookings(12L)
+                .nightsBooked(30L)
+                .distinctUsers(10L)
+                .registrations(3L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test dailyEntityToResponse()")
+    public void givenDailyStatistics_whenDailyEntityToResponse_thenDailyStatisticsResponse() {
+        DailyStatisticsResponse actualResponse = statisticsMapper.dailyEntityToResponse(dailyStatistics);
+
+        assertEquals(dailyStatisticsResponse, actualResponse);
+    }
+
+    @Test
+    @DisplayName("Test dailyEntityListToListResponse()")
+    public void givenDailyStatisticsList_whenDailyEntityListToListResponse_thenDailyStatisticsListResponse() {
+        DailyStatisticsListResponse response = new DailyStatisticsListResponse(List.of(dailyStatisticsResponse));
+
+        DailyStatisticsListResponse actualResponse =
+                statisticsMapper.dailyEntityListToListResponse(List.of(dailyStatistics));
+
+        assertEquals(response, actualResponse);
+    }
+}
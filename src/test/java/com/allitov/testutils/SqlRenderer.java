@@ -0,0 +1,74 @@
+package com.allitov.testutils;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Renders SQL that Hibernate generates for specifications, with criteria values inlined as literals,
+ * so the statements can be explained as is. The session factory is bootstrapped without a database
+ * connection, and a statement is captured right before it would be executed.
+ * @author allitov
+ */
+public class SqlRenderer implements AutoCloseable {
+
+    private final SessionFactory sessionFactory;
+
+    public SqlRenderer(Class<?>... annotatedClasses) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .applySetting(AvailableSettings.CRITERIA_VALUE_HANDLING_MODE, "inline")
+                .applySetting(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                    throw new RenderedStatement(sql);
+                })
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(annotatedClasses)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    public <T> String render(Class<T> entityClass, Specification<T> specification) {
+        try (Session session = sessionFactory.openSession()) {
+            CriteriaBuilder builder = session.getCriteriaBuilder();
+            CriteriaQuery<T> query = builder.createQuery(entityClass);
+            Root<T> root = query.from(entityClass);
+            query.where(specification.toPredicate(root, query, builder));
+            session.createQuery(query).getResultList();
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof RenderedStatement renderedStatement) {
+                    return renderedStatement.sql;
+                }
+            }
+            throw e;
+        }
+
+        throw new IllegalStateException("No statement was rendered");
+    }
+
+    @Override
+    public void close() {
+        sessionFactory.close();
+    }
+
+    private static class RenderedStatement extends RuntimeException {
+
+        private final String sql;
+
+        RenderedStatement(String sql) {
+            super(null, null, false, false);
+            this.sql = sql;
+        }
+    }
+}
@@ -42,7 +42,8 @@ public class TestcontainersInitializer implements ApplicationContextInitializer<
                 "spring.sql.init.data-locations=classpath:db/test_data.sql",
                 "spring.sql.init.mode=always",
                 "spring.kafka.bootstrap-servers=" + KAFKA.getBootstrapServers(),
-                "spring.data.mongodb.uri=" + MONGODB.getReplicaSetUrl()
+                "spring.data.mongodb.uri=" + MONGODB.getReplicaSetUrl(),
+                "app.security.token.secret=test-token-secret-that-is-at-least-256-bits-long"
         ).applyTo(applicationContext.getEnvironment());
     }
 }
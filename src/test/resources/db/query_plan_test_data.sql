@@ -0,0 +1,16 @@
+insert into hotel (id, name, description, city, address, distance_from_center, rating, number_of_ratings, rating_sum)
+select 1000000 + i, 'Hotel ' || i, 'Description ' || i, 'City ' || i % 200, 'Address ' || i, i % 100, (i % 50) / 10.0, i % 1000, 0
+from generate_series(1, 20000) i;
+
+insert into room (id, description, number, price, max_people, hotel_id)
+select 1000000 + (h.id - 1000001) * 5 + g, 'Room ' || g, g, (h.id * 37 + g * 1009) % 10000 + 0.5, g % 4 + 1, h.id
+from hotel h cross join generate_series(1, 5) g
+where h.id > 1000000;
+
+insert into unavailable_dates (id, room_id, from_date, to_date)
+select 1000000 + (r.id - 1000001) * 2 + g + 1, r.id,
+       date '2020-01-01' + (r.id * 7 + g * 400) % 1800, date '2020-01-01' + (r.id * 7 + g * 400) % 1800 + 5
+from room r cross join generate_series(0, 1) g
+where r.id > 1000000;
+
+analyze hotel, room, unavailable_dates;